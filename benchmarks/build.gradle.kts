@@ -0,0 +1,69 @@
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+dependencies {
+    jmhImplementation(project(":connector"))
+    jmhImplementation(project(":provider-proxy-data-plane"))
+    // Monitor and StreamingOutput, used by the proxy classes under benchmark.
+    jmhImplementation(libs.edc.data.plane.spi)
+    jmhImplementation(libs.jakarta.rsApi)
+    jmhImplementation(libs.jackson.databind)
+}
+
+// ./gradlew :benchmarks:jmh [-PjmhIncludes=CatalogFilterBenchmark.search]
+// Throughput per benchmark plus allocation rate (gc.alloc.rate.norm) from the gc profiler.
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.add(it) }
+}
+
+// Performance gate, part of `check`: a short, fixed subset of the filter, JSON codec, proxy and sequence-store benchmarks,
+// compared against perf-baseline.json. Skip with -x :benchmarks:perfGate; re-record with :benchmarks:perfBaseline.
+// Only allocation per operation is gated by default; -PperfGate.throughput=true also gates throughput, which is only
+// meaningful on the machine that recorded the baseline.
+// Tolerances: -PperfGate.throughputTolerance=0.20 -PperfGate.allocationTolerance=0.10
+val jmhJar = tasks.named<Jar>("jmhJar")
+val perfGateResults = layout.buildDirectory.file("results/jmh/perf-gate.json")
+val perfGateBaseline = file("perf-baseline.json")
+
+val perfGateRun by tasks.registering(JavaExec::class) {
+    description = "Runs the benchmark subset checked by the performance gate."
+    classpath(jmhJar)
+    mainClass.set("org.openjdk.jmh.Main")
+    args("-f", "1", "-wi", "3", "-w", "1s", "-i", "5", "-r", "1s", "-prof", "gc", "-foe", "true")
+    args("-rf", "json", "-rff", perfGateResults.get().asFile.absolutePath)
+    listOf("datasets=10000", "cardinality=1024", "payloadBytes=65536", "blockSize=100", "users=1000").forEach { args("-p", it) }
+    args("CatalogFilterBenchmark\\.(filterExpressions|search|sort|pipeline)$", "JsonCodecBenchmark\\.(parseBytes|writeBytes)$", "ProxyBenchmark",
+            "ContractSequenceBenchmark")
+    inputs.files(jmhJar)
+    outputs.file(perfGateResults)
+}
+
+val perfGate by tasks.registering(JavaExec::class) {
+    group = "verification"
+    description = "Fails when the benchmark subset allocates more (or, opted in, loses more throughput) than perf-baseline.json allows."
+    dependsOn(perfGateRun)
+    classpath(jmhJar)
+    mainClass.set("com.pionera.assetfilter.benchmarks.PerformanceGate")
+    args("results=${perfGateResults.get().asFile}", "baseline=$perfGateBaseline",
+            "throughput=${providers.gradleProperty("perfGate.throughput").getOrElse("false")}",
+            "throughput.tolerance=${providers.gradleProperty("perfGate.throughputTolerance").getOrElse("0.20")}",
+            "allocation.tolerance=${providers.gradleProperty("perfGate.allocationTolerance").getOrElse("0.10")}")
+}
+
+tasks.register<JavaExec>("perfBaseline") {
+    description = "Records the benchmark subset's results as the new perf-baseline.json."
+    dependsOn(perfGateRun)
+    classpath(jmhJar)
+    mainClass.set("com.pionera.assetfilter.benchmarks.PerformanceGate")
+    args("results=${perfGateResults.get().asFile}", "baseline=$perfGateBaseline", "update=true")
+}
+
+tasks.named("check") {
+    dependsOn(perfGate)
+}
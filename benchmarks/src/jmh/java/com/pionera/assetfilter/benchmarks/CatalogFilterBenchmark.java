@@ -0,0 +1,114 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pionera.assetfilter.filter.CatalogFilterEngine;
+import com.pionera.assetfilter.json.JsonCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code /filter/catalog} stages over generated DAIMO catalogs: facet filters, filter expressions, free-text
+ * search, sorting and rebuilding the filtered catalog, plus the whole pipeline through serialization. The
+ * catalog is built once per trial, so only the engine's work is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class CatalogFilterBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    public int datasets;
+
+    @Param({ "16", "1024" })
+    public int cardinality;
+
+    private JsonCodec codec;
+    private CatalogFilterEngine engine;
+    private JsonNode catalog;
+    private List<JsonNode> datasetNodes;
+    private List<JsonNode> filteredNodes;
+
+    private Map<String, List<String>> facetQuery;
+    private Map<String, List<String>> expressionQuery;
+    private Map<String, List<String>> searchQuery;
+    private Map<String, List<String>> sortQuery;
+
+    @Setup
+    public void setUp() {
+        var mapper = new ObjectMapper();
+        codec = new JsonCodec(mapper);
+        engine = new CatalogFilterEngine(codec.mapper());
+        catalog = DaimoCatalogs.catalog(mapper, datasets, cardinality);
+        datasetNodes = engine.extractDatasets(catalog);
+
+        facetQuery = Map.of("profile", List.of("daimo"), "task", List.of(DaimoCatalogs.task(0)), "tag", List.of(DaimoCatalogs.tag(1)));
+        expressionQuery = Map.of("filter", List.of("daimo:metrics.accuracy>=0.9", "daimo:license=Apache-2.0,MIT"));
+        searchQuery = Map.of("q", List.of(DaimoCatalogs.tag(7)));
+        sortQuery = Map.of("sort", List.of("name"), "order", List.of("desc"));
+        filteredNodes = engine.applyFilters(datasetNodes, expressionQuery);
+    }
+
+    @Benchmark
+    public List<JsonNode> filterFacets() {
+        return engine.applyFilters(datasetNodes, facetQuery);
+    }
+
+    @Benchmark
+    public List<JsonNode> filterExpressions() {
+        return engine.applyFilters(datasetNodes, expressionQuery);
+    }
+
+    @Benchmark
+    public List<JsonNode> search() {
+        return engine.applyFilters(datasetNodes, searchQuery);
+    }
+
+    @Benchmark
+    public List<JsonNode> sort() {
+        return engine.applySorting(datasetNodes, sortQuery);
+    }
+
+    @Benchmark
+    public JsonNode rebuild() {
+        return engine.rebuildCatalog(catalog, filteredNodes);
+    }
+
+    @Benchmark
+    public byte[] pipeline() throws Exception {
+        var extracted = engine.extractDatasets(catalog);
+        var filtered = engine.applyFilters(extracted, expressionQuery);
+        var sorted = engine.applySorting(filtered, sortQuery);
+        return codec.writeBytes(engine.rebuildCatalog(catalog, sorted));
+    }
+}
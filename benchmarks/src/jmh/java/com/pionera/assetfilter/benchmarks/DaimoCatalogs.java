@@ -0,0 +1,108 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Generates catalogs shaped like the management API's answer for DAIMO model assets: DAIMO properties appear
+ * under their expanded IRIs, next to the EDC-compacted {@code dcat:} and {@code odrl:} terms. Facet values (tags,
+ * base models, datasets, libraries) are drawn from pools of {@code cardinality} distinct values, so a facet
+ * filter keeps roughly 1/cardinality of the datasets.
+ */
+final class DaimoCatalogs {
+
+    static final String DAIMO = "https://pionera.ai/edc/daimo#";
+
+    private static final String[] TASKS = {
+        "text-classification", "token-classification", "text-generation", "translation", "summarization",
+        "image-classification", "object-detection", "tabular-regression", "tabular-classification", "feature-extraction"
+    };
+    private static final String[] LICENSES = { "Apache-2.0", "MIT", "CC-BY-4.0", "GPL-3.0", "proprietary" };
+    private static final String[] LANGUAGES = { "en", "es", "de", "fr", "it", "pt" };
+
+    private DaimoCatalogs() {
+    }
+
+    static ObjectNode catalog(ObjectMapper mapper, int datasets, int cardinality) {
+        var random = new SplittableRandom(42);
+        var catalog = mapper.createObjectNode();
+        catalog.put("@id", "provider-catalog");
+        catalog.put("@type", "dcat:Catalog");
+        catalog.put("dspace:participantId", "provider");
+        var array = catalog.putArray("dcat:dataset");
+        for (int i = 0; i < datasets; i++) {
+            array.add(dataset(mapper, i, cardinality, random));
+        }
+        var context = catalog.putObject("@context");
+        context.put("@vocab", "https://w3id.org/edc/v0.0.1/ns/");
+        context.put("dcat", "http://www.w3.org/ns/dcat#");
+        context.put("odrl", "http://www.w3.org/ns/odrl/2/");
+        context.put("dspace", "https://w3id.org/dspace/v0.8/");
+        return catalog;
+    }
+
+    static String tag(int index) {
+        return "tag-" + index;
+    }
+
+    static String task(int index) {
+        return TASKS[index % TASKS.length];
+    }
+
+    private static ObjectNode dataset(ObjectMapper mapper, int index, int cardinality, SplittableRandom random) {
+        var id = String.format(Locale.ROOT, "model-%06d", index);
+        var dataset = mapper.createObjectNode();
+        dataset.put("@id", id);
+        dataset.put("@type", "dcat:Dataset");
+
+        var policy = dataset.putObject("odrl:hasPolicy");
+        policy.put("@id", "offer-" + id);
+        policy.put("@type", "odrl:Offer");
+        policy.putArray("odrl:permission");
+        policy.putArray("odrl:prohibition");
+        policy.putArray("odrl:obligation");
+
+        var distribution = dataset.putArray("dcat:distribution").addObject();
+        distribution.put("@type", "dcat:Distribution");
+        distribution.putObject("dct:format").put("@id", "HttpData-PULL");
+        distribution.putObject("dcat:accessService").put("@id", "data-service");
+
+        dataset.put("id", id);
+        dataset.put("name", "Model " + index + " " + task(random.nextInt(TASKS.length)));
+        dataset.put("contenttype", "application/octet-stream");
+        dataset.put(DAIMO + "pipeline_tag", task(random.nextInt(TASKS.length)));
+        dataset.put(DAIMO + "license", LICENSES[random.nextInt(LICENSES.length)]);
+        dataset.put(DAIMO + "library_name", "library-" + random.nextInt(Math.min(cardinality, 32)));
+        dataset.put(DAIMO + "base_model", "org-" + random.nextInt(cardinality) + "/base");
+
+        var tags = dataset.putArray(DAIMO + "tags");
+        for (int t = 0; t < 3; t++) {
+            tags.add(tag(random.nextInt(cardinality)));
+        }
+        dataset.putArray(DAIMO + "datasets").add("dataset-" + random.nextInt(cardinality));
+        dataset.putArray(DAIMO + "language").add(LANGUAGES[random.nextInt(LANGUAGES.length)]);
+
+        var metrics = dataset.putObject(DAIMO + "metrics");
+        metrics.put("accuracy", Math.round(random.nextDouble(0.5, 1.0) * 1000) / 1000.0);
+        metrics.put("f1_macro", Math.round(random.nextDouble(0.4, 1.0) * 1000) / 1000.0);
+        metrics.put("downloads", random.nextInt(1_000_000));
+        return dataset;
+    }
+}
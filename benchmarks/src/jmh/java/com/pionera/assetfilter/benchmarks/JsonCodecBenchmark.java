@@ -0,0 +1,85 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pionera.assetfilter.json.JsonCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading and writing a DAIMO catalog the way the controllers did before {@link JsonCodec} (through a
+ * {@code String} on both sides, with the shared mapper) against the codec's byte paths. A plain mapper stands in
+ * for EDC's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class JsonCodecBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    public int datasets;
+
+    private ObjectMapper mapper;
+    private JsonCodec codec;
+    private JsonNode catalog;
+    private byte[] catalogBytes;
+
+    @Setup
+    public void setUp() throws Exception {
+        mapper = new ObjectMapper();
+        codec = new JsonCodec(mapper);
+        catalog = DaimoCatalogs.catalog(mapper, datasets, 64);
+        catalogBytes = mapper.writeValueAsBytes(catalog);
+    }
+
+    // HttpResponse.BodyHandlers.ofString() decodes the body, then the mapper scans the characters.
+    @Benchmark
+    public JsonNode parseString() throws Exception {
+        return mapper.readTree(new String(catalogBytes, StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public JsonNode parseBytes() throws Exception {
+        return codec.readTree(catalogBytes);
+    }
+
+    // A String entity is encoded to UTF-8 again by JAX-RS.
+    @Benchmark
+    public byte[] writeString() throws Exception {
+        return mapper.writeValueAsString(catalog).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] writeBytes() throws Exception {
+        return codec.writeBytes(catalog);
+    }
+}
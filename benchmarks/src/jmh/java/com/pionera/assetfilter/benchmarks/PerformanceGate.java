@@ -0,0 +1,214 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares JMH results against a stored baseline and exits non-zero when a benchmark lost more throughput, or
+ * allocates more per operation, than the configured tolerances allow. With {@code update=true} the results become
+ * the new baseline instead.
+ *
+ * <p>Allocation ({@code gc.alloc.rate.norm}) hardly depends on the machine and is held to a tight tolerance; it is
+ * the only thing gated by default. Throughput is always reported, but only gated with {@code throughput=true}, on the
+ * machine the baseline was recorded on; with a different processor count it is never gated.
+ */
+public class PerformanceGate {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private final double throughputTolerance;
+    private final double allocationTolerance;
+    private final double allocationSlackBytes;
+    private final boolean gateThroughput;
+
+    PerformanceGate(double throughputTolerance, double allocationTolerance, double allocationSlackBytes, boolean gateThroughput) {
+        this.throughputTolerance = throughputTolerance;
+        this.allocationTolerance = allocationTolerance;
+        this.allocationSlackBytes = allocationSlackBytes;
+        this.gateThroughput = gateThroughput;
+    }
+
+    public static void main(String[] args) throws Exception {
+        var settings = new HashMap<String, String>();
+        for (var arg : args) {
+            var separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got '" + arg + "'");
+            }
+            settings.put(arg.substring(0, separator).trim(), arg.substring(separator + 1).trim());
+        }
+        var mapper = new ObjectMapper();
+        var resultsFile = Path.of(settings.getOrDefault("results", "build/results/jmh/perf-gate.json"));
+        var baselineFile = Path.of(settings.getOrDefault("baseline", "perf-baseline.json"));
+        var results = readResults(mapper.readTree(resultsFile.toFile()));
+
+        if (Boolean.parseBoolean(settings.getOrDefault("update", "false"))) {
+            writeBaseline(mapper, baselineFile, results);
+            System.out.println("Baseline with " + results.size() + " benchmarks written to " + baselineFile.toAbsolutePath());
+            return;
+        }
+        if (!Files.exists(baselineFile)) {
+            System.err.println("No baseline at " + baselineFile.toAbsolutePath() + "; record one with ./gradlew :benchmarks:perfBaseline");
+            System.exit(1);
+        }
+        var baseline = mapper.readTree(baselineFile.toFile());
+        var gateThroughput = Boolean.parseBoolean(settings.getOrDefault("throughput", "false"));
+        var processors = Runtime.getRuntime().availableProcessors();
+        if (gateThroughput && baseline.path("availableProcessors").asInt(processors) != processors) {
+            System.out.println("The baseline was recorded with " + baseline.path("availableProcessors").asInt() + " processors, this machine has " +
+                    processors + "; throughput is not comparable and is not gated, allocation still is");
+            gateThroughput = false;
+        }
+        var gate = new PerformanceGate(
+                Double.parseDouble(settings.getOrDefault("throughput.tolerance", "0.20")),
+                Double.parseDouble(settings.getOrDefault("allocation.tolerance", "0.10")),
+                Double.parseDouble(settings.getOrDefault("allocation.slack.bytes", "64")),
+                gateThroughput);
+        var regressions = gate.compare(readBaseline(baseline), results);
+        if (!regressions.isEmpty()) {
+            System.err.println("\nPerformance regressions against " + baselineFile + ":");
+            regressions.forEach(regression -> System.err.println("  " + regression));
+            System.exit(1);
+        }
+        System.out.println("\nNo performance regressions against " + baselineFile);
+    }
+
+    /**
+     * Prints one line per benchmark and returns the regressions. A baseline benchmark missing from the results
+     * counts as a regression, so coverage cannot silently shrink; new benchmarks are reported but pass.
+     */
+    List<String> compare(Map<String, Measurement> baseline, Map<String, Measurement> results) {
+        var regressions = new ArrayList<String>();
+        System.out.printf(Locale.ROOT, "%-72s %12s %12s %8s %12s %12s %8s  %s%n",
+                "benchmark", "base ops/s", "ops/s", "change", "base B/op", "B/op", "change", "verdict");
+        baseline.forEach((key, expected) -> {
+            var actual = results.get(key);
+            if (actual == null) {
+                regressions.add(key + ": missing from the results");
+                return;
+            }
+            var verdict = "ok";
+            if (gateThroughput && actual.opsPerSecond() < expected.opsPerSecond() * (1 - throughputTolerance)) {
+                verdict = "SLOWER";
+                regressions.add(String.format(Locale.ROOT, "%s: throughput %.1f ops/s, baseline %.1f ops/s (%+.1f%%, tolerance -%.0f%%)",
+                        key, actual.opsPerSecond(), expected.opsPerSecond(), change(expected.opsPerSecond(), actual.opsPerSecond()), throughputTolerance * 100));
+            }
+            if (actual.bytesPerOp() > expected.bytesPerOp() * (1 + allocationTolerance) + allocationSlackBytes) {
+                verdict = verdict.equals("ok") ? "ALLOCATES" : verdict + ",ALLOCATES";
+                regressions.add(String.format(Locale.ROOT, "%s: allocation %.0f B/op, baseline %.0f B/op (%+.1f%%, tolerance +%.0f%% +%.0f B)",
+                        key, actual.bytesPerOp(), expected.bytesPerOp(), change(expected.bytesPerOp(), actual.bytesPerOp()),
+                        allocationTolerance * 100, allocationSlackBytes));
+            }
+            print(key, expected, actual, verdict);
+        });
+        results.forEach((key, actual) -> {
+            if (!baseline.containsKey(key)) {
+                print(key, null, actual, "new");
+            }
+        });
+        return regressions;
+    }
+
+    private static void print(String key, Measurement expected, Measurement actual, String verdict) {
+        System.out.printf(Locale.ROOT, "%-72s %12s %12.1f %8s %12s %12.0f %8s  %s%n", key,
+                expected == null ? "-" : String.format(Locale.ROOT, "%.1f", expected.opsPerSecond()), actual.opsPerSecond(),
+                expected == null ? "-" : String.format(Locale.ROOT, "%+.1f%%", change(expected.opsPerSecond(), actual.opsPerSecond())),
+                expected == null ? "-" : String.format(Locale.ROOT, "%.0f", expected.bytesPerOp()), actual.bytesPerOp(),
+                expected == null ? "-" : String.format(Locale.ROOT, "%+.1f%%", change(expected.bytesPerOp(), actual.bytesPerOp())), verdict);
+    }
+
+    private static double change(double expected, double actual) {
+        return expected == 0 ? 0 : (actual - expected) / expected * 100;
+    }
+
+    // JMH's JSON result format: one entry per benchmark and parameter combination.
+    private static Map<String, Measurement> readResults(JsonNode results) {
+        var measurements = new TreeMap<String, Measurement>();
+        for (var result : results) {
+            if (!"thrpt".equals(result.path("mode").asText())) {
+                continue;
+            }
+            var primary = result.path("primaryMetric");
+            var perSecond = toPerSecond(primary.path("score").asDouble(), primary.path("scoreUnit").asText());
+            var allocation = result.path("secondaryMetrics").path(ALLOCATION_METRIC).path("score").asDouble(0);
+            measurements.put(key(result.path("benchmark").asText(), result.path("params")), new Measurement(perSecond, allocation));
+        }
+        return measurements;
+    }
+
+    private static Map<String, Measurement> readBaseline(JsonNode baseline) {
+        var measurements = new TreeMap<String, Measurement>();
+        baseline.path("benchmarks").fields().forEachRemaining(entry -> measurements.put(entry.getKey(),
+                new Measurement(entry.getValue().path("opsPerSecond").asDouble(), entry.getValue().path("bytesPerOp").asDouble())));
+        return measurements;
+    }
+
+    private static void writeBaseline(ObjectMapper mapper, Path file, Map<String, Measurement> results) throws Exception {
+        var baseline = mapper.createObjectNode();
+        baseline.put("recorded", Instant.now().toString());
+        baseline.put("jvm", System.getProperty("java.vm.name") + " " + System.getProperty("java.vm.version"));
+        baseline.put("os", System.getProperty("os.name") + " " + System.getProperty("os.arch"));
+        baseline.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        ObjectNode benchmarks = baseline.putObject("benchmarks");
+        results.forEach((key, measurement) -> {
+            var node = benchmarks.putObject(key);
+            node.put("opsPerSecond", Math.round(measurement.opsPerSecond() * 10) / 10.0);
+            node.put("bytesPerOp", Math.round(measurement.bytesPerOp()));
+        });
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        mapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), baseline);
+    }
+
+    // Short class name plus sorted parameters, e.g. CatalogFilterBenchmark.search:cardinality=1024,datasets=10000.
+    private static String key(String benchmark, JsonNode params) {
+        var name = benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1);
+        var sorted = new TreeMap<String, String>();
+        params.fields().forEachRemaining(entry -> sorted.put(entry.getKey(), entry.getValue().asText()));
+        if (sorted.isEmpty()) {
+            return name;
+        }
+        var parts = new ArrayList<String>();
+        sorted.forEach((param, value) -> parts.add(param + "=" + value));
+        return name + ":" + String.join(",", parts);
+    }
+
+    private static double toPerSecond(double score, String unit) {
+        return switch (unit) {
+            case "ops/ms" -> score * 1_000;
+            case "ops/us" -> score * 1_000_000;
+            case "ops/ns" -> score * 1_000_000_000;
+            case "ops/min" -> score / 60;
+            default -> score;
+        };
+    }
+
+    record Measurement(double opsPerSecond, double bytesPerOp) {
+    }
+}
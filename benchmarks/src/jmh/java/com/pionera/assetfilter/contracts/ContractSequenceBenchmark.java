@@ -0,0 +1,127 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.contracts;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link ContractSequenceStore} allocation and commit paths over an in-memory backend, so the numbers cover the
+ * lease bookkeeping and how often the backend is reached, not disk latency. Lives in the contracts package to
+ * reach its package-private classes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class ContractSequenceBenchmark {
+
+    private static final int COMMIT_USERS = 16;
+
+    @Param({ "1", "1000" })
+    public long blockSize;
+
+    @Param({ "1", "1000" })
+    public int users;
+
+    private ContractSequenceStore store;
+    private String[] userIds;
+    private int next;
+    private long committed;
+
+    @Setup
+    public void setUp() {
+        store = new ContractSequenceStore(new InMemoryBackend(), blockSize);
+        userIds = new String[users];
+        for (int i = 0; i < users; i++) {
+            userIds[i] = "User-" + i + "@example.org";
+        }
+    }
+
+    @Benchmark
+    public long allocateNext() throws Exception {
+        return store.allocateNext(nextUser());
+    }
+
+    @Benchmark
+    public long allocateBatch() throws Exception {
+        return store.allocateBatch(nextUser(), 10);
+    }
+
+    // Each commit moves every user past the current block, so the raise path reaches the backend every time.
+    @Benchmark
+    public void commitBatch() throws Exception {
+        committed += blockSize + 1;
+        var indices = new HashMap<String, Long>();
+        for (int i = 0; i < COMMIT_USERS; i++) {
+            indices.put(nextUser(), committed);
+        }
+        store.commitAllAtLeast(indices);
+    }
+
+    private String nextUser() {
+        next = (next + 1) % userIds.length;
+        return userIds[next];
+    }
+
+    private static class InMemoryBackend implements SequenceBackend {
+        private final Map<String, AtomicLong> highWaterMarks = new ConcurrentHashMap<>();
+
+        @Override
+        public long reserve(String userId, long count) {
+            return highWaterMark(userId).addAndGet(count);
+        }
+
+        @Override
+        public void raiseTo(Map<String, Long> indices) {
+            indices.forEach((userId, index) -> highWaterMark(userId).accumulateAndGet(index, Math::max));
+        }
+
+        @Override
+        public long current(String userId) {
+            var highWaterMark = highWaterMarks.get(userId);
+            return highWaterMark == null ? 0L : highWaterMark.get();
+        }
+
+        @Override
+        public void checkWritable() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private AtomicLong highWaterMark(String userId) {
+            return highWaterMarks.computeIfAbsent(userId, ignored -> new AtomicLong());
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.proxy;
+
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.net.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The public proxy's per-request work that does not touch the network: serving a fresh entry from the response
+ * cache, storing a backend response in it, content-encoding negotiation and gzipping a JSON prediction. Lives in
+ * the proxy package to reach its package-private classes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class ProxyBenchmark {
+
+    private static final int CACHED_KEYS = 256;
+
+    @Param({ "1024", "65536" })
+    public int payloadBytes;
+
+    private ProxyResponseCache cache;
+    private ProxyCompression compression;
+    private byte[] payload;
+    private HttpHeaders backendHeaders;
+    private Map<String, String> forwardedHeaders;
+    private String[] keys;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        // Memory tier only, sized to hold every key, so lookups never fall through to disk.
+        cache = new ProxyResponseCache(Clock.systemUTC(), new Monitor() { }, 1L << 30, 1L << 20, 0, null, 0);
+        compression = new ProxyCompression(true, true, 256);
+        payload = prediction(payloadBytes);
+        backendHeaders = HttpHeaders.of(Map.of(
+                "Content-Type", List.of("application/json"),
+                "Cache-Control", List.of("public, max-age=3600"),
+                "ETag", List.of("\"prediction-v1\"")), (name, value) -> true);
+        forwardedHeaders = Map.of("Content-Type", "application/json", "ETag", "\"prediction-v1\"", "Cache-Control", "public, max-age=3600");
+        keys = new String[CACHED_KEYS];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "http://models.local:8080/models/m" + i + "/predict\ngzip, deflate, br";
+            cache.store(keys[i], backendHeaders, forwardedHeaders, payload);
+        }
+    }
+
+    @Benchmark
+    public ProxyResponseCache.CachedResponse cacheHit() throws Exception {
+        var cached = cache.lookup(nextKey());
+        if (cached == null || !cache.isFresh(cached)) {
+            throw new IllegalStateException("Expected a fresh cache entry");
+        }
+        cached.writeBody(OutputStream.nullOutputStream());
+        return cached;
+    }
+
+    @Benchmark
+    public ProxyResponseCache.CachedResponse cacheStore() {
+        return cache.store(nextKey(), backendHeaders, forwardedHeaders, payload);
+    }
+
+    @Benchmark
+    public Map<String, String> negotiateCompression() {
+        var headers = new LinkedHashMap<>(forwardedHeaders);
+        headers.put("Content-Length", String.valueOf(payload.length));
+        if (compression.shouldCompress("gzip;q=1.0, deflate;q=0.5, br;q=0", 200, "application/json", headers)) {
+            compression.rewriteHeaders(headers);
+        }
+        return headers;
+    }
+
+    @Benchmark
+    public void gzipResponse() throws Exception {
+        compression.gzip(new ByteArrayInputStream(payload)).write(OutputStream.nullOutputStream());
+    }
+
+    private String nextKey() {
+        next = (next + 1) % keys.length;
+        return keys[next];
+    }
+
+    // A JSON prediction with repeated structure, as model backends return, so it compresses realistically.
+    private static byte[] prediction(int size) {
+        var json = new StringBuilder(size + 128).append("{\"model\":\"daimo-text-classifier\",\"predictions\":[");
+        var index = 0;
+        while (json.length() < size) {
+            json.append(index == 0 ? "" : ",")
+                    .append("{\"label\":\"label-").append(index % 37)
+                    .append("\",\"score\":0.").append(1000 + (index * 7919) % 9000)
+                    .append(",\"token\":").append(index).append('}');
+            index++;
+        }
+        return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -34,6 +34,21 @@ dependencies {
     implementation(libs.edc.data.plane.iam)
 
     implementation(libs.edc.web.spi)
+
+    // Tracing: spans are exported by our own SDK when asset.tracing.exporter is set, otherwise through the global
+    // OpenTelemetry instance (the Java agent's, if attached).
+    api(libs.opentelemetry.api)
+    implementation(libs.opentelemetry.sdk)
+    implementation(libs.opentelemetry.exporter.otlp)
+
+    // HdrHistogram-backed latency recording shared with the load test; exposed through MetricsRegistry.
+    api(project(":latency"))
+
+    // Generated accessors for the extensions' JsonCodec; kept on EDC's Jackson version.
+    implementation(libs.jackson.module.blackbird)
+
+    // Embedded SQL database for the JDBC contract sequence backend (asset.contract.sequence.backend=jdbc).
+    runtimeOnly(libs.h2)
 }
 
 application {
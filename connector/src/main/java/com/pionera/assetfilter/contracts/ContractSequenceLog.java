@@ -0,0 +1,277 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+package com.pionera.assetfilter.contracts;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead log for contract sequence counters. Every change is appended as one checksummed binary record
+ * (the user's new absolute value) and made durable with a group-committed fsync; compaction writes the full
+ * counter map as a JSON snapshot, atomically renamed over the previous one, and truncates the log.
+ * Recovery reads the snapshot and replays the log on top of it, stopping at the first torn record.
+ */
+class ContractSequenceLog implements Closeable {
+
+    // key length + key + value + crc
+    private static final int RECORD_OVERHEAD = Integer.BYTES + Long.BYTES + Integer.BYTES;
+    private static final long MIN_USABLE_SPACE_BYTES = 16 * 1024 * 1024;
+    // Keys are user IDs; anything longer in the log can only be a corrupt length field.
+    static final int MAX_KEY_BYTES = 4096;
+
+    private final ObjectMapper mapper;
+    private final Path snapshotPath;
+    private final Path logPath;
+    private final Object appendLock = new Object();
+    private final Object syncLock = new Object();
+    private final UnaryOperator<FileChannel> channelDecorator;
+    private FileChannel channel;
+    private volatile IOException failure;
+    private long logSize;
+    private volatile long writtenSequence;
+    private long syncedSequence;
+
+    ContractSequenceLog(ObjectMapper mapper, Path snapshotPath) {
+        this(mapper, snapshotPath, UnaryOperator.identity());
+    }
+
+    // The decorator wraps the log's channel; tests use it to inject write failures.
+    ContractSequenceLog(ObjectMapper mapper, Path snapshotPath, UnaryOperator<FileChannel> channelDecorator) {
+        this.mapper = mapper;
+        this.channelDecorator = channelDecorator;
+        this.snapshotPath = snapshotPath;
+        this.logPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".wal");
+    }
+
+    /**
+     * Loads snapshot plus log and opens the log for appending. A partially written tail record is cut off.
+     */
+    Map<String, Long> recover() throws IOException {
+        var parent = snapshotPath.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        var counters = new HashMap<String, Long>();
+        if (Files.exists(snapshotPath)) {
+            var raw = Files.readString(snapshotPath, StandardCharsets.UTF_8);
+            if (!raw.isBlank()) {
+                counters.putAll(mapper.readValue(raw, new TypeReference<Map<String, Long>>() {}));
+            }
+        }
+
+        var validLength = 0L;
+        if (Files.exists(logPath)) {
+            var buffer = ByteBuffer.wrap(Files.readAllBytes(logPath));
+            while (buffer.remaining() >= RECORD_OVERHEAD) {
+                var start = buffer.position();
+                var keyLength = buffer.getInt();
+                if (keyLength < 0 || keyLength > MAX_KEY_BYTES || keyLength > buffer.remaining() - Long.BYTES - Integer.BYTES) {
+                    break;
+                }
+                var key = new byte[keyLength];
+                buffer.get(key);
+                var value = buffer.getLong();
+                var checksum = buffer.getInt();
+                if (checksum != checksum(key, value)) {
+                    buffer.position(start);
+                    break;
+                }
+                counters.merge(new String(key, StandardCharsets.UTF_8), value, Math::max);
+                validLength = buffer.position();
+            }
+        }
+
+        channel = channelDecorator.apply(FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE));
+        channel.truncate(validLength);
+        channel.position(validLength);
+        logSize = validLength;
+        return counters;
+    }
+
+    // Compaction writes a sibling file and moves it into place, so the directory must stay writable too.
+    void checkWritable() throws IOException {
+        if (channel == null || !channel.isOpen()) {
+            throw new IOException("Contract sequence log " + logPath + " is not open");
+        }
+        checkNotFailed();
+        var directory = logPath.toAbsolutePath().getParent();
+        if (!Files.isWritable(logPath) || directory != null && !Files.isWritable(directory)) {
+            throw new IOException("Contract sequence log " + logPath + " is not writable");
+        }
+        var usable = Files.getFileStore(logPath).getUsableSpace();
+        if (usable < MIN_USABLE_SPACE_BYTES) {
+            throw new IOException("Only " + usable + " bytes left for contract sequence log " + logPath);
+        }
+    }
+
+    void append(String key, long value) throws IOException {
+        appendAll(List.of(Map.entry(key, value)));
+    }
+
+    /**
+     * Appends the records and returns once they are on disk. Callers arriving while an fsync is in flight are
+     * covered by the next one, so concurrent appends share a single fsync.
+     */
+    void appendAll(List<Map.Entry<String, Long>> entries) throws IOException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        var records = new ByteBuffer[entries.size()];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = encode(entries.get(i).getKey(), entries.get(i).getValue());
+        }
+        long sequence;
+        synchronized (appendLock) {
+            checkNotFailed();
+            var batchStart = logSize;
+            try {
+                for (var record : records) {
+                    while (record.hasRemaining()) {
+                        channel.write(record);
+                    }
+                }
+            } catch (IOException e) {
+                discardTornBatch(batchStart, e);
+                throw e;
+            }
+            for (var record : records) {
+                logSize += record.limit();
+            }
+            sequence = ++writtenSequence;
+        }
+        synchronized (syncLock) {
+            if (syncedSequence >= sequence) {
+                return;
+            }
+            var target = writtenSequence;
+            channel.force(false);
+            syncedSequence = target;
+        }
+    }
+
+    // A partially written batch must not stay in front of later records: recovery stops at the first torn record,
+    // so everything acknowledged after it would be lost. If the tail cannot be cut off, the log refuses all appends.
+    private void discardTornBatch(long batchStart, IOException cause) {
+        try {
+            channel.truncate(batchStart);
+            channel.position(batchStart);
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+            failure = cause;
+        }
+    }
+
+    private void checkNotFailed() throws IOException {
+        if (failure != null) {
+            throw new IOException("Contract sequence log " + logPath + " has a torn record that could not be removed", failure);
+        }
+    }
+
+    long size() {
+        synchronized (appendLock) {
+            return logSize;
+        }
+    }
+
+    /**
+     * Replaces the snapshot with the current counters and empties the log. Appends are held off meanwhile so
+     * no record can land between the snapshot and the truncation.
+     */
+    void compact(Supplier<Map<String, Long>> counters) throws IOException {
+        synchronized (appendLock) {
+            synchronized (syncLock) {
+                var temporary = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+                var raw = mapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(counters.get());
+                try (var out = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    var buffer = ByteBuffer.wrap(raw);
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                    out.force(true);
+                }
+                try {
+                    Files.move(temporary, snapshotPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temporary, snapshotPath, StandardCopyOption.REPLACE_EXISTING);
+                }
+                syncDirectory();
+                channel.truncate(0);
+                channel.position(0);
+                channel.force(true);
+                logSize = 0;
+                syncedSequence = writtenSequence;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (appendLock) {
+            if (channel != null) {
+                channel.force(true);
+                channel.close();
+            }
+        }
+    }
+
+    // Makes the rename itself durable; not every platform allows opening a directory, which is then skipped.
+    private void syncDirectory() {
+        var directory = snapshotPath.toAbsolutePath().getParent();
+        if (directory == null) {
+            return;
+        }
+        try (var dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            // best effort
+        }
+    }
+
+    private static ByteBuffer encode(String key, long value) {
+        var keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length > MAX_KEY_BYTES) {
+            throw new IllegalArgumentException("Contract sequence key exceeds " + MAX_KEY_BYTES + " bytes");
+        }
+        return ByteBuffer.allocate(RECORD_OVERHEAD + keyBytes.length)
+                .putInt(keyBytes.length)
+                .put(keyBytes)
+                .putLong(value)
+                .putInt(checksum(keyBytes, value))
+                .flip();
+    }
+
+    private static int checksum(byte[] key, long value) {
+        var crc = new CRC32();
+        crc.update(key);
+        crc.update(ByteBuffer.allocate(Long.BYTES).putLong(value).flip());
+        return (int) crc.getValue();
+    }
+}
@@ -14,90 +14,161 @@
 
 package com.pionera.assetfilter.contracts;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.eclipse.edc.spi.monitor.Monitor;
-
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Hands out contract sequence indices from per-user blocks leased from a {@link SequenceBackend}. Only when a
+ * block is exhausted is a new one durably reserved, so with a block size of N the backend is written once per
+ * N indices. Indices leased but not handed out (crash, or another instance leasing in between) become gaps.
+ */
 class ContractSequenceStore {
-    private final ObjectMapper mapper;
-    private final Monitor monitor;
-    private final Path storagePath;
+    private final SequenceBackend backend;
+    private final long blockSize;
 
-    private final Map<String, Long> countersByUser = new HashMap<>();
+    // Leases are independent per user, so allocations only contend when they target the same user id.
+    private final Map<String, Lease> leasesByUser = new ConcurrentHashMap<>();
 
-    ContractSequenceStore(ObjectMapper mapper, Monitor monitor, String storageFilePath) {
-        this.mapper = mapper;
-        this.monitor = monitor;
-        this.storagePath = Path.of(storageFilePath);
-        load();
+    ContractSequenceStore(SequenceBackend backend, long blockSize) {
+        this.backend = backend;
+        this.blockSize = Math.max(1, blockSize);
     }
 
-    synchronized long allocateNext(String userId) {
-        var key = normalizeUserId(userId);
-        var current = countersByUser.getOrDefault(key, 0L);
-        var next = current + 1;
-        countersByUser.put(key, next);
-        persist();
-        return next;
+    long allocateNext(String userId) throws IOException {
+        return allocateBatch(userId, 1);
     }
 
-    synchronized long peekNext(String userId) {
+    /**
+     * Reserves {@code count} consecutive indices for the user and returns the first one. At most one backend
+     * write covers the whole range.
+     */
+    long allocateBatch(String userId, int count) throws IOException {
         var key = normalizeUserId(userId);
-        var current = countersByUser.getOrDefault(key, 0L);
-        return current + 1;
+        var lease = lease(key);
+        synchronized (lease) {
+            if (lease.issued + count > lease.limit) {
+                var reserve = Math.max(count, blockSize);
+                var reserved = reserve(key, reserve);
+                // Nobody reserved in between: the new block continues the current one.
+                if (reserved - reserve != lease.limit) {
+                    lease.issued = reserved - reserve;
+                }
+                lease.limit = reserved;
+            }
+            var first = lease.issued + 1;
+            lease.issued += count;
+            return first;
+        }
     }
 
-    synchronized void commitAtLeast(String userId, long index) {
+    long peekNext(String userId) throws IOException {
         var key = normalizeUserId(userId);
-        var current = countersByUser.getOrDefault(key, 0L);
-        if (index > current) {
-            countersByUser.put(key, index);
-            persist();
+        var lease = leasesByUser.get(key);
+        if (lease != null) {
+            synchronized (lease) {
+                if (lease.issued < lease.limit) {
+                    return lease.issued + 1;
+                }
+            }
         }
+        return backend.current(key) + 1;
     }
 
-    private String normalizeUserId(String userId) {
-        if (userId == null || userId.isBlank()) {
-            return "user";
-        }
-        return userId.trim().toLowerCase();
+    void commitAtLeast(String userId, long index) throws IOException {
+        commitAllAtLeast(Map.of(userId, index));
     }
 
-    private void load() {
-        try {
-            if (!Files.exists(storagePath)) {
-                return;
+    /**
+     * Commits several users at once. An index inside a user's current lease is already covered by it; the
+     * others are raised in the backend with a single write.
+     */
+    void commitAllAtLeast(Map<String, Long> indices) throws IOException {
+        var normalized = new HashMap<String, Long>();
+        indices.forEach((userId, index) -> normalized.merge(normalizeUserId(userId), index, Math::max));
+
+        var raises = new HashMap<String, Long>();
+        normalized.forEach((key, index) -> {
+            var lease = lease(key);
+            synchronized (lease) {
+                if (index > lease.limit) {
+                    raises.put(key, index);
+                }
             }
-            var raw = Files.readString(storagePath, StandardCharsets.UTF_8);
-            if (raw == null || raw.isBlank()) {
-                return;
+        });
+        raiseTo(raises);
+
+        normalized.forEach((key, index) -> {
+            var lease = lease(key);
+            synchronized (lease) {
+                if (index > lease.limit) {
+                    // Everything up to the index is taken; the next allocation leases a fresh block.
+                    lease.issued = index;
+                    lease.limit = index;
+                } else {
+                    lease.issued = Math.max(lease.issued, index);
+                }
             }
-            var loaded = mapper.readValue(raw, new TypeReference<Map<String, Long>>() {});
-            countersByUser.clear();
-            countersByUser.putAll(loaded);
-            monitor.info("Loaded contract sequence counters from " + storagePath);
-        } catch (Exception e) {
-            monitor.warning("Failed to load contract sequence counters: " + e.getMessage());
+        });
+    }
+
+    void checkWritable() throws IOException {
+        backend.checkWritable();
+    }
+
+    void close() {
+        backend.close();
+    }
+
+    private long reserve(String key, long count) throws IOException {
+        var event = new SequencePersistEvent();
+        event.begin();
+        try {
+            var reserved = backend.reserve(key, count);
+            event.succeeded = true;
+            return reserved;
+        } finally {
+            commit(event, "reserve", 1, count);
         }
     }
 
-    private void persist() {
+    private void raiseTo(Map<String, Long> raises) throws IOException {
+        var event = new SequencePersistEvent();
+        event.begin();
         try {
-            var parent = storagePath.getParent();
-            if (parent != null) {
-                Files.createDirectories(parent);
-            }
-            var raw = mapper.writerWithDefaultPrettyPrinter().writeValueAsString(countersByUser);
-            Files.writeString(storagePath, raw, StandardCharsets.UTF_8);
-        } catch (IOException e) {
-            monitor.warning("Failed to persist contract sequence counters: " + e.getMessage());
+            backend.raiseTo(raises);
+            event.succeeded = true;
+        } finally {
+            commit(event, "raise", raises.size(), 0);
+        }
+    }
+
+    private void commit(SequencePersistEvent event, String operation, int users, long indices) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.backend = backend.getClass().getSimpleName();
+            event.users = users;
+            event.indices = indices;
+            event.commit();
+        }
+    }
+
+    private Lease lease(String key) {
+        return leasesByUser.computeIfAbsent(key, ignored -> new Lease());
+    }
+
+    private String normalizeUserId(String userId) {
+        if (userId == null || userId.isBlank()) {
+            return "user";
         }
+        return userId.trim().toLowerCase();
+    }
+
+    // issued: last index handed out; limit: end of the block leased from the backend.
+    private static class Lease {
+        private long issued;
+        private long limit;
     }
 }
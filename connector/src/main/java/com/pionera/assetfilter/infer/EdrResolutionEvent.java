@@ -0,0 +1,49 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.infer;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for resolving the EDR of an inference request, and for the polling wait on a transfer's EDR.
+ */
+@Name("com.pionera.assetfilter.EdrResolution")
+@Label("EDR Resolution")
+@Category({ "Asset Filter", "Inference" })
+@Description("Resolution of the endpoint data reference used by /infer")
+@StackTrace(false)
+class EdrResolutionEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Strategy")
+    @Description("direct, local, agreement, contract or transfer")
+    String strategy;
+
+    @Label("Transfer Process Id")
+    String transferProcessId;
+
+    @Label("Polls")
+    @Description("EDR lookups made while waiting for the transfer")
+    int polls;
+
+    @Label("Resolved")
+    boolean resolved;
+}
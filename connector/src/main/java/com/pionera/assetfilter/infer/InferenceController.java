@@ -16,34 +16,106 @@ package com.pionera.assetfilter.infer;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pionera.assetfilter.json.JsonCodec;
+import com.pionera.assetfilter.jsonld.JsonLdTerm;
+import com.pionera.assetfilter.observability.HealthCheck;
+import com.pionera.assetfilter.observability.MetricsRegistry;
+import com.pionera.assetfilter.observability.Tracing;
+import com.pionera.assetfilter.resilience.UpstreamGuard;
+import com.pionera.assetfilter.routing.EndpointGroup;
+import com.pionera.assetfilter.routing.EndpointRegistry;
+import com.pionera.assetfilter.resilience.UpstreamRejectedException;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import org.eclipse.edc.spi.monitor.Monitor;
-import org.eclipse.edc.spi.types.TypeManager;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static jakarta.ws.rs.core.HttpHeaders.ACCEPT;
 import static jakarta.ws.rs.core.HttpHeaders.AUTHORIZATION;
+import static jakarta.ws.rs.core.HttpHeaders.CACHE_CONTROL;
 import static jakarta.ws.rs.core.HttpHeaders.CONTENT_TYPE;
+import static jakarta.ws.rs.core.HttpHeaders.RETRY_AFTER;
 
 @Path("/infer")
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
 public class InferenceController {
 
+    private static final int STREAM_BUFFER_SIZE = 8192;
+    private static final List<String> STREAMING_CONTENT_TYPES = List.of(
+            "text/event-stream", "application/x-ndjson", "application/jsonl", "application/stream+json"
+    );
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE");
+
+    // Inference request fields.
+    private static final JsonLdTerm METHOD = JsonLdTerm.of("method");
+    private static final JsonLdTerm PATH = JsonLdTerm.of("path");
+    private static final JsonLdTerm PAYLOAD = JsonLdTerm.of("payload", "body", "input");
+    private static final JsonLdTerm HEADERS = JsonLdTerm.of("headers");
+    private static final JsonLdTerm IDEMPOTENT = JsonLdTerm.of("idempotent");
+    private static final JsonLdTerm STREAM = JsonLdTerm.of("stream");
+    private static final JsonLdTerm ASSET_ID = JsonLdTerm.of("assetId", "id");
+    private static final JsonLdTerm CONTRACT_ID = JsonLdTerm.of("contractId", "contractAgreementId", "agreementId");
+    private static final JsonLdTerm TRANSFER_ID = JsonLdTerm.of("transferProcessId", "transferId");
+    private static final JsonLdTerm REQUEST_ENDPOINT = JsonLdTerm.of("endpoint", "edrEndpoint");
+    private static final JsonLdTerm REQUEST_AUTHORIZATION = JsonLdTerm.of("authorization", "edrToken", "authCode");
+    private static final JsonLdTerm CONNECTOR_ID = JsonLdTerm.of("connectorId", "providerId");
+    private static final JsonLdTerm TRANSFER_TYPE = JsonLdTerm.of("transferType");
+
+    // Shared by requests and management API responses.
+    private static final JsonLdTerm AUTH_HEADER = JsonLdTerm.of("authHeader", "authKey");
+    private static final JsonLdTerm COUNTER_PARTY_ADDRESS = JsonLdTerm.of("counterPartyAddress", "protocolAddress");
+    private static final JsonLdTerm PROTOCOL = JsonLdTerm.of("protocol");
+
+    // Management API responses: assets, EDRs, transfers, agreements and negotiations.
+    private static final JsonLdTerm DATA_ADDRESS = JsonLdTerm.of("dataAddress");
+    private static final JsonLdTerm ADDRESS_TYPE = JsonLdTerm.of("type", "@type");
+    private static final JsonLdTerm BASE_URL = JsonLdTerm.of("baseUrl", "endpoint", "endpointUrl");
+    private static final JsonLdTerm BASE_URLS = JsonLdTerm.of("baseUrls");
+    private static final JsonLdTerm LOAD_BALANCING = JsonLdTerm.of("loadBalancing");
+    private static final JsonLdTerm EDR_ENDPOINT = JsonLdTerm.of("endpoint", "endpointUrl");
+    private static final JsonLdTerm EDR_AUTHORIZATION = JsonLdTerm.of("authorization", "authCode");
+    private static final JsonLdTerm ID = JsonLdTerm.of("@id", "id");
+    private static final JsonLdTerm AGREEMENT_ID = JsonLdTerm.of("@id", "id", "agreementId", "contractAgreementId");
+    private static final JsonLdTerm LINKED_AGREEMENT_ID = JsonLdTerm.of("contractAgreementId", "agreementId");
+    private static final JsonLdTerm COUNTER_PARTY_ID = JsonLdTerm.of("counterPartyId", "connectorId");
+    private static final JsonLdTerm STATE = JsonLdTerm.of("state", "negotiationState");
+    private static final JsonLdTerm RESULTS = JsonLdTerm.of("results", "items", "contractAgreements", "@graph");
+    private static final JsonLdTerm AGREEMENT_ASSET_ID = JsonLdTerm.of("assetId");
+    private static final JsonLdTerm ASSET = JsonLdTerm.of("asset");
+    private static final JsonLdTerm ASSET_REFERENCE_ID = JsonLdTerm.of("@id", "id", "assetId");
+    private static final JsonLdTerm TIMESTAMP = JsonLdTerm.of("contractSigningDate", "createdAt", "timestamp");
+    private static final JsonLdTerm PROVIDER_ID = JsonLdTerm.of("providerId");
+    private static final JsonLdTerm CONSUMER_ID = JsonLdTerm.of("consumerId");
+
+    private final JsonCodec json;
     private final ObjectMapper mapper;
     private final String managementBaseUrl;
     private final String localParticipantId;
@@ -52,17 +124,28 @@ public class InferenceController {
     private final String defaultProtocol;
     private final String defaultTransferType;
     private final Monitor monitor;
+    private final UpstreamGuard upstreamGuard;
+    private final HedgingPolicy hedging;
+    private final EndpointRegistry endpointRegistry;
+    private final MetricsRegistry.Histogram stageLatency;
+    private final Tracing tracing;
     private final HttpClient httpClient = HttpClient.newHttpClient();
 
-    public InferenceController(TypeManager typeManager,
+    public InferenceController(JsonCodec json,
                                String managementBaseUrl,
                                String localParticipantId,
                                String defaultConnectorId,
                                String defaultCounterPartyAddress,
                                String defaultProtocol,
                                String defaultTransferType,
-                               Monitor monitor) {
-        this.mapper = typeManager.getMapper();
+                               Monitor monitor,
+                               UpstreamGuard upstreamGuard,
+                               HedgingPolicy hedging,
+                               EndpointRegistry endpointRegistry,
+                               MetricsRegistry metrics,
+                               Tracing tracing) {
+        this.json = json;
+        this.mapper = json.mapper();
         this.managementBaseUrl = managementBaseUrl;
         this.localParticipantId = localParticipantId;
         this.defaultConnectorId = defaultConnectorId;
@@ -70,28 +153,33 @@ public class InferenceController {
         this.defaultProtocol = defaultProtocol;
         this.defaultTransferType = defaultTransferType;
         this.monitor = monitor;
+        this.upstreamGuard = upstreamGuard;
+        this.hedging = hedging;
+        this.endpointRegistry = endpointRegistry;
+        this.stageLatency = metrics.histogram("asset_infer_stage_duration_seconds", "Time spent per stage of /infer.", "stage");
+        this.tracing = tracing;
     }
 
     @POST
-    public Response infer(String requestBody) {
+    public Response infer(byte[] requestBody) {
         try {
-            var requestNode = mapper.readTree(requestBody);
-            if (requestNode == null || requestNode.isNull()) {
+            var requestNode = json.readTree(requestBody);
+            if (requestNode == null || requestNode.isNull() || requestNode.isMissingNode()) {
                 return Response.status(Response.Status.BAD_REQUEST)
                         .entity("{\"error\":\"Missing request body\"}")
                         .build();
             }
 
-            var method = firstNonBlank(textValue(requestNode, "method"), "POST").toUpperCase(Locale.ROOT);
-            var path = firstNonBlank(textValue(requestNode, "path"), "");
-            var payload = firstNode(requestNode, "payload", "body", "input");
-            var headersNode = firstNode(requestNode, "headers");
+            var method = firstNonBlank(METHOD.text(requestNode), "POST").toUpperCase(Locale.ROOT);
+            var path = firstNonBlank(PATH.text(requestNode), "");
+            var payload = PAYLOAD.find(requestNode);
+            var headersNode = HEADERS.find(requestNode);
 
             var edrInfo = resolveEdr(requestNode);
             if (edrInfo == null) {
-                var assetId = textValue(requestNode, "assetId", "id");
-                var contractId = textValue(requestNode, "contractId", "contractAgreementId", "agreementId");
-                var transferId = textValue(requestNode, "transferProcessId", "transferId");
+                var assetId = ASSET_ID.text(requestNode);
+                var contractId = CONTRACT_ID.text(requestNode);
+                var transferId = TRANSFER_ID.text(requestNode);
                 if (assetId != null && !assetId.isBlank() && contractId == null && transferId == null) {
                     return Response.status(Response.Status.BAD_REQUEST)
                             .entity("{\"error\":\"No contract agreement found for assetId\"}")
@@ -107,9 +195,8 @@ public class InferenceController {
                         .build();
             }
 
-            var targetUrl = joinUrl(edrInfo.endpoint, path);
-            var builder = HttpRequest.newBuilder()
-                    .uri(URI.create(targetUrl));
+            var endpoints = endpointRegistry.group(edrInfo.endpoints, edrInfo.balancing);
+            var builder = HttpRequest.newBuilder();
 
             if (headersNode != null && headersNode.isObject()) {
                 headersNode.fields().forEachRemaining(entry ->
@@ -127,12 +214,33 @@ public class InferenceController {
             var bodyPublisher = buildBodyPublisher(payload);
             builder.method(method, bodyPublisher);
 
-            var response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            var response = timed("upstream_call", () -> isHedgeable(method, requestNode, endpoints) ?
+                    sendHedged(endpoints, builder, path, String.join(",", edrInfo.endpoints)) :
+                    sendBalanced(endpoints, builder, path));
 
             var contentType = response.headers().firstValue(CONTENT_TYPE).orElse(MediaType.APPLICATION_JSON);
+            if (isStreamingRequested(requestNode) || isStreamingResponse(response)) {
+                var streamed = Response.status(response.statusCode())
+                        .header(CONTENT_TYPE, contentType)
+                        .entity(relay(response.body()));
+                response.headers().firstValue(CACHE_CONTROL).ifPresent(value -> streamed.header(CACHE_CONTROL, value));
+                return streamed.build();
+            }
+
+            // Relayed as bytes: the body is neither decoded nor re-encoded on the way through.
+            byte[] body;
+            try (var upstream = response.body()) {
+                body = upstream.readAllBytes();
+            }
             return Response.status(response.statusCode())
                     .header(CONTENT_TYPE, contentType)
-                    .entity(response.body())
+                    .entity(body)
+                    .build();
+        } catch (UpstreamRejectedException e) {
+            monitor.debug(e.getMessage());
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .header(RETRY_AFTER, e.retryAfterSeconds())
+                    .entity("{\"error\":\"Upstream unavailable\"}")
                     .build();
         } catch (Exception e) {
             monitor.warning("Inference failed: " + e.getMessage());
@@ -142,53 +250,305 @@ public class InferenceController {
         }
     }
 
+    // Each stage is both a latency sample and a span, so a slow trace can be matched against the stage histograms.
+    private <T> T timed(String stage, Callable<T> call) throws Exception {
+        var started = System.nanoTime();
+        try {
+            return tracing.inSpan("infer " + stage, call);
+        } finally {
+            stageLatency.observeSince(started, stage);
+        }
+    }
+
+    // Every upstream call (management API and model endpoint) goes through the per-origin circuit breaker and
+    // concurrency limit. The outcome is taken at response headers, so streamed bodies do not hold a slot.
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) throws IOException, InterruptedException {
+        var permit = upstreamGuard.acquire(request.uri());
+        try {
+            var response = tracing.send(request, traced -> httpClient.send(traced, bodyHandler));
+            permit.onResponse(response.statusCode());
+            return response;
+        } catch (IOException e) {
+            permit.onFailure();
+            throw e;
+        } finally {
+            permit.release();
+        }
+    }
+
+    private HttpResponse<InputStream> sendBalanced(EndpointGroup endpoints, HttpRequest.Builder builder, String path)
+            throws IOException, InterruptedException {
+        var lease = endpoints.acquire(null);
+        try {
+            var response = send(requestFor(builder, lease.baseUrl(), path), HttpResponse.BodyHandlers.ofInputStream());
+            lease.onResponse(response.statusCode());
+            return response;
+        } catch (UpstreamRejectedException e) {
+            throw e;
+        } catch (IOException e) {
+            lease.onFailure();
+            throw e;
+        } finally {
+            lease.release();
+        }
+    }
+
+    private HttpRequest requestFor(HttpRequest.Builder builder, String baseUrl, String path) {
+        return builder.copy().uri(URI.create(joinUrl(baseUrl, path))).build();
+    }
+
+    // Duplicating a request is only safe when repeating it has no additional effect; POST inference calls
+    // have to declare that explicitly with "idempotent": true. With a single replica the hedge would land on the
+    // endpoint that is already slow and double its load, so only multi-endpoint assets are hedged.
+    private boolean isHedgeable(String method, JsonNode requestNode, EndpointGroup endpoints) {
+        if (!hedging.isEnabled() || endpoints.size() < 2) {
+            return false;
+        }
+        var idempotentNode = IDEMPOTENT.find(requestNode);
+        if (idempotentNode != null) {
+            return idempotentNode.asBoolean(false);
+        }
+        return IDEMPOTENT_METHODS.contains(method);
+    }
+
+    // Sends the request and, if no response headers arrived within the running latency percentile of the
+    // target, sends one duplicate. The first successful response wins; the other attempt is cancelled.
+    private HttpResponse<InputStream> sendHedged(EndpointGroup endpoints, HttpRequest.Builder builder, String path, String target)
+            throws IOException, InterruptedException {
+        hedging.onRequest();
+        var delay = hedging.hedgeDelayMillis(target);
+        var started = System.nanoTime();
+        var primaryLease = endpoints.acquire(null);
+        var primary = sendAsync(builder, path, primaryLease);
+        // The hedge delay is derived from the primary attempt only; recording the hedged winner would pull the
+        // percentile down and make hedging more eager. A cancelled primary contributes its elapsed time as a lower bound.
+        primary.whenComplete((response, error) -> {
+            if (response != null || error instanceof CancellationException) {
+                hedging.recordLatency(target, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            }
+        });
+
+        HttpResponse<InputStream> response = null;
+        if (delay < 0) {
+            response = await(primary);
+        } else {
+            try {
+                response = primary.get(delay, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                response = hedge(endpoints, builder, path, primaryLease.baseUrl(), primary);
+            } catch (ExecutionException e) {
+                throw unwrap(e);
+            }
+        }
+        return response;
+    }
+
+    // The hedge goes to a different replica when the asset has more than one. A 5xx only wins when the other
+    // attempt has also failed, so a fast error from one replica cannot beat a slower success from the other.
+    private HttpResponse<InputStream> hedge(EndpointGroup endpoints, HttpRequest.Builder builder, String path, String primaryBaseUrl,
+                                            CompletableFuture<HttpResponse<InputStream>> primary) throws IOException, InterruptedException {
+        if (!hedging.tryAcquireHedge()) {
+            return await(primary);
+        }
+        CompletableFuture<HttpResponse<InputStream>> secondary;
+        try {
+            var secondaryLease = endpoints.acquire(primaryBaseUrl);
+            secondary = sendAsync(builder, path, secondaryLease);
+        } catch (UpstreamRejectedException e) {
+            return await(primary);
+        }
+
+        var winner = new CompletableFuture<HttpResponse<InputStream>>();
+        var fallback = new AtomicReference<HttpResponse<InputStream>>();
+        var settled = new AtomicInteger();
+        for (var attempt : List.of(primary, secondary)) {
+            attempt.whenComplete((response, error) -> {
+                if (response != null && response.statusCode() < 500) {
+                    if (!winner.complete(response)) {
+                        closeQuietly(response);
+                    }
+                } else if (response != null && !fallback.compareAndSet(null, response)) {
+                    closeQuietly(response);
+                }
+                if (settled.incrementAndGet() == 2) {
+                    var last = fallback.get();
+                    if (last == null) {
+                        winner.completeExceptionally(error);
+                    } else if (!winner.complete(last)) {
+                        closeQuietly(last);
+                    }
+                }
+            });
+        }
+        try {
+            return await(winner);
+        } finally {
+            primary.cancel(true);
+            secondary.cancel(true);
+        }
+    }
+
+    // Async counterpart of send(); the HttpClient future itself is returned so that cancelling it aborts the exchange.
+    private CompletableFuture<HttpResponse<InputStream>> sendAsync(HttpRequest.Builder builder, String path, EndpointGroup.Lease lease)
+            throws UpstreamRejectedException {
+        HttpRequest request;
+        UpstreamGuard.Permit permit;
+        try {
+            request = requestFor(builder, lease.baseUrl(), path);
+            permit = upstreamGuard.acquire(request.uri());
+        } catch (UpstreamRejectedException | RuntimeException e) {
+            lease.release();
+            throw e;
+        }
+        var span = tracing.startClientSpan(request);
+        var future = httpClient.sendAsync(span.request(), HttpResponse.BodyHandlers.ofInputStream());
+        future.whenComplete((response, error) -> {
+            if (response != null) {
+                span.end(response.statusCode());
+                permit.onResponse(response.statusCode());
+                lease.onResponse(response.statusCode());
+            } else if (error instanceof CancellationException) {
+                span.cancel();
+                permit.release();
+                lease.release();
+            } else {
+                span.fail(error);
+                permit.onFailure();
+                lease.onFailure();
+            }
+        });
+        return future;
+    }
+
+    private <T> T await(CompletableFuture<T> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private IOException unwrap(ExecutionException e) {
+        var cause = e.getCause();
+        return cause instanceof IOException io ? io : new IOException(cause);
+    }
+
+    private void closeQuietly(HttpResponse<InputStream> response) {
+        try {
+            response.body().close();
+        } catch (IOException ignored) {
+            // the losing attempt's body is discarded
+        }
+    }
+
+    private boolean isStreamingRequested(JsonNode requestNode) {
+        var streamNode = STREAM.find(requestNode);
+        return streamNode != null && streamNode.asBoolean(false);
+    }
+
+    private boolean isStreamingResponse(HttpResponse<?> response) {
+        var contentType = response.headers().firstValue(CONTENT_TYPE).orElse("").toLowerCase(Locale.ROOT);
+        for (var streamingType : STREAMING_CONTENT_TYPES) {
+            if (contentType.startsWith(streamingType)) {
+                return true;
+            }
+        }
+        // Chunked bodies without a declared length are typically produced incrementally (token streaming).
+        return response.headers().firstValue("Content-Length").isEmpty() &&
+                response.headers().allValues("Transfer-Encoding").stream()
+                        .anyMatch(value -> value.toLowerCase(Locale.ROOT).contains("chunked"));
+    }
+
+    // Copies the upstream body chunk by chunk and flushes after each read, so the client sees every chunk
+    // as soon as the model server emits it. Blocking writes give natural backpressure towards the upstream.
+    private StreamingOutput relay(InputStream upstream) {
+        return output -> {
+            try (upstream) {
+                copyFlushing(upstream, output);
+            } catch (IOException e) {
+                monitor.debug("Inference stream aborted: " + e.getMessage());
+                throw e;
+            }
+        };
+    }
+
+    private void copyFlushing(InputStream input, OutputStream output) throws IOException {
+        var buffer = new byte[STREAM_BUFFER_SIZE];
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            output.write(buffer, 0, read);
+            output.flush();
+        }
+    }
+
     private EdrInfo resolveEdr(JsonNode requestNode) throws Exception {
-        var endpoint = firstNonBlank(textValue(requestNode, "endpoint", "edrEndpoint"), null);
-        var authorization = firstNonBlank(textValue(requestNode, "authorization", "edrToken", "authCode"), null);
-        var authHeader = firstNonBlank(textValue(requestNode, "authHeader", "authKey"), AUTHORIZATION);
+        var event = new EdrResolutionEvent();
+        event.begin();
+        EdrInfo edr = null;
+        try {
+            edr = resolveEdr(requestNode, event);
+            return edr;
+        } finally {
+            commit(event, "resolveEdr", edr);
+        }
+    }
+
+    private EdrInfo resolveEdr(JsonNode requestNode, EdrResolutionEvent event) throws Exception {
+        var endpoint = firstNonBlank(REQUEST_ENDPOINT.text(requestNode), null);
+        var authorization = firstNonBlank(REQUEST_AUTHORIZATION.text(requestNode), null);
+        var authHeader = firstNonBlank(AUTH_HEADER.text(requestNode), AUTHORIZATION);
         if (endpoint != null && authorization != null) {
+            event.strategy = "direct";
             return new EdrInfo(endpoint, authorization, authHeader);
         }
 
-        var transferProcessId = textValue(requestNode, "transferProcessId", "transferId");
+        var transferProcessId = TRANSFER_ID.text(requestNode);
         if (transferProcessId == null || transferProcessId.isBlank()) {
-            var contractId = firstNonBlank(
-                    textValue(requestNode, "contractId", "contractAgreementId", "agreementId"), null);
+            var contractId = firstNonBlank(CONTRACT_ID.text(requestNode), null);
             if (contractId == null || contractId.isBlank()) {
-                var assetId = firstNonBlank(textValue(requestNode, "assetId", "id"), null);
+                var assetId = firstNonBlank(ASSET_ID.text(requestNode), null);
                 if (assetId == null || assetId.isBlank()) {
                     return null;
                 }
 
                 // Local-owner shortcut:
                 // if asset is local and has a direct HttpData baseUrl, execute directly and skip contract+transfer.
-                var localAssetEndpoint = resolveLocalAssetEndpoint(assetId);
+                event.strategy = "local";
+                var localAssetEndpoint = timed("local_asset_lookup", () -> resolveLocalAssetEndpoint(assetId));
                 if (localAssetEndpoint != null) {
-                    return new EdrInfo(localAssetEndpoint, null, null);
+                    return localAssetEndpoint;
                 }
 
-                var agreementId = findAgreementIdForAsset(assetId);
+                event.strategy = "agreement";
+
+                var agreementId = timed("agreement_lookup", () -> findAgreementIdForAsset(assetId));
                 if (agreementId == null) {
                     return null;
                 }
 
                 return startTransferAndResolve(agreementId,
-                        textValue(requestNode, "connectorId", "providerId"),
-                        textValue(requestNode, "counterPartyAddress", "protocolAddress"),
-                        textValue(requestNode, "protocol"),
-                        textValue(requestNode, "transferType"));
+                        CONNECTOR_ID.text(requestNode),
+                        COUNTER_PARTY_ADDRESS.text(requestNode),
+                        PROTOCOL.text(requestNode),
+                        TRANSFER_TYPE.text(requestNode));
             }
+            event.strategy = "contract";
             return startTransferAndResolve(contractId,
-                    textValue(requestNode, "connectorId", "providerId"),
-                    textValue(requestNode, "counterPartyAddress", "protocolAddress"),
-                    textValue(requestNode, "protocol"),
-                    textValue(requestNode, "transferType"));
+                    CONNECTOR_ID.text(requestNode),
+                    COUNTER_PARTY_ADDRESS.text(requestNode),
+                    PROTOCOL.text(requestNode),
+                    TRANSFER_TYPE.text(requestNode));
         }
 
-        return waitForEdr(transferProcessId);
+        event.strategy = "transfer";
+        event.transferProcessId = transferProcessId;
+        return timed("edr_wait", () -> waitForEdr(transferProcessId));
     }
 
-    private String resolveLocalAssetEndpoint(String assetId) throws Exception {
+    private EdrInfo resolveLocalAssetEndpoint(String assetId) throws Exception {
         if (assetId == null || assetId.isBlank()) {
             return null;
         }
@@ -199,11 +559,11 @@ public class InferenceController {
             return null;
         }
 
-        var dataAddressType = firstNonBlank(textValue(dataAddressNode, "type", "@type"), null);
-        var baseUrl = firstNonBlank(
-                textValue(dataAddressNode, "baseUrl", "edc:baseUrl", "endpoint", "endpointUrl"), null);
+        var dataAddressType = firstNonBlank(ADDRESS_TYPE.text(dataAddressNode), null);
+        var baseUrl = firstNonBlank(BASE_URL.text(dataAddressNode), null);
+        var baseUrls = EndpointRegistry.parseBaseUrls(baseUrlList(BASE_URLS.find(dataAddressNode)), baseUrl);
 
-        if (baseUrl == null || baseUrl.isBlank()) {
+        if (baseUrls.isEmpty()) {
             return null;
         }
 
@@ -212,8 +572,26 @@ public class InferenceController {
             return null;
         }
 
-        monitor.debug("Using local direct inference path for asset: " + assetId + " -> " + baseUrl);
-        return baseUrl;
+        monitor.debug("Using local direct inference path for asset: " + assetId + " -> " + baseUrls);
+        var balancing = LOAD_BALANCING.text(dataAddressNode);
+        return new EdrInfo(baseUrls.get(0), null, null, baseUrls, balancing);
+    }
+
+    private Object baseUrlList(JsonNode node) {
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        if (!node.isArray()) {
+            return JsonLdTerm.valueText(node);
+        }
+        var values = new ArrayList<String>();
+        node.forEach(value -> {
+            var text = JsonLdTerm.valueText(value);
+            if (text != null) {
+                values.add(text);
+            }
+        });
+        return values;
     }
 
     private JsonNode resolveDataAddressByAssetGet(String assetId) throws Exception {
@@ -225,13 +603,13 @@ public class InferenceController {
                 .GET()
                 .build();
 
-        var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        var response = send(request, HttpResponse.BodyHandlers.ofByteArray());
         if (response.statusCode() / 100 != 2) {
             return null;
         }
 
-        var assetNode = mapper.readTree(response.body());
-        return firstNode(assetNode, "dataAddress", "edc:dataAddress");
+        var assetNode = json.readTree(response.body());
+        return DATA_ADDRESS.find(assetNode);
     }
 
     private EdrInfo startTransferAndResolve(String contractId,
@@ -245,21 +623,21 @@ public class InferenceController {
         var resolvedProtocol = transferParams.protocol();
         var resolvedTransferType = transferParams.transferType();
 
-        if (resolvedCounterPartyAddress == null || resolvedCounterPartyAddress.isBlank()
-                || resolvedConnectorId == null || resolvedConnectorId.isBlank()
-                || resolvedProtocol == null || resolvedProtocol.isBlank()) {
-            monitor.warning("Inference transfer routing is incomplete. connectorId=" + resolvedConnectorId
-                    + ", counterPartyAddress=" + resolvedCounterPartyAddress + ", protocol=" + resolvedProtocol);
+        if (resolvedCounterPartyAddress == null || resolvedCounterPartyAddress.isBlank() ||
+                resolvedConnectorId == null || resolvedConnectorId.isBlank() ||
+                resolvedProtocol == null || resolvedProtocol.isBlank()) {
+            monitor.warning("Inference transfer routing is incomplete. connectorId=" + resolvedConnectorId +
+                    ", counterPartyAddress=" + resolvedCounterPartyAddress + ", protocol=" + resolvedProtocol);
             return null;
         }
 
-        var createdTransferId = startTransfer(contractId, resolvedConnectorId, resolvedCounterPartyAddress,
-                resolvedProtocol, resolvedTransferType);
+        var createdTransferId = timed("transfer_start", () -> startTransfer(contractId, resolvedConnectorId, resolvedCounterPartyAddress,
+                resolvedProtocol, resolvedTransferType));
         if (createdTransferId == null || createdTransferId.isBlank()) {
             return null;
         }
 
-        return waitForEdr(createdTransferId);
+        return timed("edr_wait", () -> waitForEdr(createdTransferId));
     }
 
     private TransferParams resolveTransferParams(String contractId,
@@ -274,30 +652,25 @@ public class InferenceController {
 
         JsonNode agreement = null;
         if (contractId != null && (!hasText(resolvedConnectorId) || !hasText(resolvedCounterPartyAddress))) {
-            agreement = findAgreementById(contractId);
+            agreement = timed("agreement_lookup", () -> findAgreementById(contractId));
         }
 
         if (!hasText(resolvedConnectorId) && agreement != null) {
             resolvedConnectorId = inferRemoteParticipantId(agreement);
         }
 
-        if ((!hasText(resolvedCounterPartyAddress) || !hasText(resolvedProtocol) || !hasText(resolvedConnectorId))
-                && contractId != null) {
-            var negotiation = findNegotiationByAgreementId(contractId);
+        if ((!hasText(resolvedCounterPartyAddress) || !hasText(resolvedProtocol) || !hasText(resolvedConnectorId)) &&
+                contractId != null) {
+            var negotiation = timed("agreement_lookup", () -> findNegotiationByAgreementId(contractId));
             if (negotiation != null) {
                 if (!hasText(resolvedCounterPartyAddress)) {
-                    resolvedCounterPartyAddress = firstNonBlank(
-                            textValue(negotiation, "counterPartyAddress", "protocolAddress",
-                                    "edc:counterPartyAddress", "edc:protocolAddress"), null);
+                    resolvedCounterPartyAddress = firstNonBlank(COUNTER_PARTY_ADDRESS.text(negotiation), null);
                 }
                 if (!hasText(resolvedProtocol)) {
-                    resolvedProtocol = firstNonBlank(
-                            textValue(negotiation, "protocol", "edc:protocol"), null);
+                    resolvedProtocol = firstNonBlank(PROTOCOL.text(negotiation), null);
                 }
                 if (!hasText(resolvedConnectorId)) {
-                    resolvedConnectorId = firstNonBlank(
-                            textValue(negotiation, "counterPartyId", "connectorId",
-                                    "edc:counterPartyId", "edc:connectorId"), null);
+                    resolvedConnectorId = firstNonBlank(COUNTER_PARTY_ID.text(negotiation), null);
                 }
             }
         }
@@ -316,32 +689,43 @@ public class InferenceController {
     }
 
     private EdrInfo waitForEdr(String transferProcessId) throws Exception {
+        var event = new EdrResolutionEvent();
+        event.begin();
+        event.transferProcessId = transferProcessId;
+        EdrInfo edr = null;
+        try {
+            edr = pollEdr(transferProcessId, event);
+            return edr;
+        } finally {
+            commit(event, "waitForEdr", edr);
+        }
+    }
+
+    private EdrInfo pollEdr(String transferProcessId, EdrResolutionEvent event) throws Exception {
         var edrUrl = managementBaseUrl + "/v3/edrs/" + transferProcessId + "/dataaddress";
         int attempts = 10;
         long delayMs = 500;
 
         for (int i = 0; i < attempts; i++) {
+            event.polls = i + 1;
             var request = HttpRequest.newBuilder()
                     .uri(URI.create(edrUrl))
                     .header(ACCEPT, MediaType.APPLICATION_JSON)
                     .GET()
                     .build();
 
-            var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            var response = send(request, HttpResponse.BodyHandlers.ofByteArray());
             if (response.statusCode() / 100 == 2) {
-                var edrNode = mapper.readTree(response.body());
-                var resolvedEndpoint = firstNonBlank(
-                        textValue(edrNode, "endpoint", "edc:endpoint", "edc:endpointUrl", "endpointUrl"), null);
-                var resolvedAuth = firstNonBlank(
-                        textValue(edrNode, "authorization", "edc:authorization", "authCode", "edc:authCode"), null);
-                var resolvedAuthHeader = firstNonBlank(
-                        textValue(edrNode, "authHeader", "authKey", "edc:authKey"), AUTHORIZATION);
+                var edrNode = json.readTree(response.body());
+                var resolvedEndpoint = firstNonBlank(EDR_ENDPOINT.text(edrNode), null);
+                var resolvedAuth = firstNonBlank(EDR_AUTHORIZATION.text(edrNode), null);
+                var resolvedAuthHeader = firstNonBlank(AUTH_HEADER.text(edrNode), AUTHORIZATION);
 
                 if (resolvedEndpoint != null && resolvedAuth != null) {
                     return new EdrInfo(resolvedEndpoint, resolvedAuth, resolvedAuthHeader);
                 }
             } else {
-                monitor.debug("EDR not ready yet: " + response.body());
+                monitor.debug("EDR not ready yet: " + new String(response.body(), StandardCharsets.UTF_8));
             }
 
             Thread.sleep(delayMs);
@@ -351,6 +735,15 @@ public class InferenceController {
         return null;
     }
 
+    private static void commit(EdrResolutionEvent event, String operation, EdrInfo edr) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.resolved = edr != null;
+            event.commit();
+        }
+    }
+
     private String startTransfer(String contractId, String connectorId, String counterPartyAddress, String protocol, String transferType) throws Exception {
         var payload = mapper.createObjectNode();
         var contextNode = mapper.createObjectNode();
@@ -366,17 +759,17 @@ public class InferenceController {
         var request = HttpRequest.newBuilder()
                 .uri(URI.create(managementBaseUrl + "/v3/transferprocesses"))
                 .header(CONTENT_TYPE, MediaType.APPLICATION_JSON)
-                .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(payload)))
+                .POST(json.publisher(payload))
                 .build();
 
-        var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        var response = send(request, HttpResponse.BodyHandlers.ofByteArray());
         if (response.statusCode() / 100 != 2) {
-            monitor.warning("Transfer request failed: " + response.body());
+            monitor.warning("Transfer request failed: " + new String(response.body(), StandardCharsets.UTF_8));
             return null;
         }
 
-        var node = mapper.readTree(response.body());
-        var transferId = firstNonBlank(textValue(node, "@id", "id"), null);
+        var node = json.readTree(response.body());
+        var transferId = firstNonBlank(ID.text(node), null);
         if (transferId == null || transferId.isBlank()) {
             monitor.warning("Transfer request did not return an ID");
             return null;
@@ -399,8 +792,7 @@ public class InferenceController {
                 continue;
             }
 
-            var agreementId = firstNonBlank(
-                    textValue(agreement, "@id", "id", "agreementId", "contractAgreementId"), null);
+            var agreementId = firstNonBlank(AGREEMENT_ID.text(agreement), null);
             if (agreementId == null) {
                 continue;
             }
@@ -423,8 +815,7 @@ public class InferenceController {
         }
 
         for (var agreement : listContractAgreements()) {
-            var id = firstNonBlank(
-                    textValue(agreement, "@id", "id", "agreementId", "contractAgreementId"), null);
+            var id = firstNonBlank(AGREEMENT_ID.text(agreement), null);
             if (hasText(id) && agreementId.equals(id)) {
                 return agreement;
             }
@@ -445,19 +836,43 @@ public class InferenceController {
         var request = HttpRequest.newBuilder()
                 .uri(URI.create(managementBaseUrl + "/v3/contractagreements/request"))
                 .header(CONTENT_TYPE, MediaType.APPLICATION_JSON)
-                .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(requestBody)))
+                .POST(json.publisher(requestBody))
                 .build();
 
-        var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        var response = send(request, HttpResponse.BodyHandlers.ofByteArray());
         if (response.statusCode() / 100 != 2) {
-            monitor.warning("Contract agreement query failed: " + response.body());
+            monitor.warning("Contract agreement query failed: " + new String(response.body(), StandardCharsets.UTF_8));
             return List.of();
         }
 
-        var body = mapper.readTree(response.body());
+        var body = json.readTree(response.body());
         return extractAgreements(body);
     }
 
+    /**
+     * Readiness check for the EDR cache that every inference call resolves through. It bypasses the upstream
+     * guard so probes neither consume nor are refused a request slot.
+     */
+    HealthCheck.Result checkEdrCache(Duration timeout) throws Exception {
+        var requestBody = mapper.createObjectNode();
+        var contextNode = mapper.createObjectNode();
+        contextNode.put("@vocab", "https://w3id.org/edc/v0.0.1/ns/");
+        requestBody.set("@context", contextNode);
+        requestBody.put("@type", "QuerySpec");
+        requestBody.put("limit", 1);
+
+        var request = HttpRequest.newBuilder()
+                .uri(URI.create(managementBaseUrl + "/v3/edrs/request"))
+                .timeout(timeout)
+                .header(CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                .POST(json.publisher(requestBody))
+                .build();
+
+        var response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        var detail = "EDR query returned HTTP " + response.statusCode();
+        return response.statusCode() / 100 == 2 ? HealthCheck.Result.healthy(detail) : HealthCheck.Result.unhealthy(detail);
+    }
+
     private JsonNode findNegotiationByAgreementId(String agreementId) throws Exception {
         if (!hasText(agreementId)) {
             return null;
@@ -475,16 +890,16 @@ public class InferenceController {
         var request = HttpRequest.newBuilder()
                 .uri(URI.create(managementBaseUrl + "/v3/contractnegotiations/request"))
                 .header(CONTENT_TYPE, MediaType.APPLICATION_JSON)
-                .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(requestBody)))
+                .POST(json.publisher(requestBody))
                 .build();
 
-        var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        var response = send(request, HttpResponse.BodyHandlers.ofByteArray());
         if (response.statusCode() / 100 != 2) {
-            monitor.debug("Contract negotiation query failed: " + response.body());
+            monitor.debug("Contract negotiation query failed: " + new String(response.body(), StandardCharsets.UTF_8));
             return null;
         }
 
-        var body = mapper.readTree(response.body());
+        var body = json.readTree(response.body());
         var negotiations = extractAgreements(body);
         if (negotiations.isEmpty()) {
             return null;
@@ -494,15 +909,12 @@ public class InferenceController {
         long bestTimestamp = Long.MIN_VALUE;
 
         for (JsonNode negotiation : negotiations) {
-            var linkedAgreementId = firstNonBlank(
-                    textValue(negotiation, "contractAgreementId", "agreementId", "edc:contractAgreementId",
-                            "edc:agreementId"), null);
+            var linkedAgreementId = firstNonBlank(LINKED_AGREEMENT_ID.text(negotiation), null);
             if (linkedAgreementId == null || !linkedAgreementId.equals(agreementId)) {
                 continue;
             }
 
-            var state = firstNonBlank(
-                    textValue(negotiation, "state", "edc:state", "negotiationState", "edc:negotiationState"), "");
+            var state = firstNonBlank(STATE.text(negotiation), "");
             if (!"FINALIZED".equalsIgnoreCase(state)) {
                 continue;
             }
@@ -528,7 +940,7 @@ public class InferenceController {
             body.forEach(result::add);
             return result;
         }
-        var resultsNode = firstNode(body, "results", "items", "contractAgreements", "@graph");
+        var resultsNode = RESULTS.find(body);
         if (resultsNode != null && resultsNode.isArray()) {
             resultsNode.forEach(result::add);
         } else if (body.isObject()) {
@@ -538,13 +950,12 @@ public class InferenceController {
     }
 
     private String extractAssetId(JsonNode agreement) {
-        var assetId = firstNonBlank(
-                textValue(agreement, "assetId", "edc:assetId", "https://w3id.org/edc/v0.0.1/ns/assetId"), null);
+        var assetId = firstNonBlank(AGREEMENT_ASSET_ID.text(agreement), null);
         if (assetId != null) {
             return assetId;
         }
 
-        var assetNode = firstNode(agreement, "asset", "edc:asset");
+        var assetNode = ASSET.find(agreement);
         if (assetNode == null) {
             return null;
         }
@@ -552,16 +963,13 @@ public class InferenceController {
             return assetNode.asText();
         }
         if (assetNode.isObject()) {
-            return firstNonBlank(
-                    textValue(assetNode, "@id", "id", "assetId"), null);
+            return firstNonBlank(ASSET_REFERENCE_ID.text(assetNode), null);
         }
         return null;
     }
 
     private long extractTimestamp(JsonNode agreement) {
-        var raw = firstNonBlank(
-                textValue(agreement, "contractSigningDate", "createdAt", "timestamp", "edc:contractSigningDate",
-                        "edc:createdAt", "edc:timestamp"), null);
+        var raw = firstNonBlank(TIMESTAMP.text(agreement), null);
         if (raw == null) {
             return Long.MIN_VALUE;
         }
@@ -583,19 +991,7 @@ public class InferenceController {
         if (payload.isTextual()) {
             return HttpRequest.BodyPublishers.ofString(payload.asText(), StandardCharsets.UTF_8);
         }
-        return HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(payload), StandardCharsets.UTF_8);
-    }
-
-    private JsonNode firstNode(JsonNode node, String... keys) {
-        if (node == null || keys == null) {
-            return null;
-        }
-        for (String key : keys) {
-            if (node.has(key)) {
-                return node.get(key);
-            }
-        }
-        return null;
+        return json.publisher(payload);
     }
 
     private boolean hasHeader(JsonNode headersNode, String headerName) {
@@ -613,17 +1009,6 @@ public class InferenceController {
         return false;
     }
 
-    private String textValue(JsonNode node, String... keys) {
-        var valueNode = firstNode(node, keys);
-        if (valueNode == null || valueNode.isNull()) {
-            return null;
-        }
-        if (valueNode.isTextual()) {
-            return valueNode.asText();
-        }
-        return valueNode.toString();
-    }
-
     private String firstNonBlank(String first, String fallback) {
         if (first != null && !first.isBlank()) {
             return first;
@@ -666,8 +1051,8 @@ public class InferenceController {
             return null;
         }
 
-        var providerId = firstNonBlank(textValue(agreement, "providerId", "edc:providerId"), null);
-        var consumerId = firstNonBlank(textValue(agreement, "consumerId", "edc:consumerId"), null);
+        var providerId = firstNonBlank(PROVIDER_ID.text(agreement), null);
+        var consumerId = firstNonBlank(CONSUMER_ID.text(agreement), null);
 
         if (!hasText(localParticipantId)) {
             return firstNonBlank(providerId, consumerId, null);
@@ -681,7 +1066,10 @@ public class InferenceController {
         return firstNonBlank(providerId, consumerId, null);
     }
 
-    private record EdrInfo(String endpoint, String authorization, String authHeader) {
+    private record EdrInfo(String endpoint, String authorization, String authHeader, List<String> endpoints, String balancing) {
+        EdrInfo(String endpoint, String authorization, String authHeader) {
+            this(endpoint, authorization, authHeader, endpoint == null ? List.of() : List.of(endpoint), null);
+        }
     }
 
     private record TransferParams(String connectorId, String counterPartyAddress, String protocol,
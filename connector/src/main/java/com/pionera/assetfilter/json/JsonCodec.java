@@ -0,0 +1,73 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.http.HttpRequest;
+
+/**
+ * JSON for the extensions' request paths: a copy of EDC's mapper with the Blackbird module, and a tree reader and
+ * writer built once. Everything goes from and to UTF-8 bytes, so bodies are never materialized as a {@code String}
+ * and Jackson's recycled parse and output buffers do the copying. Use {@link #mapper()} to build nodes.
+ */
+public class JsonCodec {
+
+    private final ObjectMapper mapper;
+    private final ObjectReader treeReader;
+    private final ObjectWriter writer;
+
+    public JsonCodec(ObjectMapper edcMapper) {
+        // A copy, so the module does not change the mapper EDC's own serializers share.
+        this.mapper = edcMapper.copy().registerModule(new BlackbirdModule());
+        this.treeReader = mapper.readerFor(JsonNode.class);
+        this.writer = mapper.writer();
+    }
+
+    public ObjectMapper mapper() {
+        return mapper;
+    }
+
+    /**
+     * The document's tree; a missing node for empty content.
+     */
+    public JsonNode readTree(byte[] content) throws IOException {
+        return treeReader.readTree(content);
+    }
+
+    public JsonNode readTree(InputStream content) throws IOException {
+        return treeReader.readTree(content);
+    }
+
+    public byte[] writeBytes(Object value) throws JsonProcessingException {
+        return writer.writeValueAsBytes(value);
+    }
+
+    public void write(OutputStream out, Object value) throws IOException {
+        writer.writeValue(out, value);
+    }
+
+    public HttpRequest.BodyPublisher publisher(Object value) throws JsonProcessingException {
+        return HttpRequest.BodyPublishers.ofByteArray(writeBytes(value));
+    }
+}
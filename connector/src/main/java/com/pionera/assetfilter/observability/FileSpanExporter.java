@@ -0,0 +1,96 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.observability;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+
+/**
+ * Appends finished spans to a file, one JSON object per line, for environments without a collector.
+ */
+class FileSpanExporter implements SpanExporter {
+
+    private final ObjectMapper mapper;
+    private final Path path;
+    private Writer writer;
+
+    FileSpanExporter(ObjectMapper mapper, Path path) {
+        this.mapper = mapper;
+        this.path = path;
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        try {
+            if (writer == null) {
+                var parent = path.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            for (var span : spans) {
+                writer.write(mapper.writeValueAsString(toJson(span)));
+                writer.write('\n');
+            }
+            writer.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                return CompletableResultCode.ofFailure();
+            }
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    private Object toJson(SpanData span) {
+        var node = mapper.createObjectNode();
+        node.put("traceId", span.getTraceId());
+        node.put("spanId", span.getSpanId());
+        node.put("parentSpanId", span.getParentSpanId());
+        node.put("name", span.getName());
+        node.put("kind", span.getKind().name());
+        node.put("startEpochNanos", span.getStartEpochNanos());
+        node.put("durationNanos", span.getEndEpochNanos() - span.getStartEpochNanos());
+        node.put("status", span.getStatus().getStatusCode().name());
+        var attributes = node.putObject("attributes");
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), String.valueOf(value)));
+        return node;
+    }
+}
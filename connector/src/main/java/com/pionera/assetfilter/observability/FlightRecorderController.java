@@ -0,0 +1,204 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.observability;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.edc.spi.types.TypeManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Starts, stops and dumps Flight Recorder recordings of the running connector. Dumps are written to the
+ * configured directory and streamed back; clients never choose a path on the host.
+ */
+@Path("/admin/jfr")
+@Produces(MediaType.APPLICATION_JSON)
+public class FlightRecorderController {
+
+    // Both events capture the process environment and system properties at startup, which routinely carry secrets.
+    private static final List<String> SENSITIVE_EVENTS = List.of("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty");
+
+    private final TypeManager typeManager;
+    private final Monitor monitor;
+    private final java.nio.file.Path directory;
+
+    public FlightRecorderController(TypeManager typeManager, Monitor monitor, java.nio.file.Path directory) {
+        this.typeManager = typeManager;
+        this.monitor = monitor;
+        this.directory = directory;
+    }
+
+    @GET
+    public Response list() {
+        var recordings = typeManager.getMapper().createArrayNode();
+        FlightRecorder.getFlightRecorder().getRecordings().forEach(recording -> recordings.add(describe(recording)));
+        return Response.ok(recordings).build();
+    }
+
+    /**
+     * Starts a recording with the JDK's {@code default} (about 1% overhead) or {@code profile} settings. Without
+     * a duration it runs until stopped; max age and size (30 minutes and 64 MB unless given) bound what it keeps on disk.
+     */
+    @POST
+    @Path("/start")
+    public Response start(@QueryParam("name") String name,
+                          @QueryParam("settings") @DefaultValue("default") String settings,
+                          @QueryParam("durationSeconds") @DefaultValue("0") long durationSeconds,
+                          @QueryParam("maxAgeSeconds") @DefaultValue("1800") long maxAgeSeconds,
+                          @QueryParam("maxSizeMb") @DefaultValue("64") long maxSizeMb) {
+        if (!"default".equals(settings) && !"profile".equals(settings)) {
+            return error(Response.Status.BAD_REQUEST, "settings must be default or profile");
+        }
+        if (durationSeconds < 0) {
+            return error(Response.Status.BAD_REQUEST, "durationSeconds must not be negative");
+        }
+        if (maxAgeSeconds <= 0 || maxSizeMb <= 0) {
+            return error(Response.Status.BAD_REQUEST, "maxAgeSeconds and maxSizeMb must be positive");
+        }
+        try {
+            var recording = new Recording(Configuration.getConfiguration(settings));
+            recording.setName(name == null || name.isBlank() ? "asset-" + settings : name);
+            recording.setToDisk(true);
+            if (durationSeconds > 0) {
+                recording.setDuration(Duration.ofSeconds(durationSeconds));
+            }
+            recording.setMaxAge(Duration.ofSeconds(maxAgeSeconds));
+            recording.setMaxSize(maxSizeMb * 1024 * 1024);
+            excludeSensitiveEvents(recording);
+            recording.start();
+            monitor.info("Flight recording " + recording.getId() + " started with " + settings + " settings");
+            return Response.ok(describe(recording)).build();
+        } catch (IOException | ParseException e) {
+            monitor.warning("Failed to start flight recording", e);
+            return error(Response.Status.INTERNAL_SERVER_ERROR, "Failed to start flight recording");
+        }
+    }
+
+    @POST
+    @Path("/{id}/stop")
+    public Response stop(@PathParam("id") long id) {
+        var recording = find(id);
+        if (recording == null) {
+            return error(Response.Status.NOT_FOUND, "No recording with id " + id);
+        }
+        if (recording.getState() == RecordingState.RUNNING || recording.getState() == RecordingState.DELAYED) {
+            recording.stop();
+        }
+        return Response.ok(describe(recording)).build();
+    }
+
+    /**
+     * Streams a snapshot of the recording as a {@code .jfr} file. A running recording keeps running.
+     */
+    @GET
+    @Path("/{id}/dump")
+    @Produces(MediaType.APPLICATION_OCTET_STREAM)
+    public Response dump(@PathParam("id") long id) {
+        var recording = find(id);
+        if (recording == null) {
+            return error(Response.Status.NOT_FOUND, "No recording with id " + id);
+        }
+        if (recording.getState() == RecordingState.NEW || recording.getState() == RecordingState.CLOSED) {
+            return error(Response.Status.CONFLICT, "Recording " + id + " has no data to dump");
+        }
+        try {
+            Files.createDirectories(directory);
+            var file = Files.createTempFile(directory, "recording-" + id + "-", ".jfr");
+            recording.dump(file);
+            StreamingOutput body = output -> {
+                try {
+                    Files.copy(file, output);
+                } finally {
+                    Files.deleteIfExists(file);
+                }
+            };
+            return Response.ok(body, MediaType.APPLICATION_OCTET_STREAM)
+                    .header("Content-Disposition", "attachment; filename=\"recording-" + id + ".jfr\"")
+                    .build();
+        } catch (IOException e) {
+            monitor.warning("Failed to dump flight recording " + id, e);
+            return error(Response.Status.INTERNAL_SERVER_ERROR, "Failed to dump flight recording " + id);
+        }
+    }
+
+    @DELETE
+    @Path("/{id}")
+    public Response close(@PathParam("id") long id) {
+        var recording = find(id);
+        if (recording == null) {
+            return error(Response.Status.NOT_FOUND, "No recording with id " + id);
+        }
+        recording.close();
+        return Response.noContent().build();
+    }
+
+    static void excludeSensitiveEvents(Recording recording) {
+        SENSITIVE_EVENTS.forEach(recording::disable);
+    }
+
+    private Recording find(long id) {
+        for (var recording : FlightRecorder.getFlightRecorder().getRecordings()) {
+            if (recording.getId() == id) {
+                return recording;
+            }
+        }
+        return null;
+    }
+
+    private ObjectNode describe(Recording recording) {
+        var node = typeManager.getMapper().createObjectNode();
+        node.put("id", recording.getId());
+        node.put("name", recording.getName());
+        node.put("state", recording.getState().name());
+        if (recording.getStartTime() != null) {
+            node.put("startTime", recording.getStartTime().toString());
+        }
+        if (recording.getDuration() != null) {
+            node.put("durationSeconds", recording.getDuration().toSeconds());
+        }
+        if (recording.getMaxAge() != null) {
+            node.put("maxAgeSeconds", recording.getMaxAge().toSeconds());
+        }
+        node.put("maxSizeBytes", recording.getMaxSize());
+        node.put("sizeBytes", recording.getSize());
+        return node;
+    }
+
+    private Response error(Response.Status status, String message) {
+        var node = typeManager.getMapper().createObjectNode();
+        node.put("error", message);
+        return Response.status(status).entity(node).build();
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.observability;
+
+/**
+ * One component check. Implementations may block (network, disk); they run on the registry's refresh
+ * threads, never on a probe request.
+ */
+@FunctionalInterface
+public interface HealthCheck {
+
+    Result check() throws Exception;
+
+    record Result(boolean healthy, String detail) {
+
+        public static Result healthy(String detail) {
+            return new Result(true, detail);
+        }
+
+        public static Result unhealthy(String detail) {
+            return new Result(false, detail);
+        }
+    }
+}
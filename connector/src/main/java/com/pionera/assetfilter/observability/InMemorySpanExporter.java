@@ -0,0 +1,67 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.observability;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the most recent finished spans in memory so tests can assert on them.
+ */
+public class InMemorySpanExporter implements SpanExporter {
+
+    private final int capacity;
+    private final Deque<SpanData> spans = new ArrayDeque<>();
+
+    public InMemorySpanExporter(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public synchronized List<SpanData> getFinishedSpans() {
+        return new ArrayList<>(spans);
+    }
+
+    public synchronized void reset() {
+        spans.clear();
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> exported) {
+        for (var span : exported) {
+            if (spans.size() >= capacity) {
+                spans.removeFirst();
+            }
+            spans.addLast(span);
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+}
@@ -22,54 +22,105 @@ import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.eclipse.edc.spi.types.TypeManager;
 
+import java.time.Instant;
+
+/**
+ * Health probes backed by {@link HealthCheckRegistry}, plus a Prometheus scrape and latency percentiles of {@link MetricsRegistry}. Every
+ * probe only reads cached check results and answers 503 when any of its checks is failing, so load balancers can
+ * act on the status code alone.
+ */
 @Path("/check")
 @Produces(MediaType.APPLICATION_JSON)
 public class ObservabilityController {
 
+    private static final String PROMETHEUS_TEXT = "text/plain; version=0.0.4; charset=utf-8";
+
     private final TypeManager typeManager;
+    private final HealthCheckRegistry healthChecks;
+    private final MetricsRegistry metrics;
 
-    public ObservabilityController(TypeManager typeManager) {
+    public ObservabilityController(TypeManager typeManager, HealthCheckRegistry healthChecks, MetricsRegistry metrics) {
         this.typeManager = typeManager;
+        this.healthChecks = healthChecks;
+        this.metrics = metrics;
     }
 
     @GET
     @Path("/health")
     public Response health() {
-        return Response.ok(status("health")).build();
+        return status(null, true);
     }
 
     @GET
     @Path("/liveness")
     public Response liveness() {
-        return Response.ok(status("liveness")).build();
+        return status(HealthCheckRegistry.Probe.LIVENESS, false);
     }
 
     @GET
     @Path("/readiness")
     public Response readiness() {
-        return Response.ok(status("readiness")).build();
+        return status(HealthCheckRegistry.Probe.READINESS, true);
     }
 
     @GET
     @Path("/startup")
     public Response startup() {
-        return Response.ok(status("startup")).build();
+        return status(HealthCheckRegistry.Probe.STARTUP, true);
+    }
+
+    @GET
+    @Path("/metrics")
+    @Produces(PROMETHEUS_TEXT)
+    public Response metrics() {
+        return Response.ok(metrics.scrape(), PROMETHEUS_TEXT).build();
+    }
+
+    /**
+     * Percentiles since startup of every latency histogram, in the same {@code latencyMs} shape as the load-test report.
+     */
+    @GET
+    @Path("/latency")
+    public Response latency() {
+        var mapper = typeManager.getMapper();
+        var histograms = mapper.createArrayNode();
+        for (var series : metrics.latencyReports()) {
+            var node = histograms.addObject();
+            node.put("name", series.name());
+            node.set("labels", mapper.valueToTree(series.labels()));
+            node.set("latencyMs", mapper.valueToTree(series.report().toMap()));
+        }
+        var root = mapper.createObjectNode();
+        root.set("histograms", histograms);
+        return Response.ok(root).build();
     }
 
-    private ObjectNode status(String component) {
+    // Liveness must not wait for the first refresh, or a slow dependency at boot would get the process restarted.
+    private Response status(HealthCheckRegistry.Probe probe, boolean requireStarted) {
         var mapper = typeManager.getMapper();
         var root = mapper.createObjectNode();
         var results = mapper.createArrayNode();
-        results.add(componentResult(component));
+        var healthy = !requireStarted || healthChecks.isStarted();
+        for (var entry : healthChecks.results(probe).entrySet()) {
+            results.add(componentResult(entry.getKey(), entry.getValue()));
+            healthy &= entry.getValue() != null && entry.getValue().healthy();
+        }
         root.set("componentResults", results);
-        root.put("isSystemHealthy", true);
-        return root;
+        root.put("isSystemHealthy", healthy);
+        return Response.status(healthy ? Response.Status.OK : Response.Status.SERVICE_UNAVAILABLE).entity(root).build();
     }
 
-    private ObjectNode componentResult(String component) {
+    private ObjectNode componentResult(String component, HealthCheckRegistry.Status status) {
         var node = typeManager.getMapper().createObjectNode();
         node.put("component", component);
-        node.put("isHealthy", true);
+        if (status == null) {
+            node.put("isHealthy", false);
+            node.put("detail", "pending");
+            return node;
+        }
+        node.put("isHealthy", status.healthy());
+        node.put("detail", status.detail());
+        node.put("checkedAt", Instant.ofEpochMilli(status.checkedAt()).toString());
         return node;
     }
 }
@@ -14,25 +14,225 @@
 
 package com.pionera.assetfilter.observability;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pionera.assetfilter.latency.LatencyLog;
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
 import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Provides;
 import org.eclipse.edc.spi.monitor.Monitor;
 import org.eclipse.edc.spi.system.ServiceExtension;
 import org.eclipse.edc.spi.system.ServiceExtensionContext;
 import org.eclipse.edc.spi.types.TypeManager;
 import org.eclipse.edc.web.spi.WebService;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static jakarta.ws.rs.core.HttpHeaders.CONTENT_TYPE;
+
+@Provides({ HealthCheckRegistry.class, MetricsRegistry.class, Tracing.class })
 public class ObservabilityExtension implements ServiceExtension {
 
+    private static final String MANAGEMENT_CONTEXT = "management";
+
     @Inject
     private WebService webService;
     @Inject
     private TypeManager typeManager;
     @Inject
     private Monitor monitor;
+    @Inject
+    private Clock clock;
+
+    private HealthCheckRegistry healthChecks;
+    private MetricsRegistry metrics;
+    private OpenTelemetrySdk openTelemetry;
+    private String latencyLogPath;
+    private Duration latencyLogInterval;
+    private LatencyLog latencyLog;
+    private ScheduledExecutorService latencyLogger;
 
     @Override
     public void initialize(ServiceExtensionContext context) {
-        webService.registerResource(new ObservabilityController(typeManager));
-        monitor.info("Observability endpoints ready at /api/check/*");
+        var config = context.getConfig();
+        var hostname = config.getString("edc.hostname", "localhost");
+        var managementPort = config.getInteger("web.http.management.port", 29193);
+        var managementPath = config.getString("web.http.management.path", "/management");
+        var managementBaseUrl = config.getString("asset.management.url", "http://" + hostname + ":" + managementPort + managementPath);
+
+        var checkTimeout = Duration.ofMillis(config.getLong("asset.health.check.timeout.ms", 2000L));
+        healthChecks = new HealthCheckRegistry(clock, monitor,
+                Duration.ofSeconds(config.getLong("asset.health.refresh.seconds", 5L)),
+                checkTimeout,
+                Double.parseDouble(config.getString("asset.health.saturation.threshold", "0.9")));
+        context.registerService(HealthCheckRegistry.class, healthChecks);
+
+        metrics = new MetricsRegistry();
+        context.registerService(MetricsRegistry.class, metrics);
+
+        var tracing = createTracing(context);
+        context.registerService(Tracing.class, tracing);
+        webService.registerResource(new TracingFilter(tracing, null, "/check/"));
+
+        var requests = new RequestMetricsFilter(metrics);
+        var maxInFlight = config.getInteger("asset.health.max.inflight.requests", 200);
+        webService.registerResource(requests);
+
+        healthChecks.register("deadlocks", EnumSet.of(HealthCheckRegistry.Probe.LIVENESS), this::deadlocks);
+        healthChecks.register("management-api", EnumSet.of(HealthCheckRegistry.Probe.READINESS, HealthCheckRegistry.Probe.STARTUP),
+                new ManagementApiCheck(typeManager.getMapper(), managementBaseUrl, checkTimeout));
+        healthChecks.register("request-concurrency", EnumSet.of(HealthCheckRegistry.Probe.READINESS), () -> {
+            var inFlight = requests.inFlight();
+            var detail = inFlight + "/" + maxInFlight + " requests in flight";
+            return inFlight >= maxInFlight * healthChecks.saturationThreshold() ? HealthCheck.Result.unhealthy(detail) : HealthCheck.Result.healthy(detail);
+        });
+
+        webService.registerResource(new ObservabilityController(typeManager, healthChecks, metrics));
+        monitor.info("Observability endpoints ready at /api/check/* (Prometheus metrics at /api/check/metrics)");
+        latencyLogPath = config.getString("asset.latency.log.path", null);
+        latencyLogInterval = Duration.ofSeconds(config.getLong("asset.latency.log.interval.seconds", 10L));
+
+        // Recordings expose heap, thread and class details of the whole process, so recording control is opt-in, lives
+        // on the management context and additionally requires its own key, whatever authentication that context has.
+        var jfrDirectory = Path.of(config.getString("asset.jfr.directory", "./.state/jfr"));
+        if (config.getBoolean("asset.jfr.admin.enabled", false)) {
+            var adminKey = config.getString("asset.jfr.admin.key", null);
+            if (adminKey == null || adminKey.isBlank()) {
+                monitor.warning("asset.jfr.admin.enabled is set without asset.jfr.admin.key; Flight Recorder admin endpoints stay disabled");
+            } else {
+                webService.registerResource(MANAGEMENT_CONTEXT, new AdminKeyFilter("/admin/jfr", adminKey));
+                webService.registerResource(MANAGEMENT_CONTEXT, new FlightRecorderController(typeManager, monitor, jfrDirectory));
+                monitor.info("Flight Recorder admin endpoints ready at " + managementPath + "/admin/jfr");
+            }
+        }
+        if (config.getBoolean("asset.jfr.continuous.enabled", false)) {
+            startContinuousRecording(jfrDirectory,
+                    Duration.ofMinutes(config.getLong("asset.jfr.continuous.max.age.minutes", 30L)),
+                    config.getLong("asset.jfr.continuous.max.size.mb", 64L));
+        }
+    }
+
+    @Override
+    public void start() {
+        healthChecks.start();
+        if (latencyLogPath != null) {
+            startLatencyLog(Path.of(latencyLogPath));
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        healthChecks.stop();
+        if (latencyLogger != null) {
+            latencyLogger.shutdownNow();
+            metrics.logLatencyIntervals(latencyLog);
+            latencyLog.close();
+        }
+        if (openTelemetry != null) {
+            openTelemetry.getSdkTracerProvider().shutdown().join(5, TimeUnit.SECONDS);
+        }
+    }
+
+    // The in-memory exporter is registered as a service so that runtime tests can read the finished spans.
+    // Without an exporter of our own, spans go to whatever the global OpenTelemetry is: the Java agent's SDK
+    // when the runtime is started with it, a no-op otherwise.
+    private Tracing createTracing(ServiceExtensionContext context) {
+        var config = context.getConfig();
+        var exporter = config.getString("asset.tracing.exporter", "none");
+        if ("none".equalsIgnoreCase(exporter)) {
+            return new Tracing(GlobalOpenTelemetry.get());
+        }
+        var spanExporter = TracingFactory.exporter(config, typeManager.getMapper(), exporter);
+        if (spanExporter instanceof InMemorySpanExporter memory) {
+            context.registerService(InMemorySpanExporter.class, memory);
+        }
+        openTelemetry = TracingFactory.create(config, spanExporter, config.getString("edc.participant.id", "asset-connector"));
+        monitor.info("Tracing spans exported via " + exporter);
+        return new Tracing(openTelemetry);
+    }
+
+    // Interval histograms of every latency series, in the same .hlog format the load test writes.
+    private void startLatencyLog(Path file) {
+        try {
+            latencyLog = new LatencyLog(file, "asset connector latency histograms (nanoseconds)");
+        } catch (IOException e) {
+            monitor.warning("Latency log disabled: cannot write " + file, e);
+            return;
+        }
+        latencyLogger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "latency-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+        latencyLogger.scheduleAtFixedRate(() -> metrics.logLatencyIntervals(latencyLog),
+                latencyLogInterval.toMillis(), latencyLogInterval.toMillis(), TimeUnit.MILLISECONDS);
+        monitor.info("Latency histograms logged to " + file + " every " + latencyLogInterval.toSeconds() + "s");
+    }
+
+    // Keeps a bounded window of the default settings plus the connector's own events, dumped on exit.
+    private void startContinuousRecording(Path directory, Duration maxAge, long maxSizeMb) {
+        try {
+            Files.createDirectories(directory);
+            var recording = new Recording(Configuration.getConfiguration("default"));
+            recording.setName("asset-continuous");
+            recording.setToDisk(true);
+            recording.setMaxAge(maxAge);
+            recording.setMaxSize(maxSizeMb * 1024 * 1024);
+            FlightRecorderController.excludeSensitiveEvents(recording);
+            recording.setDumpOnExit(true);
+            recording.setDestination(directory.resolve("continuous.jfr"));
+            recording.start();
+            monitor.info("Continuous flight recording " + recording.getId() + " started, keeping " + maxAge.toMinutes() + " minutes");
+        } catch (IOException | ParseException e) {
+            monitor.warning("Failed to start continuous flight recording", e);
+        }
+    }
+
+    private HealthCheck.Result deadlocks() {
+        var deadlocked = ManagementFactory.getThreadMXBean().findDeadlockedThreads();
+        return deadlocked == null ? HealthCheck.Result.healthy("no deadlocked threads") : HealthCheck.Result.unhealthy(deadlocked.length + " deadlocked threads");
+    }
+
+    // A one-element asset query exercises the API, its authentication and the asset index behind it.
+    private static class ManagementApiCheck implements HealthCheck {
+        private final HttpClient httpClient;
+        private final HttpRequest request;
+
+        ManagementApiCheck(ObjectMapper mapper, String managementBaseUrl, Duration timeout) {
+            this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+            var body = mapper.createObjectNode();
+            body.putObject("@context").put("@vocab", "https://w3id.org/edc/v0.0.1/ns/");
+            body.put("@type", "QuerySpec");
+            body.put("limit", 1);
+            this.request = HttpRequest.newBuilder()
+                    .uri(URI.create(managementBaseUrl + "/v3/assets/request"))
+                    .timeout(timeout)
+                    .header(CONTENT_TYPE, "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                    .build();
+        }
+
+        @Override
+        public Result check() throws Exception {
+            var response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            var detail = "HTTP " + response.statusCode() + " from " + request.uri();
+            return response.statusCode() / 100 == 2 ? Result.healthy(detail) : Result.unhealthy(detail);
+        }
     }
 }
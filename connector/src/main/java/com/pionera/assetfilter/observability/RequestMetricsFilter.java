@@ -0,0 +1,67 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.observability;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts and times every request of the API context, and tracks how many are currently held by a server thread
+ * as a measure of how deep the request queue is running.
+ */
+public class RequestMetricsFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String STARTED = RequestMetricsFilter.class.getName() + ".started";
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final MetricsRegistry.Counter requests;
+    private final MetricsRegistry.Histogram latency;
+
+    public RequestMetricsFilter(MetricsRegistry metrics) {
+        this.requests = metrics.counter("asset_http_requests", "Requests handled by the custom API endpoints.", "path", "method", "status");
+        this.latency = metrics.histogram("asset_http_request_duration_seconds", "Time to response headers of the custom API endpoints.", "path", "method");
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        inFlight.incrementAndGet();
+        requestContext.setProperty(STARTED, System.nanoTime());
+    }
+
+    // Unmatched requests skip the request filter but still pass here; they are counted under one path so
+    // arbitrary URLs cannot create series.
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        var method = requestContext.getMethod();
+        var status = Integer.toString(responseContext.getStatus());
+        if (requestContext.getProperty(STARTED) instanceof Long started) {
+            requestContext.removeProperty(STARTED);
+            inFlight.decrementAndGet();
+            var path = "/" + requestContext.getUriInfo().getPath().replaceFirst("^/", "");
+            latency.observeSince(started, path, method);
+            requests.inc(path, method, status);
+        } else {
+            requests.inc("unmatched", method, status);
+        }
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.observability;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Scope;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+
+/**
+ * Opens a server span per request of an API context and makes it current while the resource method runs, so
+ * stage spans and outbound calls join the caller's trace. The span ends when the response headers are written.
+ */
+public class TracingFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String SPAN = TracingFilter.class.getName() + ".span";
+    private static final String SCOPE = TracingFilter.class.getName() + ".scope";
+
+    private final Tracing tracing;
+    private final String spanName;
+    private final String untracedPathPrefix;
+
+    /**
+     * @param spanName           fixed span name, or null to name spans after method and path (only for contexts
+     *                           with a bounded set of paths)
+     * @param untracedPathPrefix requests below this path (e.g. health probes) get no span; null traces everything
+     */
+    public TracingFilter(Tracing tracing, String spanName, String untracedPathPrefix) {
+        this.tracing = tracing;
+        this.spanName = spanName;
+        this.untracedPathPrefix = untracedPathPrefix;
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        var path = "/" + requestContext.getUriInfo().getPath().replaceFirst("^/", "");
+        if (untracedPathPrefix != null && path.startsWith(untracedPathPrefix)) {
+            return;
+        }
+        var name = spanName != null ? spanName : requestContext.getMethod() + " " + path;
+        var span = tracing.startServerSpan(name, requestContext);
+        requestContext.setProperty(SPAN, span);
+        requestContext.setProperty(SCOPE, span.makeCurrent());
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        if (requestContext.getProperty(SCOPE) instanceof Scope scope) {
+            scope.close();
+        }
+        if (requestContext.getProperty(SPAN) instanceof Span span) {
+            span.setAttribute("http.response.status_code", responseContext.getStatus());
+            if (responseContext.getStatus() >= 500) {
+                span.setStatus(StatusCode.ERROR);
+            }
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.resilience;
+
+import java.time.Clock;
+
+/**
+ * Count-based circuit breaker. Trips when either the failure rate or the slow-call rate over the last
+ * {@code windowSize} calls exceeds its threshold, rejects calls while open, and lets a limited number of
+ * trial calls through once the open period has elapsed.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final Clock clock;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openMillis;
+    private final int halfOpenCalls;
+
+    private final byte[] outcomes;
+    private int position;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenAdmitted;
+    private int halfOpenSucceeded;
+
+    public CircuitBreaker(Clock clock, int windowSize, int minimumCalls, double failureRateThreshold,
+                          double slowCallRateThreshold, long slowCallMillis, long openMillis, int halfOpenCalls) {
+        this.clock = clock;
+        this.windowSize = Math.max(1, windowSize);
+        this.minimumCalls = Math.max(1, minimumCalls);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = slowCallMillis * 1_000_000L;
+        this.openMillis = openMillis;
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        this.outcomes = new byte[this.windowSize];
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.millis() - openedAt < openMillis) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            halfOpenAdmitted = 0;
+            halfOpenSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenAdmitted >= halfOpenCalls) {
+                return false;
+            }
+            halfOpenAdmitted++;
+        }
+        return true;
+    }
+
+    public synchronized void onResult(boolean failed, long durationNanos) {
+        var slow = durationNanos >= slowCallNanos;
+        if (state == State.HALF_OPEN) {
+            if (failed || slow) {
+                open();
+            } else if (++halfOpenSucceeded >= halfOpenCalls) {
+                state = State.CLOSED;
+                resetWindow();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return;
+        }
+        record(failed, slow);
+        if (recorded >= minimumCalls &&
+                ((double) failures / recorded >= failureRateThreshold || (double) slowCalls / recorded >= slowCallRateThreshold)) {
+            open();
+        }
+    }
+
+    // An admitted call that never reached the upstream gives its half-open trial slot back without counting.
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && halfOpenAdmitted > 0) {
+            halfOpenAdmitted--;
+        }
+    }
+
+    public synchronized long retryAfterMillis() {
+        if (state != State.OPEN) {
+            return 0;
+        }
+        return Math.max(0, openMillis - (clock.millis() - openedAt));
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    private void record(boolean failed, boolean slow) {
+        if (recorded == windowSize) {
+            var evicted = outcomes[position];
+            failures -= evicted & 1;
+            slowCalls -= (evicted >> 1) & 1;
+        } else {
+            recorded++;
+        }
+        var outcome = (byte) ((failed ? 1 : 0) | (slow ? 2 : 0));
+        outcomes[position] = outcome;
+        failures += outcome & 1;
+        slowCalls += (outcome >> 1) & 1;
+        position = (position + 1) % windowSize;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.millis();
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        position = 0;
+        recorded = 0;
+        failures = 0;
+        slowCalls = 0;
+    }
+}
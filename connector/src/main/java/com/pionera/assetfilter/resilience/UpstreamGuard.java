@@ -0,0 +1,124 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.resilience;
+
+import java.net.URI;
+import java.time.Clock;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Per-upstream circuit breaker and adaptive concurrency limit, keyed by origin (scheme, host and port).
+ * Callers {@link #acquire(URI) acquire} a permit before each upstream call and report the outcome on it;
+ * when the breaker is open or the limit is reached the call is rejected with {@link UpstreamRejectedException}.
+ */
+public class UpstreamGuard {
+
+    private final Clock clock;
+    private final UpstreamGuardSettings settings;
+    private final Map<String, Upstream> upstreams = new ConcurrentHashMap<>();
+
+    public UpstreamGuard(Clock clock, UpstreamGuardSettings settings) {
+        this.clock = clock;
+        this.settings = settings;
+    }
+
+    public Permit acquire(URI uri) throws UpstreamRejectedException {
+        var origin = origin(uri);
+        if (!settings.enabled()) {
+            return new Permit(null, 0);
+        }
+        var upstream = upstreams.computeIfAbsent(origin, this::newUpstream);
+        if (!upstream.breaker.tryAcquire()) {
+            throw new UpstreamRejectedException(origin, "circuit open", Math.max(1000, upstream.breaker.retryAfterMillis()));
+        }
+        if (!upstream.limit.tryAcquire()) {
+            upstream.breaker.onIgnored();
+            throw new UpstreamRejectedException(origin, "concurrency limit " + upstream.limit.limit() + " reached", 1000);
+        }
+        return new Permit(upstream, System.nanoTime());
+    }
+
+    public Map<String, Snapshot> snapshot() {
+        var result = new TreeMap<String, Snapshot>();
+        upstreams.forEach((origin, upstream) -> result.put(origin,
+                new Snapshot(upstream.breaker.state(), upstream.limit.limit(), upstream.limit.inFlight())));
+        return result;
+    }
+
+    private Upstream newUpstream(String origin) {
+        var breaker = new CircuitBreaker(clock, settings.windowSize(), settings.minimumCalls(), settings.failureRateThreshold(),
+                settings.slowCallRateThreshold(), settings.slowCallMillis(), settings.openMillis(), settings.halfOpenCalls());
+        var limit = new AimdConcurrencyLimit(settings.initialLimit(), settings.minLimit(), settings.maxLimit(),
+                settings.backoffRatio(), settings.slowCallMillis());
+        return new Upstream(breaker, limit);
+    }
+
+    static String origin(URI uri) {
+        var scheme = uri.getScheme() == null ? "http" : uri.getScheme().toLowerCase(Locale.ROOT);
+        var host = uri.getHost() == null ? "" : uri.getHost().toLowerCase(Locale.ROOT);
+        var port = uri.getPort() != -1 ? uri.getPort() : "https".equals(scheme) ? 443 : 80;
+        return scheme + "://" + host + ":" + port;
+    }
+
+    /**
+     * Outcome handle for one admitted call. Exactly one of the reporting methods takes effect; later calls are ignored.
+     */
+    public static class Permit {
+        private final Upstream upstream;
+        private final long startNanos;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private Permit(Upstream upstream, long startNanos) {
+            this.upstream = upstream;
+            this.startNanos = startNanos;
+        }
+
+        // Server errors and throttling count against the upstream; client errors are the caller's problem.
+        public void onResponse(int status) {
+            complete(status >= 500 || status == 429);
+        }
+
+        public void onFailure() {
+            complete(true);
+        }
+
+        // The call never reached the upstream (e.g. the caller was interrupted or the request was invalid).
+        public void release() {
+            if (upstream != null && done.compareAndSet(false, true)) {
+                upstream.limit.release();
+                upstream.breaker.onIgnored();
+            }
+        }
+
+        private void complete(boolean failed) {
+            if (upstream == null || !done.compareAndSet(false, true)) {
+                return;
+            }
+            var duration = System.nanoTime() - startNanos;
+            upstream.limit.onResult(failed, duration);
+            upstream.breaker.onResult(failed, duration);
+        }
+    }
+
+    public record Snapshot(CircuitBreaker.State state, int limit, int inFlight) {
+    }
+
+    private record Upstream(CircuitBreaker breaker, AimdConcurrencyLimit limit) {
+    }
+}
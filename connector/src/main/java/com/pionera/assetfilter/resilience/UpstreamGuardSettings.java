@@ -0,0 +1,47 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.resilience;
+
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.runtime.metamodel.annotation.Settings;
+
+@Settings
+public record UpstreamGuardSettings(
+        @Setting(key = "asset.resilience.enabled", description = "Enables per-upstream circuit breakers and adaptive concurrency limits.", defaultValue = "true")
+        boolean enabled,
+        @Setting(key = "asset.resilience.breaker.window.size", description = "Number of most recent calls per upstream the circuit breaker evaluates.", defaultValue = "50")
+        int windowSize,
+        @Setting(key = "asset.resilience.breaker.minimum.calls", description = "Calls required in the window before the circuit breaker may trip.", defaultValue = "20")
+        int minimumCalls,
+        @Setting(key = "asset.resilience.breaker.failure.rate", description = "Failure ratio (0-1) in the window that opens the circuit.", defaultValue = "0.5")
+        double failureRateThreshold,
+        @Setting(key = "asset.resilience.breaker.slow.call.rate", description = "Slow-call ratio (0-1) in the window that opens the circuit.", defaultValue = "0.8")
+        double slowCallRateThreshold,
+        @Setting(key = "asset.resilience.slow.call.ms", description = "Calls slower than this (milliseconds to response headers) count as slow and shrink the concurrency limit.", defaultValue = "5000")
+        long slowCallMillis,
+        @Setting(key = "asset.resilience.breaker.open.ms", description = "Milliseconds an open circuit rejects calls before admitting trial calls.", defaultValue = "30000")
+        long openMillis,
+        @Setting(key = "asset.resilience.breaker.half.open.calls", description = "Trial calls admitted while half-open; all must succeed to close the circuit.", defaultValue = "5")
+        int halfOpenCalls,
+        @Setting(key = "asset.resilience.limit.initial", description = "Initial concurrency limit per upstream.", defaultValue = "20")
+        int initialLimit,
+        @Setting(key = "asset.resilience.limit.min", description = "Lower bound of the adaptive concurrency limit.", defaultValue = "1")
+        int minLimit,
+        @Setting(key = "asset.resilience.limit.max", description = "Upper bound of the adaptive concurrency limit.", defaultValue = "200")
+        int maxLimit,
+        @Setting(key = "asset.resilience.limit.backoff.ratio", description = "Factor the concurrency limit is multiplied by after a failed or slow call.", defaultValue = "0.9")
+        double backoffRatio
+) {
+}
@@ -0,0 +1,125 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.routing;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The replicas serving one asset together with its balancing strategy. Callers {@link #acquire(String) acquire}
+ * a lease, send to its base URL, and report the outcome on the lease.
+ */
+public class EndpointGroup {
+
+    private final List<BackendEndpoint> endpoints;
+    private final LoadBalancer balancer;
+    private final Clock clock;
+    private final int ejectAfter;
+    private final long ejectionMillis;
+
+    EndpointGroup(List<BackendEndpoint> endpoints, LoadBalancer balancer, Clock clock, int ejectAfter, long ejectionMillis) {
+        this.endpoints = endpoints;
+        this.balancer = balancer;
+        this.clock = clock;
+        this.ejectAfter = ejectAfter;
+        this.ejectionMillis = ejectionMillis;
+    }
+
+    public int size() {
+        return endpoints.size();
+    }
+
+    List<BackendEndpoint> endpoints() {
+        return endpoints;
+    }
+
+    void touch(long now) {
+        endpoints.forEach(endpoint -> endpoint.touch(now));
+    }
+
+    boolean isIdle(long now, long idleMillis) {
+        return endpoints.stream().allMatch(endpoint -> endpoint.isIdle(now, idleMillis));
+    }
+
+    /**
+     * Leases an available endpoint, preferring one other than {@code avoidBaseUrl} (used for hedges and
+     * retries). When every endpoint is ejected all of them are considered again rather than failing outright.
+     */
+    public Lease acquire(String avoidBaseUrl) {
+        var now = clock.millis();
+        var candidates = new ArrayList<BackendEndpoint>(endpoints.size());
+        for (var endpoint : endpoints) {
+            if (endpoint.isAvailable(now) && !endpoint.baseUrl().equals(avoidBaseUrl)) {
+                candidates.add(endpoint);
+            }
+        }
+        if (candidates.isEmpty()) {
+            for (var endpoint : endpoints) {
+                if (endpoint.isAvailable(now)) {
+                    candidates.add(endpoint);
+                }
+            }
+        }
+        var chosen = balancer.choose(candidates.isEmpty() ? endpoints : candidates);
+        chosen.onStart(now);
+        return new Lease(chosen);
+    }
+
+    /**
+     * Outstanding request on one endpoint. Exactly one of the reporting methods takes effect.
+     */
+    public class Lease {
+        private final BackendEndpoint endpoint;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private Lease(BackendEndpoint endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        public String baseUrl() {
+            return endpoint.baseUrl();
+        }
+
+        public void onResponse(int status) {
+            if (finish()) {
+                if (status >= 500) {
+                    endpoint.onFailure(clock.millis(), ejectAfter, ejectionMillis);
+                } else {
+                    endpoint.onSuccess();
+                }
+            }
+        }
+
+        public void onFailure() {
+            if (finish()) {
+                endpoint.onFailure(clock.millis(), ejectAfter, ejectionMillis);
+            }
+        }
+
+        public void release() {
+            finish();
+        }
+
+        private boolean finish() {
+            if (!done.compareAndSet(false, true)) {
+                return false;
+            }
+            endpoint.onEnd();
+            return true;
+        }
+    }
+}
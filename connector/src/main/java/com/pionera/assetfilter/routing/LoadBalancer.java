@@ -0,0 +1,86 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.routing;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Picks one endpoint out of the currently available ones. Instances are per endpoint group and may keep state.
+ */
+public interface LoadBalancer {
+
+    BackendEndpoint choose(List<BackendEndpoint> candidates);
+
+    /**
+     * Resolves a strategy name; an unknown name is rejected rather than silently balanced some other way.
+     *
+     * @throws IllegalArgumentException if the name is not one of the supported strategies
+     */
+    static LoadBalancer named(String name) {
+        var normalized = name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+        return switch (normalized) {
+            case "round-robin", "roundrobin" -> new RoundRobin();
+            case "least-outstanding", "least-requests", "least-outstanding-requests" -> new LeastOutstanding();
+            case "power-of-two", "power-of-two-choices", "p2c" -> new PowerOfTwoChoices();
+            default -> throw new IllegalArgumentException("Unknown load balancing strategy '" + name +
+                    "', expected round-robin, least-outstanding or power-of-two");
+        };
+    }
+
+    class RoundRobin implements LoadBalancer {
+        private final AtomicInteger next = new AtomicInteger();
+
+        @Override
+        public BackendEndpoint choose(List<BackendEndpoint> candidates) {
+            return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+        }
+    }
+
+    class LeastOutstanding implements LoadBalancer {
+        @Override
+        public BackendEndpoint choose(List<BackendEndpoint> candidates) {
+            var best = candidates.get(0);
+            for (var candidate : candidates) {
+                if (candidate.outstanding() < best.outstanding()) {
+                    best = candidate;
+                }
+            }
+            return best;
+        }
+    }
+
+    // Two random candidates, the less loaded one wins: close to least-outstanding without every request
+    // piling onto the same momentarily idle endpoint.
+    class PowerOfTwoChoices implements LoadBalancer {
+        @Override
+        public BackendEndpoint choose(List<BackendEndpoint> candidates) {
+            if (candidates.size() == 1) {
+                return candidates.get(0);
+            }
+            var random = ThreadLocalRandom.current();
+            var first = random.nextInt(candidates.size());
+            var second = random.nextInt(candidates.size() - 1);
+            if (second >= first) {
+                second++;
+            }
+            var a = candidates.get(first);
+            var b = candidates.get(second);
+            return b.outstanding() < a.outstanding() ? b : a;
+        }
+    }
+}
@@ -0,0 +1,329 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.contracts;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ContractSequenceLogTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @TempDir
+    private Path directory;
+    private Path snapshot;
+    private Path wal;
+    private ContractSequenceLog log;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = directory.resolve("sequences.json");
+        wal = directory.resolve("sequences.json.wal");
+        log = new ContractSequenceLog(mapper, snapshot);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        log.close();
+    }
+
+    @Test
+    void recover_emptyDirectory() throws IOException {
+        assertThat(log.recover()).isEmpty();
+        assertThat(wal).exists();
+    }
+
+    @Test
+    void recover_replaysLogKeepingHighestValuePerKey() throws IOException {
+        log.recover();
+        log.append("alice", 10);
+        log.appendAll(List.of(Map.entry("bob", 5L), Map.entry("alice", 20L)));
+        log.append("alice", 15);
+        log.close();
+
+        assertThat(reopen().recover()).containsExactlyInAnyOrderEntriesOf(Map.of("alice", 20L, "bob", 5L));
+    }
+
+    @Test
+    void recover_cutsOffTornTailAndAppendsAfterIt() throws IOException {
+        log.recover();
+        log.append("alice", 10);
+        log.close();
+        var intact = Files.size(wal);
+        // Half a record: a length prefix and part of the key, as left behind by a crash mid-write.
+        Files.write(wal, ByteBuffer.allocate(6).putInt(5).put((byte) 'b').put((byte) 'o').array(), StandardOpenOption.APPEND);
+
+        var recovered = reopen();
+        assertThat(recovered.recover()).containsExactlyEntriesOf(Map.of("alice", 10L));
+        assertThat(Files.size(wal)).isEqualTo(intact);
+
+        recovered.append("bob", 7);
+        recovered.close();
+        assertThat(reopen().recover()).containsExactlyInAnyOrderEntriesOf(Map.of("alice", 10L, "bob", 7L));
+    }
+
+    @Test
+    void recover_stopsAtRecordWithBadChecksum() throws IOException {
+        log.recover();
+        log.append("alice", 10);
+        var firstRecord = Files.size(wal);
+        log.append("alice", 20);
+        log.close();
+        var bytes = Files.readAllBytes(wal);
+        bytes[bytes.length - 1] ^= 0x01;
+        Files.write(wal, bytes);
+
+        assertThat(reopen().recover()).containsExactlyEntriesOf(Map.of("alice", 10L));
+        assertThat(Files.size(wal)).isEqualTo(firstRecord);
+    }
+
+    @Test
+    void recover_treatsOversizedOrOverflowingKeyLengthAsTornRecord() throws IOException {
+        for (var keyLength : new int[]{ Integer.MAX_VALUE, Integer.MAX_VALUE - 4, ContractSequenceLog.MAX_KEY_BYTES + 1, -1 }) {
+            Files.write(wal, ByteBuffer.allocate(32).putInt(keyLength).array());
+
+            try (var recovered = new ContractSequenceLog(mapper, snapshot)) {
+                assertThat(recovered.recover()).isEmpty();
+                assertThat(Files.size(wal)).isZero();
+            }
+        }
+    }
+
+    @Test
+    void compact_writesSnapshotAndEmptiesLog() throws IOException {
+        log.recover();
+        log.append("alice", 10);
+        log.append("bob", 3);
+
+        log.compact(() -> Map.of("alice", 10L, "bob", 3L));
+
+        assertThat(log.size()).isZero();
+        assertThat(Files.size(wal)).isZero();
+        assertThat(snapshot).exists();
+        assertThat(directory.resolve("sequences.json.tmp")).doesNotExist();
+
+        log.append("alice", 12);
+        log.close();
+        assertThat(reopen().recover()).containsExactlyInAnyOrderEntriesOf(Map.of("alice", 12L, "bob", 3L));
+    }
+
+    @Test
+    void recover_keepsSnapshotValueWhenLogIsBehind() throws IOException {
+        log.recover();
+        log.compact(() -> Map.of("alice", 50L));
+        log.append("alice", 40);
+        log.close();
+
+        assertThat(reopen().recover()).containsExactlyEntriesOf(Map.of("alice", 50L));
+    }
+
+    @Test
+    void append_rejectsKeysLongerThanRecoveryAccepts() throws IOException {
+        log.recover();
+
+        assertThatThrownBy(() -> log.append("x".repeat(ContractSequenceLog.MAX_KEY_BYTES + 1), 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(log.size()).isZero();
+    }
+
+    @Test
+    void append_afterFailedWriteDropsTornBatchSoLaterRecordsSurvive() throws IOException {
+        var channel = new AtomicReference<FailingChannel>();
+        log = new ContractSequenceLog(mapper, snapshot, delegate -> {
+            channel.set(new FailingChannel(delegate));
+            return channel.get();
+        });
+        log.recover();
+        log.append("alice", 10);
+        var intact = log.size();
+
+        channel.get().failNextWriteAfter(6);
+        assertThatThrownBy(() -> log.appendAll(List.of(Map.entry("bob", 5L), Map.entry("alice", 20L))))
+                .isInstanceOf(IOException.class);
+        assertThat(log.size()).isEqualTo(intact);
+        assertThat(Files.size(wal)).isEqualTo(intact);
+
+        log.append("alice", 30);
+        log.close();
+        assertThat(reopen().recover()).containsExactlyEntriesOf(Map.of("alice", 30L));
+    }
+
+    @Test
+    void append_refusedWhenTornBatchCannotBeRemoved() throws IOException {
+        var channel = new AtomicReference<FailingChannel>();
+        log = new ContractSequenceLog(mapper, snapshot, delegate -> {
+            channel.set(new FailingChannel(delegate));
+            return channel.get();
+        });
+        log.recover();
+
+        channel.get().failNextWriteAfter(6);
+        channel.get().failTruncate = true;
+        assertThatThrownBy(() -> log.append("alice", 10)).isInstanceOf(IOException.class);
+
+        assertThatThrownBy(() -> log.append("alice", 20)).isInstanceOf(IOException.class);
+        assertThatThrownBy(log::checkWritable).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void size_tracksAppendedBytes() throws IOException {
+        log.recover();
+        log.append("alice", 1);
+
+        // length prefix + key + value + checksum
+        assertThat(log.size()).isEqualTo(Integer.BYTES + 5 + Long.BYTES + Integer.BYTES).isEqualTo(Files.size(wal));
+    }
+
+    private ContractSequenceLog reopen() {
+        log = new ContractSequenceLog(mapper, snapshot);
+        return log;
+    }
+
+    // Writes part of a record and then fails, as a full or failing disk would.
+    private static class FailingChannel extends FileChannel {
+        private final FileChannel delegate;
+        private int failAfterBytes = -1;
+        private boolean failTruncate;
+
+        FailingChannel(FileChannel delegate) {
+            this.delegate = delegate;
+        }
+
+        void failNextWriteAfter(int bytes) {
+            failAfterBytes = bytes;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            if (failAfterBytes == 0) {
+                failAfterBytes = -1;
+                throw new IOException("No space left on device");
+            }
+            if (failAfterBytes > 0) {
+                var partial = src.slice().limit(Math.min(failAfterBytes, src.remaining()));
+                var written = delegate.write(partial);
+                src.position(src.position() + written);
+                failAfterBytes = 0;
+                return written;
+            }
+            return delegate.write(src);
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            if (failTruncate) {
+                throw new IOException("Input/output error");
+            }
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return delegate.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return delegate.read(dsts, offset, length);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            return delegate.write(srcs, offset, length);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            delegate.force(metaData);
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return delegate.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return delegate.transferFrom(src, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return delegate.read(dst, position);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return delegate.write(src, position);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return delegate.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            delegate.close();
+        }
+    }
+}
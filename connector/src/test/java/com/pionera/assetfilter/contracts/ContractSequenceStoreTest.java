@@ -0,0 +1,169 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.contracts;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContractSequenceStoreTest {
+
+    private final InMemoryBackend backend = new InMemoryBackend();
+
+    @Test
+    void allocateNext_handsOutBlockWithOneReservation() throws Exception {
+        var store = new ContractSequenceStore(backend, 10);
+
+        for (long expected = 1; expected <= 10; expected++) {
+            assertThat(store.allocateNext("alice")).isEqualTo(expected);
+        }
+
+        assertThat(backend.reservations).isEqualTo(1);
+        assertThat(backend.current("alice")).isEqualTo(10);
+    }
+
+    @Test
+    void allocateNext_leasesNextBlockWhenExhausted() throws Exception {
+        var store = new ContractSequenceStore(backend, 5);
+        for (int i = 0; i < 5; i++) {
+            store.allocateNext("alice");
+        }
+
+        assertThat(store.allocateNext("alice")).isEqualTo(6);
+        assertThat(backend.reservations).isEqualTo(2);
+        assertThat(backend.current("alice")).isEqualTo(10);
+    }
+
+    @Test
+    void allocateBatch_largerThanBlockReservesWholeRange() throws Exception {
+        var store = new ContractSequenceStore(backend, 10);
+        store.allocateNext("alice");
+
+        assertThat(store.allocateBatch("alice", 25)).isEqualTo(2);
+        assertThat(store.allocateNext("alice")).isEqualTo(27);
+        assertThat(backend.current("alice")).isEqualTo(35);
+    }
+
+    @Test
+    void allocate_normalizesUserIds() throws Exception {
+        var store = new ContractSequenceStore(backend, 10);
+
+        store.allocateNext(" Alice ");
+
+        assertThat(store.allocateNext("alice")).isEqualTo(2);
+        assertThat(store.allocateNext(null)).isEqualTo(1);
+        assertThat(store.allocateNext("user")).isEqualTo(2);
+    }
+
+    @Test
+    void allocate_skipsIndicesLeasedByAnotherInstance() throws Exception {
+        var first = new ContractSequenceStore(backend, 10);
+        var second = new ContractSequenceStore(backend, 10);
+
+        assertThat(first.allocateNext("alice")).isEqualTo(1);
+        assertThat(second.allocateNext("alice")).isEqualTo(11);
+        for (int i = 0; i < 9; i++) {
+            first.allocateNext("alice");
+        }
+
+        assertThat(first.allocateNext("alice")).isEqualTo(21);
+    }
+
+    @Test
+    void leasedButUnusedIndicesBecomeGapsAfterRestart() throws Exception {
+        new ContractSequenceStore(backend, 10).allocateNext("alice");
+
+        var restarted = new ContractSequenceStore(backend, 10);
+
+        assertThat(restarted.peekNext("alice")).isEqualTo(11);
+        assertThat(restarted.allocateNext("alice")).isEqualTo(11);
+    }
+
+    @Test
+    void commitAtLeast_insideLeaseWritesNothing() throws Exception {
+        var store = new ContractSequenceStore(backend, 10);
+        store.allocateNext("alice");
+
+        store.commitAtLeast("alice", 6);
+
+        assertThat(backend.raises).isZero();
+        assertThat(store.allocateNext("alice")).isEqualTo(7);
+        assertThat(backend.reservations).isEqualTo(1);
+    }
+
+    @Test
+    void commitAtLeast_beyondLeaseRaisesBackendAndLeasesAfterIt() throws Exception {
+        var store = new ContractSequenceStore(backend, 10);
+        store.allocateNext("alice");
+
+        store.commitAtLeast("alice", 42);
+
+        assertThat(backend.current("alice")).isEqualTo(42);
+        assertThat(store.peekNext("alice")).isEqualTo(43);
+        assertThat(store.allocateNext("alice")).isEqualTo(43);
+    }
+
+    @Test
+    void commitAllAtLeast_raisesOnlyUsersOutsideTheirLeaseInOneWrite() throws Exception {
+        var store = new ContractSequenceStore(backend, 10);
+        store.allocateNext("alice");
+
+        store.commitAllAtLeast(Map.of("alice", 5L, "bob", 3L, "carol", 8L));
+
+        assertThat(backend.raises).isEqualTo(1);
+        assertThat(backend.lastRaise).containsOnlyKeys("bob", "carol");
+        assertThat(store.allocateNext("alice")).isEqualTo(6);
+        assertThat(store.allocateNext("bob")).isEqualTo(4);
+    }
+
+    private static class InMemoryBackend implements SequenceBackend {
+        private final Map<String, Long> values = new HashMap<>();
+        private int reservations;
+        private int raises;
+        private Map<String, Long> lastRaise;
+
+        @Override
+        public synchronized long reserve(String userId, long count) {
+            reservations++;
+            return values.merge(userId, count, Long::sum);
+        }
+
+        @Override
+        public synchronized void raiseTo(Map<String, Long> indices) {
+            if (indices.isEmpty()) {
+                return;
+            }
+            raises++;
+            lastRaise = Map.copyOf(indices);
+            indices.forEach((userId, index) -> values.merge(userId, index, Math::max));
+        }
+
+        @Override
+        public synchronized long current(String userId) {
+            return values.getOrDefault(userId, 0L);
+        }
+
+        @Override
+        public void checkWritable() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
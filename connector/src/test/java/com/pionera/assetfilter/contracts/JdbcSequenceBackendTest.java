@@ -0,0 +1,129 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.contracts;
+
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class JdbcSequenceBackendTest {
+
+    private static final String TABLE = "contract_sequences";
+
+    private final Monitor monitor = mock();
+    private String url;
+    private JdbcSequenceBackend backend;
+
+    @BeforeEach
+    void setUp() {
+        url = "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        backend = new JdbcSequenceBackend(monitor, url, null, null, TABLE, 4, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        backend.close();
+    }
+
+    @Test
+    void reserve_createsRowThenIncrements() throws Exception {
+        assertThat(backend.current("alice")).isZero();
+
+        assertThat(backend.reserve("alice", 10)).isEqualTo(10);
+        assertThat(backend.reserve("alice", 5)).isEqualTo(15);
+        assertThat(backend.current("alice")).isEqualTo(15);
+        assertThat(backend.current("bob")).isZero();
+    }
+
+    @Test
+    void raiseTo_onlyMovesHighWaterMarksUp() throws Exception {
+        backend.reserve("alice", 20);
+
+        backend.raiseTo(Map.of("alice", 12L, "bob", 7L));
+        assertThat(backend.current("alice")).isEqualTo(20);
+        assertThat(backend.current("bob")).isEqualTo(7);
+
+        backend.raiseTo(Map.of("alice", 30L));
+        assertThat(backend.current("alice")).isEqualTo(30);
+        assertThat(backend.reserve("alice", 1)).isEqualTo(31);
+    }
+
+    @Test
+    void instancesSharingTheTableNeverOverlap() throws Exception {
+        var other = new JdbcSequenceBackend(monitor, url, null, null, TABLE, 4, true);
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            var tasks = new ArrayList<Callable<Long>>();
+            for (int i = 0; i < 200; i++) {
+                var instance = i % 2 == 0 ? backend : other;
+                tasks.add(() -> instance.reserve("alice", 10));
+            }
+            var ends = new ArrayList<Long>();
+            for (Future<Long> result : executor.invokeAll(tasks)) {
+                ends.add(result.get());
+            }
+
+            // Every block (end - 10, end] is handed out exactly once.
+            assertThat(ends).doesNotHaveDuplicates().allMatch(end -> end % 10 == 0);
+            assertThat(backend.current("alice")).isEqualTo(2000);
+        } finally {
+            executor.shutdownNow();
+            other.close();
+        }
+    }
+
+    @Test
+    void storesOnTopOfTheBackendHandOutDisjointIndices() throws Exception {
+        var other = new JdbcSequenceBackend(monitor, url, null, null, TABLE, 1, false);
+        try {
+            var first = new ContractSequenceStore(backend, 10);
+            var second = new ContractSequenceStore(other, 10);
+
+            assertThat(first.allocateNext("alice")).isEqualTo(1);
+            assertThat(second.allocateNext("alice")).isEqualTo(11);
+            assertThat(first.allocateBatch("alice", 9)).isEqualTo(2);
+            assertThat(first.allocateNext("alice")).isEqualTo(21);
+        } finally {
+            other.close();
+        }
+    }
+
+    @Test
+    void checkWritable_failsWhenDatabaseIsUnreachable() {
+        var unreachable = new JdbcSequenceBackend(monitor, "jdbc:h2:mem:" + UUID.randomUUID() + ";IFEXISTS=TRUE", null, null, TABLE, 1, false);
+
+        assertThatThrownBy(unreachable::checkWritable).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void rejectsTableNamesThatAreNotPlainIdentifiers() {
+        assertThatThrownBy(() -> new JdbcSequenceBackend(monitor, url, null, null, "seq; DROP TABLE x", 1, true))
+                .isInstanceOf(EdcException.class);
+    }
+}
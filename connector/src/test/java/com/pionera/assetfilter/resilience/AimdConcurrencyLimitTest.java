@@ -0,0 +1,103 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AimdConcurrencyLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    @Test
+    void tryAcquire_rejectsAtLimit() {
+        var limit = new AimdConcurrencyLimit(2, 1, 10, 0.5, 100);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+        assertThat(limit.inFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void onResult_growsByOneWhileLimitIsInUse() {
+        var limit = new AimdConcurrencyLimit(4, 1, 10, 0.5, 100);
+        limit.tryAcquire();
+        limit.tryAcquire();
+
+        limit.onResult(false, FAST);
+
+        assertThat(limit.limit()).isEqualTo(5);
+        assertThat(limit.inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void onResult_doesNotGrowWhenMostlyIdle() {
+        var limit = new AimdConcurrencyLimit(4, 1, 10, 0.5, 100);
+        limit.tryAcquire();
+
+        limit.onResult(false, FAST);
+
+        assertThat(limit.limit()).isEqualTo(4);
+    }
+
+    @Test
+    void onResult_backsOffOnDropOrSlowCall() {
+        var limit = new AimdConcurrencyLimit(8, 1, 10, 0.5, 100);
+
+        limit.tryAcquire();
+        limit.onResult(true, FAST);
+        assertThat(limit.limit()).isEqualTo(4);
+
+        limit.tryAcquire();
+        limit.onResult(false, SLOW);
+        assertThat(limit.limit()).isEqualTo(2);
+    }
+
+    @Test
+    void limitStaysWithinBounds() {
+        var limit = new AimdConcurrencyLimit(3, 2, 4, 0.5, 100);
+        for (int i = 0; i < 5; i++) {
+            limit.tryAcquire();
+            limit.onResult(true, FAST);
+        }
+        assertThat(limit.limit()).isEqualTo(2);
+
+        for (int i = 0; i < 5; i++) {
+            limit.tryAcquire();
+            limit.tryAcquire();
+            limit.onResult(false, FAST);
+            limit.release();
+        }
+        assertThat(limit.limit()).isEqualTo(4);
+    }
+
+    @Test
+    void release_freesSlotWithoutAdjustingLimit() {
+        var limit = new AimdConcurrencyLimit(1, 1, 10, 0.5, 100);
+        limit.tryAcquire();
+
+        limit.release();
+        limit.release();
+
+        assertThat(limit.inFlight()).isZero();
+        assertThat(limit.limit()).isEqualTo(1);
+        assertThat(limit.tryAcquire()).isTrue();
+    }
+}
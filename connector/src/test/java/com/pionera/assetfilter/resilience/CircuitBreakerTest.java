@@ -0,0 +1,163 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.resilience;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CircuitBreakerTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final Clock clock = mock();
+
+    @BeforeEach
+    void setUp() {
+        when(clock.millis()).thenAnswer(invocation -> now.get());
+    }
+
+    @Test
+    void staysClosedUntilMinimumCallsRecorded() {
+        var breaker = breaker(10, 5, 0.5, 1.0, 2);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(breaker.tryAcquire()).isTrue();
+            breaker.onResult(true, FAST);
+        }
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void opensAtFailureRateAndRejectsUntilOpenPeriodElapsed() {
+        var breaker = breaker(4, 4, 0.5, 1.0, 2);
+
+        record(breaker, true, true, false, false);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.retryAfterMillis()).isEqualTo(30_000);
+
+        now.addAndGet(10_000);
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.retryAfterMillis()).isEqualTo(20_000);
+    }
+
+    @Test
+    void opensAtSlowCallRate() {
+        var breaker = breaker(4, 4, 1.0, 0.5, 2);
+
+        for (var duration : new long[]{ SLOW, SLOW, FAST, FAST }) {
+            breaker.tryAcquire();
+            breaker.onResult(false, duration);
+        }
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void windowForgetsOutcomesOlderThanWindowSize() {
+        var breaker = breaker(4, 4, 0.75, 1.0, 2);
+
+        record(breaker, true, true, false, false, false, true);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        record(breaker, true, true);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void halfOpenAdmitsLimitedTrialsAndClosesWhenAllSucceed() {
+        var breaker = open(breaker(4, 4, 0.5, 1.0, 2));
+        now.addAndGet(30_000);
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        breaker.onResult(false, FAST);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        breaker.onResult(false, FAST);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void failedOrSlowTrialReopens() {
+        var breaker = open(breaker(4, 4, 0.5, 1.0, 2));
+        now.addAndGet(30_000);
+        breaker.tryAcquire();
+
+        breaker.onResult(false, SLOW);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.retryAfterMillis()).isEqualTo(30_000);
+    }
+
+    @Test
+    void ignoredTrialGivesItsSlotBack() {
+        var breaker = open(breaker(4, 4, 0.5, 1.0, 1));
+        now.addAndGet(30_000);
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        breaker.onIgnored();
+
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void closedBreakerStartsWithEmptyWindow() {
+        var breaker = open(breaker(4, 4, 0.5, 1.0, 1));
+        now.addAndGet(30_000);
+        breaker.tryAcquire();
+        breaker.onResult(false, FAST);
+
+        record(breaker, true, false, false);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    private CircuitBreaker breaker(int windowSize, int minimumCalls, double failureRate, double slowCallRate, int halfOpenCalls) {
+        return new CircuitBreaker(clock, windowSize, minimumCalls, failureRate, slowCallRate, 100, 30_000, halfOpenCalls);
+    }
+
+    private CircuitBreaker open(CircuitBreaker breaker) {
+        while (breaker.state() != CircuitBreaker.State.OPEN) {
+            breaker.tryAcquire();
+            breaker.onResult(true, FAST);
+        }
+        return breaker;
+    }
+
+    private void record(CircuitBreaker breaker, boolean... failures) {
+        for (var failed : failures) {
+            assertThat(breaker.tryAcquire()).isTrue();
+            breaker.onResult(failed, FAST);
+        }
+    }
+}
@@ -16,6 +16,8 @@ package com.pionera.assetfilter.contracts;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pionera.assetfilter.json.JsonCodec;
+import com.pionera.assetfilter.observability.MetricsRegistry;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
@@ -23,35 +25,45 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.eclipse.edc.spi.monitor.Monitor;
-import org.eclipse.edc.spi.types.TypeManager;
+
+import java.util.LinkedHashMap;
 
 @Path("/contract-sequences")
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
 public class ContractSequenceController {
+    private static final int MAX_BATCH_SIZE = 10_000;
+
+    private final JsonCodec json;
     private final ObjectMapper mapper;
     private final ContractSequenceStore store;
     private final Monitor monitor;
+    private final MetricsRegistry.Histogram storeLatency;
 
-    public ContractSequenceController(TypeManager typeManager, ContractSequenceStore store, Monitor monitor) {
-        this.mapper = typeManager.getMapper();
+    public ContractSequenceController(JsonCodec json, ContractSequenceStore store, Monitor monitor, MetricsRegistry metrics) {
+        this.json = json;
+        this.mapper = json.mapper();
         this.store = store;
         this.monitor = monitor;
+        this.storeLatency = metrics.histogram("asset_contract_sequence_duration_seconds",
+                "Time the contract sequence store takes to allocate or commit indices, including durable writes.", "operation");
     }
 
     @POST
     @Path("/next")
-    public Response next(String requestBody) {
+    public Response next(byte[] requestBody) {
         try {
-            var userId = extractUserId(requestBody);
+            var userId = parseRequestPayload(parse(requestBody)).userId();
+            var started = System.nanoTime();
             var index = store.allocateNext(userId);
+            storeLatency.observeSince(started, "next");
             var contractDefinitionId = userId + "~" + index;
 
             var response = mapper.createObjectNode();
             response.put("userId", userId);
             response.put("index", index);
             response.put("contractDefinitionId", contractDefinitionId);
-            return Response.ok(mapper.writeValueAsString(response)).build();
+            return Response.ok(json.writeBytes(response)).build();
         } catch (Exception e) {
             monitor.warning("Failed to allocate next contract ID: " + e.getMessage());
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
@@ -60,11 +72,44 @@ public class ContractSequenceController {
         }
     }
 
+    @POST
+    @Path("/next-batch")
+    public Response nextBatch(byte[] requestBody) {
+        try {
+            var root = parse(requestBody);
+            var userId = parseRequestPayload(root).userId();
+            var count = extractCount(root);
+            if (count <= 0 || count > MAX_BATCH_SIZE) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("{\"error\":\"count must be an integer between 1 and " + MAX_BATCH_SIZE + "\"}")
+                        .build();
+            }
+            var started = System.nanoTime();
+            var firstIndex = store.allocateBatch(userId, count);
+            storeLatency.observeSince(started, "next_batch");
+            var lastIndex = firstIndex + count - 1;
+
+            var response = mapper.createObjectNode();
+            response.put("userId", userId);
+            response.put("count", count);
+            response.put("firstIndex", firstIndex);
+            response.put("lastIndex", lastIndex);
+            response.put("firstContractDefinitionId", userId + "~" + firstIndex);
+            response.put("lastContractDefinitionId", userId + "~" + lastIndex);
+            return Response.ok(json.writeBytes(response)).build();
+        } catch (Exception e) {
+            monitor.warning("Failed to allocate contract ID batch: " + e.getMessage());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity("{\"error\":\"Failed to allocate contract ID batch\"}")
+                    .build();
+        }
+    }
+
     @POST
     @Path("/peek")
-    public Response peek(String requestBody) {
+    public Response peek(byte[] requestBody) {
         try {
-            var userId = extractUserId(requestBody);
+            var userId = parseRequestPayload(parse(requestBody)).userId();
             var index = store.peekNext(userId);
             var contractDefinitionId = userId + "~" + index;
 
@@ -72,7 +117,7 @@ public class ContractSequenceController {
             response.put("userId", userId);
             response.put("index", index);
             response.put("contractDefinitionId", contractDefinitionId);
-            return Response.ok(mapper.writeValueAsString(response)).build();
+            return Response.ok(json.writeBytes(response)).build();
         } catch (Exception e) {
             monitor.warning("Failed to peek next contract ID: " + e.getMessage());
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
@@ -83,9 +128,9 @@ public class ContractSequenceController {
 
     @POST
     @Path("/commit")
-    public Response commit(String requestBody) {
+    public Response commit(byte[] requestBody) {
         try {
-            var payload = parseRequestPayload(requestBody);
+            var payload = parseRequestPayload(parse(requestBody));
             var userId = payload.userId();
             var index = payload.index();
             if (index <= 0) {
@@ -94,12 +139,14 @@ public class ContractSequenceController {
                         .build();
             }
 
+            var started = System.nanoTime();
             store.commitAtLeast(userId, index);
+            storeLatency.observeSince(started, "commit");
 
             var response = mapper.createObjectNode();
             response.put("userId", userId);
             response.put("committedIndex", index);
-            return Response.ok(mapper.writeValueAsString(response)).build();
+            return Response.ok(json.writeBytes(response)).build();
         } catch (Exception e) {
             monitor.warning("Failed to commit contract ID index: " + e.getMessage());
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
@@ -108,16 +155,76 @@ public class ContractSequenceController {
         }
     }
 
-    private String extractUserId(String requestBody) {
-        return parseRequestPayload(requestBody).userId();
+    @POST
+    @Path("/commit-batch")
+    public Response commitBatch(byte[] requestBody) {
+        try {
+            var root = parse(requestBody);
+            var commits = root != null && root.isObject() ? root.get("commits") : root;
+            if (commits == null || !commits.isArray() || commits.isEmpty() || commits.size() > MAX_BATCH_SIZE) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("{\"error\":\"commits must be a non-empty array of {userId, index}\"}")
+                        .build();
+            }
+
+            // Several commits for the same user collapse to the highest index.
+            var indices = new LinkedHashMap<String, Long>();
+            for (var commit : commits) {
+                var payload = parseRequestPayload(commit);
+                if (payload.index() <= 0) {
+                    return Response.status(Response.Status.BAD_REQUEST)
+                            .entity("{\"error\":\"index must be greater than zero\"}")
+                            .build();
+                }
+                indices.merge(payload.userId(), payload.index(), Math::max);
+            }
+
+            var started = System.nanoTime();
+            store.commitAllAtLeast(indices);
+            storeLatency.observeSince(started, "commit_batch");
+
+            var response = mapper.createObjectNode();
+            var committed = response.putArray("committed");
+            indices.forEach((userId, index) -> {
+                var entry = committed.addObject();
+                entry.put("userId", userId);
+                entry.put("committedIndex", index);
+            });
+            return Response.ok(json.writeBytes(response)).build();
+        } catch (Exception e) {
+            monitor.warning("Failed to commit contract ID batch: " + e.getMessage());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity("{\"error\":\"Failed to commit contract ID batch\"}")
+                    .build();
+        }
+    }
+
+    // Each body is parsed once; null when it is not valid JSON, a missing node when it is empty.
+    private JsonNode parse(byte[] requestBody) {
+        try {
+            return json.readTree(requestBody);
+        } catch (Exception ignored) {
+            return null;
+        }
+    }
+
+    private int extractCount(JsonNode root) {
+        if (root == null) {
+            return 0;
+        }
+        var countNode = root.get("count");
+        if (countNode == null || countNode.isNull()) {
+            return 1;
+        }
+        // Strings, fractions and values outside the int range are rejected rather than coerced or defaulted.
+        return countNode.isInt() ? countNode.intValue() : 0;
     }
 
-    private SequencePayload parseRequestPayload(String requestBody) {
+    private SequencePayload parseRequestPayload(JsonNode root) {
         try {
-            if (requestBody == null || requestBody.isBlank()) {
+            if (root == null) {
                 return new SequencePayload("user", 0L);
             }
-            JsonNode root = mapper.readTree(requestBody);
             var userIdNode = root.get("userId");
             var indexNode = root.get("index");
 
@@ -14,6 +14,10 @@
 
 package com.pionera.assetfilter.contracts;
 
+import com.pionera.assetfilter.json.JsonCodec;
+import com.pionera.assetfilter.observability.HealthCheck;
+import com.pionera.assetfilter.observability.HealthCheckRegistry;
+import com.pionera.assetfilter.observability.MetricsRegistry;
 import org.eclipse.edc.runtime.metamodel.annotation.Inject;
 import org.eclipse.edc.spi.monitor.Monitor;
 import org.eclipse.edc.spi.system.ServiceExtension;
@@ -21,6 +25,8 @@ import org.eclipse.edc.spi.system.ServiceExtensionContext;
 import org.eclipse.edc.spi.types.TypeManager;
 import org.eclipse.edc.web.spi.WebService;
 
+import java.util.EnumSet;
+
 public class ContractSequenceExtension implements ServiceExtension {
 
     @Inject
@@ -28,7 +34,15 @@ public class ContractSequenceExtension implements ServiceExtension {
     @Inject
     private TypeManager typeManager;
     @Inject
+    private JsonCodec json;
+    @Inject
     private Monitor monitor;
+    @Inject
+    private HealthCheckRegistry healthChecks;
+    @Inject
+    private MetricsRegistry metrics;
+
+    private ContractSequenceStore store;
 
     @Override
     public void initialize(ServiceExtensionContext context) {
@@ -37,9 +51,37 @@ public class ContractSequenceExtension implements ServiceExtension {
                 "./.state/contract-sequences.json"
         );
 
-        var store = new ContractSequenceStore(typeManager.getMapper(), monitor, storagePath);
-        webService.registerResource(new ContractSequenceController(typeManager, store, monitor));
+        var blockSize = context.getConfig().getLong("asset.contract.sequence.block.size", 1L);
+
+        store = new ContractSequenceStore(createBackend(context, storagePath), blockSize);
+        webService.registerResource(new ContractSequenceController(json, store, monitor, metrics));
+        healthChecks.register("contract-sequence-store", EnumSet.of(HealthCheckRegistry.Probe.READINESS, HealthCheckRegistry.Probe.STARTUP), () -> {
+            store.checkWritable();
+            return HealthCheck.Result.healthy("writable");
+        });
         monitor.info("Contract sequence endpoint ready at /api/contract-sequences/next (storage: " + storagePath + ")");
     }
-}
 
+    private SequenceBackend createBackend(ServiceExtensionContext context, String storagePath) {
+        var config = context.getConfig();
+        var backend = config.getString("asset.contract.sequence.backend", "file");
+        if ("jdbc".equalsIgnoreCase(backend)) {
+            return new JdbcSequenceBackend(monitor,
+                    config.getString("asset.contract.sequence.jdbc.url"),
+                    config.getString("asset.contract.sequence.jdbc.user", null),
+                    config.getString("asset.contract.sequence.jdbc.password", null),
+                    config.getString("asset.contract.sequence.jdbc.table", "contract_sequences"),
+                    config.getInteger("asset.contract.sequence.jdbc.pool.size", 4),
+                    config.getBoolean("asset.contract.sequence.jdbc.create.schema", true));
+        }
+        var compactThresholdBytes = config.getLong("asset.contract.sequence.wal.compact.bytes", 1048576L);
+        return new FileSequenceBackend(typeManager.getMapper(), monitor, storagePath, compactThresholdBytes);
+    }
+
+    @Override
+    public void shutdown() {
+        if (store != null) {
+            store.close();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+package com.pionera.assetfilter.contracts;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.monitor.Monitor;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-instance backend: high-water marks in memory, made durable through {@link ContractSequenceLog}.
+ */
+class FileSequenceBackend implements SequenceBackend {
+    private final Monitor monitor;
+    private final Path storagePath;
+    private final ContractSequenceLog log;
+    private final long compactThresholdBytes;
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        var thread = new Thread(runnable, "contract-sequence-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, AtomicLong> highWaterMarks = new ConcurrentHashMap<>();
+
+    FileSequenceBackend(ObjectMapper mapper, Monitor monitor, String storageFilePath, long compactThresholdBytes) {
+        this.monitor = monitor;
+        this.storagePath = Path.of(storageFilePath);
+        this.log = new ContractSequenceLog(mapper, storagePath);
+        this.compactThresholdBytes = compactThresholdBytes;
+        load();
+    }
+
+    @Override
+    public long reserve(String userId, long count) throws IOException {
+        var highWaterMark = highWaterMark(userId);
+        synchronized (highWaterMark) {
+            var reserved = highWaterMark.addAndGet(count);
+            append(Map.of(userId, reserved));
+            return reserved;
+        }
+    }
+
+    @Override
+    public void raiseTo(Map<String, Long> indices) throws IOException {
+        var records = new TreeMap<String, Long>();
+        indices.forEach((userId, index) -> {
+            if (index > highWaterMark(userId).getAndAccumulate(index, Math::max)) {
+                records.put(userId, index);
+            }
+        });
+        append(records);
+    }
+
+    @Override
+    public long current(String userId) {
+        var highWaterMark = highWaterMarks.get(userId);
+        return highWaterMark == null ? 0L : highWaterMark.get();
+    }
+
+    @Override
+    public void checkWritable() throws IOException {
+        log.checkWritable();
+    }
+
+    @Override
+    public void close() {
+        compactor.shutdown();
+        try {
+            compact();
+            log.close();
+        } catch (IOException e) {
+            monitor.warning("Failed to close contract sequence log: " + e.getMessage());
+        }
+    }
+
+    private AtomicLong highWaterMark(String userId) {
+        return highWaterMarks.computeIfAbsent(userId, ignored -> new AtomicLong());
+    }
+
+    // Records carry absolute high-water marks and replay keeps the maximum per user. Memory is always raised
+    // before the record is written, so a concurrent compaction snapshot can only be ahead of the log, never behind.
+    private void append(Map<String, Long> records) throws IOException {
+        log.appendAll(new ArrayList<>(records.entrySet()));
+        if (log.size() >= compactThresholdBytes && compacting.compareAndSet(false, true)) {
+            compactor.execute(() -> {
+                try {
+                    compact();
+                } catch (IOException e) {
+                    monitor.warning("Failed to compact contract sequence log: " + e.getMessage());
+                } finally {
+                    compacting.set(false);
+                }
+            });
+        }
+    }
+
+    private void compact() throws IOException {
+        log.compact(() -> {
+            var snapshot = new TreeMap<String, Long>();
+            highWaterMarks.forEach((user, highWaterMark) -> snapshot.put(user, highWaterMark.get()));
+            return snapshot;
+        });
+    }
+
+    // Starting from zero after a failed recovery would hand out ids again, so an unreadable state fails startup.
+    private void load() {
+        try {
+            var loaded = log.recover();
+            loaded.forEach((user, value) -> highWaterMarks.put(user, new AtomicLong(value)));
+            monitor.info("Loaded " + loaded.size() + " contract sequence counters from " + storagePath);
+        } catch (IOException e) {
+            throw new EdcException("Failed to load contract sequence counters from " + storagePath, e);
+        }
+    }
+}
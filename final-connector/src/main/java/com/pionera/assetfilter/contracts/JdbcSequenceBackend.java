@@ -0,0 +1,239 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+package com.pionera.assetfilter.contracts;
+
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.monitor.Monitor;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.regex.Pattern;
+
+/**
+ * Backend shared by several connector instances through one SQL table. {@link #reserve} increments the row
+ * inside a transaction, so the row lock serializes concurrent reservations for the same user across
+ * instances; combined with block leasing there is one round trip per block instead of per index.
+ * Uses only portable SQL, so it runs on H2, SQLite and PostgreSQL alike.
+ */
+class JdbcSequenceBackend implements SequenceBackend {
+
+    private static final Pattern TABLE_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_.]*");
+    private static final int MAX_INSERT_ATTEMPTS = 3;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final BlockingQueue<Connection> connections;
+    private final String selectSql;
+    private final String incrementSql;
+    private final String raiseSql;
+    private final String insertSql;
+
+    JdbcSequenceBackend(Monitor monitor, String url, String user, String password, String table, int poolSize, boolean createSchema) {
+        if (!TABLE_NAME.matcher(table).matches()) {
+            throw new EdcException("Invalid contract sequence table name: " + table);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.connections = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+        this.selectSql = "SELECT seq_value FROM " + table + " WHERE user_id = ?";
+        this.incrementSql = "UPDATE " + table + " SET seq_value = seq_value + ? WHERE user_id = ?";
+        this.raiseSql = "UPDATE " + table + " SET seq_value = ? WHERE user_id = ? AND seq_value < ?";
+        this.insertSql = "INSERT INTO " + table + " (user_id, seq_value) VALUES (?, ?)";
+
+        if (createSchema) {
+            try (var connection = open(); var statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE IF NOT EXISTS " + table + " (user_id VARCHAR(255) PRIMARY KEY, seq_value BIGINT NOT NULL)");
+                connection.commit();
+            } catch (SQLException e) {
+                throw new EdcException("Failed to create contract sequence table " + table, e);
+            }
+        }
+        monitor.info("Contract sequences stored in table " + table + " at " + url);
+    }
+
+    @Override
+    public long reserve(String userId, long count) throws IOException {
+        var connection = borrow();
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    if (!updateIncrement(connection, userId, count)) {
+                        insert(connection, userId, count);
+                    }
+                    var reserved = select(connection, userId);
+                    connection.commit();
+                    return reserved;
+                } catch (SQLException e) {
+                    rollback(connection);
+                    // Another instance inserted the row first; the increment succeeds on retry.
+                    if (!isDuplicateKey(e) || attempt >= MAX_INSERT_ATTEMPTS) {
+                        throw new IOException("Failed to reserve contract sequence block for " + userId, e);
+                    }
+                }
+            }
+        } finally {
+            release(connection);
+        }
+    }
+
+    @Override
+    public void raiseTo(Map<String, Long> indices) throws IOException {
+        if (indices.isEmpty()) {
+            return;
+        }
+        var connection = borrow();
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    // Fixed key order keeps row locks from deadlocking against another instance's batch.
+                    for (var entry : new TreeMap<>(indices).entrySet()) {
+                        raise(connection, entry.getKey(), entry.getValue());
+                    }
+                    connection.commit();
+                    return;
+                } catch (SQLException e) {
+                    rollback(connection);
+                    if (!isDuplicateKey(e) || attempt >= MAX_INSERT_ATTEMPTS) {
+                        throw new IOException("Failed to commit contract sequence indices", e);
+                    }
+                }
+            }
+        } finally {
+            release(connection);
+        }
+    }
+
+    @Override
+    public long current(String userId) throws IOException {
+        var connection = borrow();
+        try {
+            var value = select(connection, userId);
+            connection.commit();
+            return value;
+        } catch (SQLException e) {
+            rollback(connection);
+            throw new IOException("Failed to read contract sequence for " + userId, e);
+        } finally {
+            release(connection);
+        }
+    }
+
+    // Borrowing validates the connection, or opens a new one.
+    @Override
+    public void checkWritable() throws IOException {
+        release(borrow());
+    }
+
+    @Override
+    public void close() {
+        Connection connection;
+        while ((connection = connections.poll()) != null) {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // shutting down
+            }
+        }
+    }
+
+    private void raise(Connection connection, String userId, long index) throws SQLException {
+        try (var statement = connection.prepareStatement(raiseSql)) {
+            statement.setLong(1, index);
+            statement.setString(2, userId);
+            statement.setLong(3, index);
+            if (statement.executeUpdate() > 0 || select(connection, userId) > 0) {
+                return;
+            }
+        }
+        insert(connection, userId, index);
+    }
+
+    private boolean updateIncrement(Connection connection, String userId, long count) throws SQLException {
+        try (var statement = connection.prepareStatement(incrementSql)) {
+            statement.setLong(1, count);
+            statement.setString(2, userId);
+            return statement.executeUpdate() > 0;
+        }
+    }
+
+    private void insert(Connection connection, String userId, long value) throws SQLException {
+        try (var statement = connection.prepareStatement(insertSql)) {
+            statement.setString(1, userId);
+            statement.setLong(2, value);
+            statement.executeUpdate();
+        }
+    }
+
+    private long select(Connection connection, String userId) throws SQLException {
+        try (var statement = connection.prepareStatement(selectSql)) {
+            statement.setString(1, userId);
+            try (var resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : 0L;
+            }
+        }
+    }
+
+    private boolean isDuplicateKey(SQLException e) {
+        var state = e.getSQLState();
+        return state != null && state.startsWith("23");
+    }
+
+    private Connection borrow() throws IOException {
+        var connection = connections.poll();
+        try {
+            if (connection != null && connection.isValid(1)) {
+                return connection;
+            }
+            if (connection != null) {
+                connection.close();
+            }
+            return open();
+        } catch (SQLException e) {
+            throw new IOException("Failed to connect to contract sequence database", e);
+        }
+    }
+
+    // Connections beyond the pool size are closed instead of kept.
+    private void release(Connection connection) {
+        if (!connections.offer(connection)) {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // already unusable
+            }
+        }
+    }
+
+    private void rollback(Connection connection) {
+        try {
+            connection.rollback();
+        } catch (SQLException ignored) {
+            // the connection is validated again before its next use
+        }
+    }
+
+    private Connection open() throws SQLException {
+        var connection = user == null || user.isBlank() ? DriverManager.getConnection(url) : DriverManager.getConnection(url, user, password);
+        connection.setAutoCommit(false);
+        return connection;
+    }
+}
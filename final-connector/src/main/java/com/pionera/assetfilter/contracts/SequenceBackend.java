@@ -0,0 +1,44 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+package com.pionera.assetfilter.contracts;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Durable source of contract sequence high-water marks. A value is the highest index reserved for a user;
+ * implementations shared by several connector instances must make {@link #reserve} atomic across them.
+ */
+interface SequenceBackend {
+
+    /**
+     * Atomically raises the user's high-water mark by {@code count} and returns the new value; the caller owns
+     * the indices {@code (result - count, result]}.
+     */
+    long reserve(String userId, long count) throws IOException;
+
+    /**
+     * Raises each user's high-water mark to at least the given index, in as few durable writes as possible.
+     */
+    void raiseTo(Map<String, Long> indices) throws IOException;
+
+    long current(String userId) throws IOException;
+
+    /**
+     * Fails when a reservation could not be made durable right now; used by the readiness check.
+     */
+    void checkWritable() throws IOException;
+
+    void close();
+}
@@ -0,0 +1,48 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.contracts;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one durable write of the contract sequence backend.
+ */
+@Name("com.pionera.assetfilter.SequencePersist")
+@Label("Contract Sequence Persist")
+@Category({ "Asset Filter", "Contract Sequences" })
+@Description("Durable reservation or raise of contract sequence high-water marks")
+@StackTrace(false)
+class SequencePersistEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Backend")
+    String backend;
+
+    @Label("Users")
+    int users;
+
+    @Label("Indices")
+    @Description("Indices reserved, for a reservation")
+    long indices;
+
+    @Label("Succeeded")
+    boolean succeeded;
+}
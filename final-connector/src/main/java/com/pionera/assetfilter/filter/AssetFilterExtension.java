@@ -14,11 +14,13 @@
 
 package com.pionera.assetfilter.filter;
 
+import com.pionera.assetfilter.json.JsonCodec;
+import com.pionera.assetfilter.observability.MetricsRegistry;
+import com.pionera.assetfilter.observability.Tracing;
 import org.eclipse.edc.runtime.metamodel.annotation.Inject;
 import org.eclipse.edc.spi.monitor.Monitor;
 import org.eclipse.edc.spi.system.ServiceExtension;
 import org.eclipse.edc.spi.system.ServiceExtensionContext;
-import org.eclipse.edc.spi.types.TypeManager;
 import org.eclipse.edc.web.spi.WebService;
 
 public class AssetFilterExtension implements ServiceExtension {
@@ -26,9 +28,13 @@ public class AssetFilterExtension implements ServiceExtension {
     @Inject
     private WebService webService;
     @Inject
-    private TypeManager typeManager;
+    private JsonCodec json;
     @Inject
     private Monitor monitor;
+    @Inject
+    private MetricsRegistry metrics;
+    @Inject
+    private Tracing tracing;
 
     @Override
     public void initialize(ServiceExtensionContext context) {
@@ -36,8 +42,8 @@ public class AssetFilterExtension implements ServiceExtension {
         var hostname = config.getString("edc.hostname", "localhost");
         var managementPort = config.getInteger("web.http.management.port", 29193);
         var managementPath = config.getString("web.http.management.path", "/management");
-        var managementBaseUrl = "http://" + hostname + ":" + managementPort + managementPath;
+        var managementBaseUrl = config.getString("asset.management.url", "http://" + hostname + ":" + managementPort + managementPath);
 
-        webService.registerResource(new AssetFilterController(typeManager, monitor, managementBaseUrl));
+        webService.registerResource(new AssetFilterController(json, monitor, managementBaseUrl, metrics, tracing));
     }
 }
@@ -0,0 +1,479 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.filter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.pionera.assetfilter.jsonld.JsonLdTerm;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The filtering, search and sorting applied by {@code /filter/catalog} to the datasets of a catalog, free of any
+ * HTTP concerns so it can be benchmarked on its own. Query parameters follow the controller's contract.
+ */
+public class CatalogFilterEngine {
+
+    private static final Set<String> DAIMO_FILTER_KEYS = Set.of(
+            "task", "license", "tag", "tags", "library", "dataset", "language", "base_model", "name"
+    );
+    private static final JsonLdTerm DATASETS = JsonLdTerm.of("dcat:dataset", "dataset", "datasets");
+    private static final JsonLdTerm PROPERTIES = JsonLdTerm.of("properties");
+    private static final List<List<JsonLdTerm>> SEARCH_PATHS = List.of(
+            resolvePath("name"), resolvePath("id"), resolvePath("daimo:tags"), resolvePath("daimo:pipeline_tag"),
+            resolvePath("daimo:base_model"), resolvePath("daimo:library_name")
+    );
+
+    private final ObjectMapper mapper;
+
+    public CatalogFilterEngine(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    public List<JsonNode> extractDatasets(JsonNode catalog) {
+        var datasetsNode = DATASETS.find(catalog);
+        var result = new ArrayList<JsonNode>();
+        if (datasetsNode == null || datasetsNode.isNull()) {
+            return result;
+        }
+        if (datasetsNode.isArray()) {
+            datasetsNode.forEach(result::add);
+        } else {
+            result.add(datasetsNode);
+        }
+        return result;
+    }
+
+    public JsonNode rebuildCatalog(JsonNode original, List<JsonNode> datasets) {
+        var root = original.deepCopy();
+        if (root instanceof ObjectNode obj) {
+            var array = mapper.createArrayNode();
+            datasets.forEach(array::add);
+            obj.set("dcat:dataset", array);
+            obj.set("dataset", array);
+            return obj;
+        }
+        return original;
+    }
+
+    public List<JsonNode> applyFilters(List<JsonNode> datasets, Map<String, List<String>> queryParams) {
+        if (queryParams == null || queryParams.isEmpty()) {
+            return datasets;
+        }
+
+        var filters = new ArrayList<FilterCondition>();
+        var profile = firstQueryValue(queryParams, "profile");
+
+        for (Map.Entry<String, List<String>> entry : queryParams.entrySet()) {
+            var key = entry.getKey();
+            if (key == null) {
+                continue;
+            }
+            if (key.equalsIgnoreCase("profile") || key.equalsIgnoreCase("sort") || key.equalsIgnoreCase("order")) {
+                continue;
+            }
+
+            if (key.equalsIgnoreCase("filter")) {
+                for (var raw : entry.getValue()) {
+                    var parsed = parseFilterExpression(raw);
+                    if (parsed != null) {
+                        filters.add(parsed);
+                    }
+                }
+                continue;
+            }
+
+            if (key.equalsIgnoreCase("q")) {
+                filters.add(new FilterCondition("q", "~", List.of(entry.getValue().get(0)), List.of()));
+                continue;
+            }
+
+            if ("daimo".equalsIgnoreCase(profile) && DAIMO_FILTER_KEYS.contains(key.toLowerCase(Locale.ROOT))) {
+                var daimoKey = mapDaimoKey(key);
+                filters.add(new FilterCondition(daimoKey, "=", splitValues(entry.getValue()), resolvePath(daimoKey)));
+                continue;
+            }
+        }
+
+        if (filters.isEmpty()) {
+            return datasets;
+        }
+
+        var event = new CatalogFilterEvent();
+        event.begin();
+        var result = new ArrayList<JsonNode>();
+        for (JsonNode dataset : datasets) {
+            if (matchesAll(dataset, filters)) {
+                result.add(dataset);
+            }
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = "filter";
+            event.criteria = filters.stream()
+                    .map(filter -> filter.key() + filter.operator() + String.join(",", filter.values()))
+                    .collect(Collectors.joining(" "));
+            event.datasetsIn = datasets.size();
+            event.datasetsOut = result.size();
+            event.commit();
+        }
+        return result;
+    }
+
+    private boolean matchesAll(JsonNode dataset, List<FilterCondition> filters) {
+        for (FilterCondition filter : filters) {
+            if (!matches(dataset, filter)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean matches(JsonNode dataset, FilterCondition filter) {
+        if (filter.key.equals("q")) {
+            return matchesSearch(dataset, filter.values.get(0));
+        }
+
+        var values = extractValues(dataset, filter.path);
+        if (values.isEmpty()) {
+            return false;
+        }
+
+        return switch (filter.operator) {
+            case "~" -> matchesContains(values, filter.values);
+            case "=", "==" -> matchesEquals(values, filter.values);
+            case ">", ">=", "<", "<=" -> matchesRange(values, filter.operator, filter.values);
+            default -> false;
+        };
+    }
+
+    private boolean matchesSearch(JsonNode dataset, String query) {
+        if (query == null || query.isBlank()) {
+            return true;
+        }
+        var q = query.toLowerCase(Locale.ROOT);
+        for (var path : SEARCH_PATHS) {
+            if (containsValue(extractValues(dataset, path), q)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesContains(List<JsonNode> values, List<String> targets) {
+        for (String target : targets) {
+            if (target == null) {
+                continue;
+            }
+            var q = target.toLowerCase(Locale.ROOT);
+            if (containsValue(values, q)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean containsValue(List<JsonNode> values, String query) {
+        for (JsonNode value : values) {
+            if (value == null || value.isNull()) {
+                continue;
+            }
+            if (value.isTextual()) {
+                if (value.asText().toLowerCase(Locale.ROOT).contains(query)) {
+                    return true;
+                }
+            } else if (value.isNumber()) {
+                if (String.valueOf(value.asDouble()).contains(query)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesEquals(List<JsonNode> values, List<String> targets) {
+        for (String target : targets) {
+            if (target == null) {
+                continue;
+            }
+            for (JsonNode value : values) {
+                if (value == null || value.isNull()) {
+                    continue;
+                }
+                if (value.isNumber() && isNumeric(target)) {
+                    if (Double.compare(value.asDouble(), Double.parseDouble(target)) == 0) {
+                        return true;
+                    }
+                } else {
+                    if (value.asText().equalsIgnoreCase(target)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesRange(List<JsonNode> values, String operator, List<String> targets) {
+        if (targets.isEmpty()) {
+            return false;
+        }
+        var threshold = targets.get(0);
+        if (!isNumeric(threshold)) {
+            return false;
+        }
+        var limit = Double.parseDouble(threshold);
+        for (JsonNode value : values) {
+            if (value == null || value.isNull() || !value.isNumber()) {
+                continue;
+            }
+            var numeric = value.asDouble();
+            boolean ok = switch (operator) {
+                case ">" -> numeric > limit;
+                case ">=" -> numeric >= limit;
+                case "<" -> numeric < limit;
+                case "<=" -> numeric <= limit;
+                default -> false;
+            };
+            if (ok) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public List<JsonNode> applySorting(List<JsonNode> datasets, Map<String, List<String>> queryParams) {
+        var sortKey = firstQueryValue(queryParams, "sort");
+        if (sortKey == null || sortKey.isBlank()) {
+            return datasets;
+        }
+        var order = Optional.ofNullable(firstQueryValue(queryParams, "order"))
+                .map(s -> s.toLowerCase(Locale.ROOT))
+                .orElse("asc");
+
+        var event = new CatalogFilterEvent();
+        event.begin();
+        // Each dataset's sort value is extracted once, not on every comparison.
+        var path = resolvePath(sortKey);
+        var entries = new ArrayList<SortEntry>(datasets.size());
+        for (var dataset : datasets) {
+            entries.add(new SortEntry(extractSortValue(dataset, path), dataset));
+        }
+        Comparator<SortEntry> comparator = Comparator.comparing(SortEntry::value, Comparator.nullsLast(String::compareToIgnoreCase));
+
+        if ("desc".equals(order)) {
+            comparator = comparator.reversed();
+        }
+
+        entries.sort(comparator);
+        var sorted = new ArrayList<JsonNode>(entries.size());
+        entries.forEach(entry -> sorted.add(entry.dataset()));
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = "sort";
+            event.criteria = sortKey + " " + order;
+            event.datasetsIn = datasets.size();
+            event.datasetsOut = sorted.size();
+            event.commit();
+        }
+        return sorted;
+    }
+
+    private String extractSortValue(JsonNode dataset, List<JsonLdTerm> path) {
+        var values = extractValues(dataset, path);
+        if (values.isEmpty()) {
+            return null;
+        }
+        var first = values.get(0);
+        if (first.isNumber()) {
+            return String.format(Locale.ROOT, "%020.10f", first.asDouble());
+        }
+        return first.asText();
+    }
+
+    private List<JsonNode> extractValues(JsonNode dataset, List<JsonLdTerm> path) {
+        if (dataset == null || path.isEmpty()) {
+            return List.of();
+        }
+
+        var result = new ArrayList<JsonNode>();
+        collectValues(result, resolveByPath(dataset, path));
+        var props = PROPERTIES.find(dataset);
+        if (props != null && props.isObject()) {
+            collectValues(result, resolveByPath(props, path));
+        }
+        return result;
+    }
+
+    /**
+     * Resolves a filter, search or sort key to JSON-LD terms once, so matching each dataset is a chain of hash
+     * lookups. A leading {@code metrics} segment also matches the DAIMO metrics property.
+     */
+    private static List<JsonLdTerm> resolvePath(String rawKey) {
+        var key = rawKey == null ? "" : rawKey.trim();
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        var segments = normalizeKeyPath(key);
+        var path = new ArrayList<JsonLdTerm>(segments.size());
+        for (int i = 0; i < segments.size(); i++) {
+            var segment = segments.get(i);
+            path.add(i == 0 && "metrics".equals(segment) ? JsonLdTerm.of(segment, "daimo:metrics") : JsonLdTerm.of(segment));
+        }
+        return List.copyOf(path);
+    }
+
+    private static List<String> normalizeKeyPath(String key) {
+        var trimmed = key;
+        if (trimmed.startsWith("properties.")) {
+            trimmed = trimmed.substring("properties.".length());
+        }
+
+        if (trimmed.contains("://") && trimmed.contains("#") && trimmed.contains(".")) {
+            var hashIndex = trimmed.indexOf('#');
+            var dotIndex = trimmed.indexOf('.', hashIndex);
+            if (dotIndex > hashIndex) {
+                var first = trimmed.substring(0, dotIndex);
+                var second = trimmed.substring(dotIndex + 1);
+                return List.of(first, second);
+            }
+        }
+
+        if (trimmed.contains(".")) {
+            var parts = trimmed.split("\\.");
+            var list = new ArrayList<String>();
+            for (String part : parts) {
+                if (!part.isBlank()) {
+                    list.add(part);
+                }
+            }
+            return list;
+        }
+
+        return List.of(trimmed);
+    }
+
+    private JsonNode resolveByPath(JsonNode base, List<JsonLdTerm> path) {
+        JsonNode current = base;
+        for (var term : path) {
+            if (current == null || current.isNull()) {
+                return null;
+            }
+            current = term.find(current);
+        }
+        return current;
+    }
+
+    private void collectValues(List<JsonNode> result, JsonNode node) {
+        if (node == null || node.isNull()) {
+            return;
+        }
+        if (node.isArray()) {
+            node.forEach(item -> collectValues(result, item));
+            return;
+        }
+        result.add(node);
+    }
+
+    private FilterCondition parseFilterExpression(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return null;
+        }
+        var input = raw.trim();
+        var operators = List.of(">=", "<=", ">", "<", "=", "~");
+        for (String op : operators) {
+            var index = input.indexOf(op);
+            if (index > 0) {
+                var key = input.substring(0, index).trim();
+                var value = input.substring(index + op.length()).trim();
+                if (!key.isEmpty() && !value.isEmpty()) {
+                    return new FilterCondition(key, op, splitValues(value), resolvePath(key));
+                }
+            }
+        }
+        return null;
+    }
+
+    private String mapDaimoKey(String key) {
+        return switch (key.toLowerCase(Locale.ROOT)) {
+            case "task" -> "daimo:pipeline_tag";
+            case "license" -> "daimo:license";
+            case "tag", "tags" -> "daimo:tags";
+            case "library" -> "daimo:library_name";
+            case "dataset" -> "daimo:datasets";
+            case "language" -> "daimo:language";
+            case "base_model" -> "daimo:base_model";
+            case "name" -> "name";
+            default -> key;
+        };
+    }
+
+    private List<String> splitValues(List<String> rawValues) {
+        var result = new ArrayList<String>();
+        for (String raw : rawValues) {
+            result.addAll(splitValues(raw));
+        }
+        return result;
+    }
+
+    private List<String> splitValues(String raw) {
+        if (raw == null) {
+            return List.of();
+        }
+        var parts = raw.split(",");
+        var result = new ArrayList<String>();
+        for (String part : parts) {
+            var trimmed = part.trim();
+            if (!trimmed.isEmpty()) {
+                result.add(trimmed);
+            }
+        }
+        return result;
+    }
+
+    private boolean isNumeric(String value) {
+        try {
+            Double.parseDouble(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private String firstQueryValue(Map<String, List<String>> queryParams, String key) {
+        if (queryParams == null) {
+            return null;
+        }
+        var values = queryParams.get(key);
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        return values.get(0);
+    }
+
+    private record FilterCondition(String key, String operator, List<String> values, List<JsonLdTerm> path) {
+    }
+
+    private record SortEntry(String value, JsonNode dataset) {
+    }
+}
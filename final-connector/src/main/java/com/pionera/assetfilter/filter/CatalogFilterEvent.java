@@ -0,0 +1,45 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.filter;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one filter or sort pass over a catalog's datasets.
+ */
+@Name("com.pionera.assetfilter.CatalogFilter")
+@Label("Catalog Filter")
+@Category({ "Asset Filter", "Catalog" })
+@Description("Filtering or sorting of the datasets of one /filter/catalog request")
+@StackTrace(false)
+class CatalogFilterEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Conditions")
+    @Description("Filter conditions applied, or the sort key")
+    String criteria;
+
+    @Label("Datasets In")
+    int datasetsIn;
+
+    @Label("Datasets Out")
+    int datasetsOut;
+}
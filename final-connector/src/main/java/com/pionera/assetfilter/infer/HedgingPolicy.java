@@ -0,0 +1,111 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.infer;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides when a duplicate (hedged) inference request is sent: after the running latency percentile of the
+ * target has elapsed without an answer, and only while the hedge budget (a fixed share of all requests) allows it.
+ */
+class HedgingPolicy {
+
+    private static final int SAMPLE_SIZE = 256;
+    private static final long BUDGET_UNIT = 1000;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayMillis;
+    private final int minSamples;
+    private final long budgetPerRequest;
+    private final long maxBudget;
+    private final Map<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+    private long budget;
+
+    HedgingPolicy(boolean enabled, double percentile, long minDelayMillis, int minSamples, double budgetPercent) {
+        this.enabled = enabled;
+        this.percentile = Math.min(100, Math.max(0, percentile));
+        this.minDelayMillis = minDelayMillis;
+        this.minSamples = Math.max(1, minSamples);
+        this.budgetPerRequest = Math.round(BUDGET_UNIT * budgetPercent / 100);
+        // Allows a short burst of hedges after a quiet period without exceeding the budget over time.
+        this.maxBudget = BUDGET_UNIT * 10;
+    }
+
+    boolean isEnabled() {
+        return enabled && budgetPerRequest > 0;
+    }
+
+    void recordLatency(String target, long latencyMillis) {
+        windows.computeIfAbsent(target, key -> new LatencyWindow()).add(latencyMillis);
+    }
+
+    /**
+     * Hedge delay for the target, or -1 while too few samples have been seen to estimate the percentile.
+     */
+    long hedgeDelayMillis(String target) {
+        var window = windows.get(target);
+        if (window == null) {
+            return -1;
+        }
+        var value = window.percentile(percentile, minSamples);
+        return value < 0 ? -1 : Math.max(minDelayMillis, value);
+    }
+
+    // Every primary request earns a fraction of a hedge; sending one costs a whole unit.
+    synchronized void onRequest() {
+        budget = Math.min(maxBudget, budget + budgetPerRequest);
+    }
+
+    synchronized boolean tryAcquireHedge() {
+        if (budget < BUDGET_UNIT) {
+            return false;
+        }
+        budget -= BUDGET_UNIT;
+        return true;
+    }
+
+    private static class LatencyWindow {
+        private final long[] samples = new long[SAMPLE_SIZE];
+        private int position;
+        private int count;
+        private int sinceEstimate;
+        private long estimate = -1;
+
+        synchronized void add(long latencyMillis) {
+            samples[position] = latencyMillis;
+            position = (position + 1) % SAMPLE_SIZE;
+            count = Math.min(SAMPLE_SIZE, count + 1);
+            sinceEstimate++;
+        }
+
+        // The sorted copy is only recomputed every few samples, keeping the per-request cost flat.
+        synchronized long percentile(double percentile, int minSamples) {
+            if (count < minSamples) {
+                return -1;
+            }
+            if (estimate < 0 || sinceEstimate >= SAMPLE_SIZE / 16) {
+                var sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                var index = (int) Math.ceil(percentile / 100 * count) - 1;
+                estimate = sorted[Math.max(0, Math.min(count - 1, index))];
+                sinceEstimate = 0;
+            }
+            return estimate;
+        }
+    }
+}
@@ -14,21 +14,39 @@
 
 package com.pionera.assetfilter.infer;
 
+import com.pionera.assetfilter.json.JsonCodec;
+import com.pionera.assetfilter.observability.HealthCheckRegistry;
+import com.pionera.assetfilter.observability.MetricsRegistry;
+import com.pionera.assetfilter.observability.Tracing;
+import com.pionera.assetfilter.resilience.UpstreamGuard;
+import com.pionera.assetfilter.routing.EndpointRegistry;
 import org.eclipse.edc.runtime.metamodel.annotation.Inject;
 import org.eclipse.edc.spi.monitor.Monitor;
 import org.eclipse.edc.spi.system.ServiceExtension;
 import org.eclipse.edc.spi.system.ServiceExtensionContext;
-import org.eclipse.edc.spi.types.TypeManager;
 import org.eclipse.edc.web.spi.WebService;
 
+import java.time.Duration;
+import java.util.EnumSet;
+
 public class InferenceExtension implements ServiceExtension {
 
     @Inject
     private WebService webService;
     @Inject
-    private TypeManager typeManager;
+    private JsonCodec json;
     @Inject
     private Monitor monitor;
+    @Inject
+    private UpstreamGuard upstreamGuard;
+    @Inject
+    private EndpointRegistry endpointRegistry;
+    @Inject
+    private HealthCheckRegistry healthChecks;
+    @Inject
+    private MetricsRegistry metrics;
+    @Inject
+    private Tracing tracing;
 
     @Override
     public void initialize(ServiceExtensionContext context) {
@@ -36,7 +54,7 @@ public class InferenceExtension implements ServiceExtension {
         var hostname = config.getString("edc.hostname", "localhost");
         var managementPort = config.getInteger("web.http.management.port", 29193);
         var managementPath = config.getString("web.http.management.path", "/management");
-        var managementBaseUrl = "http://" + hostname + ":" + managementPort + managementPath;
+        var managementBaseUrl = config.getString("asset.management.url", "http://" + hostname + ":" + managementPort + managementPath);
         var localParticipantId = config.getString("edc.participant.id", null);
 
         var defaultConnectorId = config.getString("asset.infer.connector.id", null);
@@ -44,8 +62,19 @@ public class InferenceExtension implements ServiceExtension {
         var defaultProtocol = config.getString("asset.infer.protocol", "dataspace-protocol-http");
         var defaultTransferType = config.getString("asset.infer.transfer.type", "HttpData-PULL");
 
-        var controller = new InferenceController(typeManager, managementBaseUrl, localParticipantId, defaultConnectorId,
-                defaultCounterPartyAddress, defaultProtocol, defaultTransferType, monitor);
+        var hedging = new HedgingPolicy(
+                config.getBoolean("asset.infer.hedge.enabled", false),
+                Double.parseDouble(config.getString("asset.infer.hedge.percentile", "95")),
+                config.getLong("asset.infer.hedge.min.delay.ms", 50L),
+                config.getInteger("asset.infer.hedge.min.samples", 20),
+                Double.parseDouble(config.getString("asset.infer.hedge.budget.percent", "5")));
+
+        var controller = new InferenceController(json, managementBaseUrl, localParticipantId, defaultConnectorId,
+                defaultCounterPartyAddress, defaultProtocol, defaultTransferType, monitor, upstreamGuard, hedging,
+                endpointRegistry, metrics, tracing);
         webService.registerResource(controller);
+
+        var checkTimeout = Duration.ofMillis(config.getLong("asset.health.check.timeout.ms", 2000L));
+        healthChecks.register("edr-cache", EnumSet.of(HealthCheckRegistry.Probe.READINESS), () -> controller.checkEdrCache(checkTimeout));
     }
 }
@@ -0,0 +1,150 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.jsonld;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+/**
+ * A JSON-LD property together with every key EDC may spell it with, resolved once. A plain term ({@code baseUrl})
+ * is in EDC's {@code @vocab}, so it also matches {@code edc:baseUrl} and the expanded IRI; a compact IRI
+ * ({@code daimo:tags}) also matches its expansion and vice versa. Keywords ({@code @id}) only match themselves.
+ * Lookups are then one hash probe per spelling on the {@code ObjectNode}, usually only the first, with no
+ * allocation. Define terms as constants, or once per request for keys that come from the caller.
+ */
+public final class JsonLdTerm {
+
+    public static final String EDC_NAMESPACE = "https://w3id.org/edc/v0.0.1/ns/";
+    public static final String DAIMO_NAMESPACE = "https://pionera.ai/edc/daimo#";
+
+    // The prefixes the management API and DSP catalogs compact to, plus the DAIMO model vocabulary.
+    private static final Map<String, String> PREFIXES = prefixes();
+
+    private final String name;
+    private final String[] keys;
+
+    private JsonLdTerm(String name, String[] keys) {
+        this.name = name;
+        this.keys = keys;
+    }
+
+    /**
+     * A term matching any spelling of the given names, tried in order. Aliases are for genuinely different
+     * property names ({@code contractId}, {@code agreementId}), not for prefixed variants of the same one.
+     */
+    public static JsonLdTerm of(String... names) {
+        var keys = new LinkedHashSet<String>();
+        for (var name : names) {
+            addSpellings(keys, name.trim());
+        }
+        // Interned like the field names Jackson parses, so most key comparisons succeed on identity.
+        return new JsonLdTerm(names[0], keys.stream().map(String::intern).toArray(String[]::new));
+    }
+
+    /**
+     * The value stored under the first spelling present in the object, which may be a JSON {@code null}; Java
+     * {@code null} when none is present or the node is not an object.
+     */
+    public JsonNode find(JsonNode node) {
+        if (node == null || !node.isObject()) {
+            return null;
+        }
+        for (var key : keys) {
+            var value = node.get(key);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    public String text(JsonNode node) {
+        return valueText(find(node));
+    }
+
+    /**
+     * The text of a JSON-LD value: strings as is, numbers and booleans in their JSON form, the {@code @value} or
+     * {@code @id} of a value or node object, and the first element of an array. Null for anything else.
+     */
+    public static String valueText(JsonNode value) {
+        if (value == null || value.isNull() || value.isMissingNode()) {
+            return null;
+        }
+        if (value.isValueNode()) {
+            return value.asText();
+        }
+        if (value.isArray()) {
+            return value.isEmpty() ? null : valueText(value.get(0));
+        }
+        var literal = value.get("@value");
+        return valueText(literal != null ? literal : value.get("@id"));
+    }
+
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    private static void addSpellings(LinkedHashSet<String> keys, String name) {
+        keys.add(name);
+        if (name.startsWith("@")) {
+            return;
+        }
+        var separator = name.indexOf(':');
+        if (separator < 0) {
+            keys.add("edc:" + name);
+            keys.add(EDC_NAMESPACE + name);
+            return;
+        }
+        var namespace = PREFIXES.get(name.substring(0, separator));
+        if (namespace != null) {
+            var local = name.substring(separator + 1);
+            keys.add(namespace + local);
+            if (namespace.equals(EDC_NAMESPACE)) {
+                keys.add(local);
+            }
+            return;
+        }
+        // An expanded IRI in a known namespace: add the compact form, and the plain term for EDC's vocabulary.
+        for (var prefix : PREFIXES.entrySet()) {
+            if (name.startsWith(prefix.getValue()) && name.length() > prefix.getValue().length()) {
+                var local = name.substring(prefix.getValue().length());
+                keys.add(prefix.getKey() + ":" + local);
+                if (prefix.getValue().equals(EDC_NAMESPACE)) {
+                    keys.add(local);
+                }
+                return;
+            }
+        }
+    }
+
+    private static Map<String, String> prefixes() {
+        var prefixes = new LinkedHashMap<String, String>();
+        prefixes.put("edc", EDC_NAMESPACE);
+        prefixes.put("dcat", "http://www.w3.org/ns/dcat#");
+        prefixes.put("dct", "http://purl.org/dc/terms/");
+        prefixes.put("odrl", "http://www.w3.org/ns/odrl/2/");
+        prefixes.put("dspace", "https://w3id.org/dspace/v0.8/");
+        prefixes.put("daimo", DAIMO_NAMESPACE);
+        return prefixes;
+    }
+}
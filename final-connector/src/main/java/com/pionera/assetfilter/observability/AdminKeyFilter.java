@@ -0,0 +1,56 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.observability;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Rejects requests below a path prefix unless they carry the configured key in the {@code X-Api-Key} header.
+ * Guards admin endpoints that must not depend on how (or whether) the rest of their API context is authenticated.
+ */
+public class AdminKeyFilter implements ContainerRequestFilter {
+
+    static final String HEADER = "X-Api-Key";
+
+    private final String pathPrefix;
+    private final byte[] key;
+
+    public AdminKeyFilter(String pathPrefix, String key) {
+        this.pathPrefix = pathPrefix;
+        this.key = key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        var path = "/" + requestContext.getUriInfo().getPath().replaceFirst("^/", "");
+        if (!path.startsWith(pathPrefix)) {
+            return;
+        }
+        var presented = requestContext.getHeaderString(HEADER);
+        // Constant-time comparison, so the key cannot be guessed byte by byte from response timings.
+        if (presented == null || !MessageDigest.isEqual(key, presented.getBytes(StandardCharsets.UTF_8))) {
+            requestContext.abortWith(Response.status(Response.Status.UNAUTHORIZED)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity("{\"error\":\"Missing or invalid " + HEADER + "\"}")
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.observability;
+
+import org.eclipse.edc.spi.monitor.Monitor;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Component health checks contributed by the extensions. Checks are refreshed in the background and probes
+ * only read the cached results, so a probe never waits on the network or disk.
+ */
+public class HealthCheckRegistry {
+
+    private static final int STALE_AFTER_INTERVALS = 3;
+
+    public enum Probe { LIVENESS, READINESS, STARTUP }
+
+    private final Clock clock;
+    private final Monitor monitor;
+    private final Duration refreshInterval;
+    private final Duration checkTimeout;
+    private final double saturationThreshold;
+    private final Map<String, Registration> registrations = new ConcurrentHashMap<>();
+    private final AtomicBoolean firstRefreshDone = new AtomicBoolean();
+    private ScheduledExecutorService scheduler;
+    private ExecutorService checkExecutor;
+
+    public HealthCheckRegistry(Clock clock, Monitor monitor, Duration refreshInterval, Duration checkTimeout, double saturationThreshold) {
+        this.clock = clock;
+        this.monitor = monitor;
+        this.refreshInterval = refreshInterval;
+        this.checkTimeout = checkTimeout;
+        this.saturationThreshold = saturationThreshold;
+    }
+
+    /**
+     * Registers a check. With no probes it only shows up in the aggregate health endpoint.
+     */
+    public void register(String name, Set<Probe> probes, HealthCheck check) {
+        var copy = EnumSet.noneOf(Probe.class);
+        copy.addAll(probes);
+        registrations.put(name, new Registration(copy, check));
+    }
+
+    /**
+     * Utilisation (0-1) of a pool or limit at which readiness checks report overload, so the load balancer
+     * sheds traffic before queues build up.
+     */
+    public double saturationThreshold() {
+        return saturationThreshold;
+    }
+
+    /**
+     * Cached results of the checks that take part in the probe, or of all checks when the probe is null. A check
+     * that has not completed yet maps to null.
+     */
+    public Map<String, Status> results(Probe probe) {
+        var results = new TreeMap<String, Status>();
+        var staleBefore = clock.millis() - STALE_AFTER_INTERVALS * refreshInterval.toMillis();
+        registrations.forEach((name, registration) -> {
+            if (probe == null || registration.probes.contains(probe)) {
+                var status = registration.status;
+                if (status != null && status.checkedAt() < staleBefore) {
+                    status = new Status(false, "stale: " + status.detail(), status.checkedAt());
+                }
+                results.put(name, status);
+            }
+        });
+        return results;
+    }
+
+    public boolean isStarted() {
+        return firstRefreshDone.get();
+    }
+
+    void start() {
+        var threads = new AtomicInteger();
+        checkExecutor = Executors.newFixedThreadPool(4, runnable -> daemon(runnable, "health-check-" + threads.incrementAndGet()));
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "health-check-scheduler"));
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            checkExecutor.shutdownNow();
+        }
+    }
+
+    // A check still running from a previous round is skipped rather than started again, so one hanging
+    // dependency cannot pile up threads; its last result stays "timed out" until it returns.
+    private void refresh() {
+        var rounds = registrations.entrySet().stream()
+                .filter(entry -> entry.getValue().running.compareAndSet(false, true))
+                .map(entry -> {
+                    var registration = entry.getValue();
+                    var task = CompletableFuture.supplyAsync(() -> run(registration.check), checkExecutor);
+                    task.whenComplete((ignored, error) -> registration.running.set(false));
+                    return task.copy()
+                            .completeOnTimeout(HealthCheck.Result.unhealthy("timed out after " + checkTimeout.toMillis() + " ms"),
+                                    checkTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                            .thenAccept(result -> record(entry.getKey(), registration, result));
+                })
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(rounds).whenComplete((ignored, error) -> firstRefreshDone.set(true));
+    }
+
+    private void record(String name, Registration registration, HealthCheck.Result result) {
+        var previous = registration.status;
+        if (previous != null && previous.healthy() != result.healthy()) {
+            monitor.info("Health check " + name + " is now " + (result.healthy() ? "healthy" : "unhealthy: " + result.detail()));
+        }
+        registration.status = new Status(result.healthy(), result.detail(), clock.millis());
+    }
+
+    private HealthCheck.Result run(HealthCheck check) {
+        try {
+            return check.check();
+        } catch (Exception e) {
+            return HealthCheck.Result.unhealthy(e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        var thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    public record Status(boolean healthy, String detail, long checkedAt) {
+    }
+
+    private static class Registration {
+        private final Set<Probe> probes;
+        private final HealthCheck check;
+        private final AtomicBoolean running = new AtomicBoolean();
+        private volatile Status status;
+
+        Registration(Set<Probe> probes, HealthCheck check) {
+            this.probes = probes;
+            this.check = check;
+        }
+    }
+}
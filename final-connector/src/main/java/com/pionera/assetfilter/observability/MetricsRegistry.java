@@ -0,0 +1,278 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.observability;
+
+import com.pionera.assetfilter.latency.LatencyLog;
+import com.pionera.assetfilter.latency.LatencyRecorder;
+import com.pionera.assetfilter.latency.LatencyReport;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Counters and latency histograms of the custom extensions, written in the Prometheus text exposition format.
+ * Recording is lock-free; series are created on first use and live for the lifetime of the runtime.
+ */
+public class MetricsRegistry {
+
+    // Label values beyond this many series per metric are folded into one overflow series.
+    private static final int MAX_SERIES_PER_METRIC = 500;
+    private static final String OVERFLOW = "_overflow";
+
+    private final Map<String, Metric<?>> metrics = new ConcurrentSkipListMap<>();
+
+    public Counter counter(String name, String help, String... labelNames) {
+        return (Counter) metrics.computeIfAbsent(name, key -> new Counter(name, help, labelNames));
+    }
+
+    public Histogram histogram(String name, String help, String... labelNames) {
+        return (Histogram) metrics.computeIfAbsent(name, key -> new Histogram(name, help, labelNames));
+    }
+
+    public String scrape() {
+        var out = new StringBuilder(8192);
+        metrics.values().forEach(metric -> metric.write(out));
+        return out.toString();
+    }
+
+    /**
+     * Percentiles since startup of every histogram series, from the HdrHistogram each series records into next to
+     * its Prometheus buckets.
+     */
+    public List<LatencySeries> latencyReports() {
+        var reports = new ArrayList<LatencySeries>();
+        histograms().forEach(histogram -> histogram.forEachSeries((labels, series) ->
+                reports.add(new LatencySeries(histogram.name(), labels, series.latency.report()))));
+        return reports;
+    }
+
+    /**
+     * Appends the samples of every histogram series since the previous call to the log, tagged with the metric
+     * name and label values.
+     */
+    public void logLatencyIntervals(LatencyLog log) {
+        histograms().forEach(histogram -> histogram.forEachSeries((labels, series) -> {
+            var tag = new StringBuilder(histogram.name());
+            labels.forEach((label, value) -> tag.append(';').append(label).append('=').append(value));
+            log.append(tag.toString(), series.latency.interval());
+        }));
+    }
+
+    private List<Histogram> histograms() {
+        return metrics.values().stream().filter(Histogram.class::isInstance).map(Histogram.class::cast).toList();
+    }
+
+    public record LatencySeries(String name, Map<String, String> labels, LatencyReport report) {
+    }
+
+    private abstract static class Metric<S> {
+        private final String name;
+        private final String help;
+        private final String[] labelNames;
+        private final Map<List<String>, S> series = new ConcurrentHashMap<>();
+
+        Metric(String name, String help, String[] labelNames) {
+            this.name = name;
+            this.help = help;
+            this.labelNames = labelNames;
+        }
+
+        S series(String[] labelValues, Supplier<S> factory) {
+            var key = List.of(labelValues);
+            var existing = series.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            if (labelValues.length != labelNames.length) {
+                throw new IllegalArgumentException(name + " expects labels " + Arrays.toString(labelNames));
+            }
+            if (series.size() >= MAX_SERIES_PER_METRIC) {
+                key = Collections.nCopies(labelNames.length, OVERFLOW);
+            }
+            return series.computeIfAbsent(key, ignored -> factory.get());
+        }
+
+        String name() {
+            return name;
+        }
+
+        void forEachSeries(BiConsumer<Map<String, String>, S> action) {
+            series.forEach((labelValues, value) -> {
+                var labels = new LinkedHashMap<String, String>();
+                for (int i = 0; i < labelValues.size(); i++) {
+                    labels.put(labelNames[i], labelValues.get(i));
+                }
+                action.accept(labels, value);
+            });
+        }
+
+        void write(StringBuilder out) {
+            out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+            out.append("# TYPE ").append(name).append(' ').append(type()).append('\n');
+            series.forEach((labelValues, value) -> writeSeries(out, labelValues, value));
+        }
+
+        abstract String type();
+
+        abstract void writeSeries(StringBuilder out, List<String> labelValues, S value);
+
+        void sample(StringBuilder out, String suffix, List<String> labelValues, String extraLabel, String extraValue, String value) {
+            out.append(name).append(suffix);
+            if (!labelValues.isEmpty() || extraLabel != null) {
+                out.append('{');
+                var first = true;
+                for (int i = 0; i < labelValues.size(); i++) {
+                    first = appendLabel(out, first, labelNames[i], labelValues.get(i));
+                }
+                if (extraLabel != null) {
+                    appendLabel(out, first, extraLabel, extraValue);
+                }
+                out.append('}');
+            }
+            out.append(' ').append(value).append('\n');
+        }
+
+        private static boolean appendLabel(StringBuilder out, boolean first, String label, String value) {
+            if (!first) {
+                out.append(',');
+            }
+            out.append(label).append("=\"");
+            for (int i = 0; i < value.length(); i++) {
+                var c = value.charAt(i);
+                switch (c) {
+                    case '\\' -> out.append("\\\\");
+                    case '"' -> out.append("\\\"");
+                    case '\n' -> out.append("\\n");
+                    default -> out.append(c);
+                }
+            }
+            out.append('"');
+            return false;
+        }
+    }
+
+    public static class Counter extends Metric<LongAdder> {
+
+        Counter(String name, String help, String[] labelNames) {
+            super(name, help, labelNames);
+        }
+
+        public void inc(String... labelValues) {
+            add(1, labelValues);
+        }
+
+        public void add(long amount, String... labelValues) {
+            labels(labelValues).add(amount);
+        }
+
+        /**
+         * The series for the given label values, for hot paths that add to the same series many times.
+         */
+        public LongAdder labels(String... labelValues) {
+            return series(labelValues, LongAdder::new);
+        }
+
+        @Override
+        String type() {
+            return "counter";
+        }
+
+        @Override
+        void writeSeries(StringBuilder out, List<String> labelValues, LongAdder value) {
+            sample(out, "_total", labelValues, null, null, Long.toString(value.sum()));
+        }
+    }
+
+    /**
+     * Latency histogram with log-linear buckets in the spirit of HdrHistogram: two buckets per power of two from
+     * 100 microseconds to about two minutes, so relative error stays within ~20% over the whole range. Each series
+     * also records into a {@link LatencyRecorder} for exact percentiles and interval logs.
+     */
+    public static class Histogram extends Metric<Histogram.Series> {
+
+        private static final long[] BOUNDS_NANOS = bounds();
+        private static final String[] BOUND_LABELS = Arrays.stream(BOUNDS_NANOS).mapToObj(MetricsRegistry::seconds).toArray(String[]::new);
+
+        Histogram(String name, String help, String[] labelNames) {
+            super(name, help, labelNames);
+        }
+
+        public void observeNanos(long nanos, String... labelValues) {
+            var series = series(labelValues, Series::new);
+            var index = Arrays.binarySearch(BOUNDS_NANOS, nanos);
+            series.buckets[index >= 0 ? index : -index - 1].increment();
+            series.sumNanos.add(nanos);
+            series.latency.recordNanos(nanos);
+        }
+
+        /**
+         * Records the time elapsed since {@code startNanos}, a value taken from {@link System#nanoTime()}.
+         */
+        public void observeSince(long startNanos, String... labelValues) {
+            observeNanos(System.nanoTime() - startNanos, labelValues);
+        }
+
+        @Override
+        String type() {
+            return "histogram";
+        }
+
+        @Override
+        void writeSeries(StringBuilder out, List<String> labelValues, Series series) {
+            long cumulative = 0;
+            for (int i = 0; i < BOUNDS_NANOS.length; i++) {
+                cumulative += series.buckets[i].sum();
+                sample(out, "_bucket", labelValues, "le", BOUND_LABELS[i], Long.toString(cumulative));
+            }
+            cumulative += series.buckets[BOUNDS_NANOS.length].sum();
+            sample(out, "_bucket", labelValues, "le", "+Inf", Long.toString(cumulative));
+            sample(out, "_sum", labelValues, null, null, seconds(series.sumNanos.sum()));
+            sample(out, "_count", labelValues, null, null, Long.toString(cumulative));
+        }
+
+        private static long[] bounds() {
+            var bounds = new ArrayList<Long>();
+            for (double bound = 100_000; bound < 150_000_000_000d; bound *= Math.sqrt(2)) {
+                bounds.add(new BigDecimal(bound).round(new MathContext(3)).longValue());
+            }
+            return bounds.stream().mapToLong(Long::longValue).toArray();
+        }
+
+        static class Series {
+            private final LongAdder[] buckets = new LongAdder[BOUNDS_NANOS.length + 1];
+            private final LongAdder sumNanos = new LongAdder();
+            private final LatencyRecorder latency = new LatencyRecorder();
+
+            Series() {
+                Arrays.setAll(buckets, ignored -> new LongAdder());
+            }
+        }
+    }
+
+    private static String seconds(long nanos) {
+        return BigDecimal.valueOf(nanos, 9).stripTrailingZeros().toPlainString();
+    }
+}
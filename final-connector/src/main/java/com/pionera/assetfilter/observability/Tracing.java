@@ -0,0 +1,163 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.observability;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import jakarta.ws.rs.container.ContainerRequestContext;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.Callable;
+
+/**
+ * Spans and W3C trace context propagation for the custom extensions. Outbound calls carry {@code traceparent}
+ * (and {@code tracestate}) of the span that is current on the calling thread.
+ */
+public class Tracing {
+
+    private static final String INSTRUMENTATION_NAME = "com.pionera.assetfilter";
+
+    private static final TextMapSetter<HttpRequest.Builder> REQUEST_SETTER = (builder, key, value) -> builder.setHeader(key, value);
+    private static final TextMapGetter<ContainerRequestContext> REQUEST_GETTER = new TextMapGetter<>() {
+        @Override
+        public Iterable<String> keys(ContainerRequestContext carrier) {
+            return carrier.getHeaders().keySet();
+        }
+
+        @Override
+        public String get(ContainerRequestContext carrier, String key) {
+            return carrier == null ? null : carrier.getHeaderString(key);
+        }
+    };
+
+    private final OpenTelemetry openTelemetry;
+    private final Tracer tracer;
+
+    public Tracing(OpenTelemetry openTelemetry) {
+        this.openTelemetry = openTelemetry;
+        this.tracer = openTelemetry.getTracer(INSTRUMENTATION_NAME);
+    }
+
+    public static Tracing noop() {
+        return new Tracing(OpenTelemetry.noop());
+    }
+
+    /**
+     * Runs the call in an internal span that is current for its duration; a thrown exception marks the span as failed.
+     */
+    @SuppressWarnings("try")
+    public <T> T inSpan(String name, Callable<T> call) throws Exception {
+        var span = tracer.spanBuilder(name).startSpan();
+        // The scope is only held to be closed; javac's try lint flags any resource the body does not reference.
+        try (Scope scope = span.makeCurrent()) {
+            return call.call();
+        } catch (Exception e) {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Starts a server span for an inbound request, continuing the caller's trace when it sent a {@code traceparent}.
+     */
+    public Span startServerSpan(String name, ContainerRequestContext request) {
+        var parent = openTelemetry.getPropagators().getTextMapPropagator().extract(Context.root(), request, REQUEST_GETTER);
+        return tracer.spanBuilder(name)
+                .setParent(parent)
+                .setSpanKind(SpanKind.SERVER)
+                .setAttribute("http.request.method", request.getMethod())
+                .setAttribute("url.path", "/" + request.getUriInfo().getPath().replaceFirst("^/", ""))
+                .startSpan();
+    }
+
+    /**
+     * Starts a client span for the outbound request and returns it together with a copy of the request that carries
+     * the span's trace context.
+     */
+    public ClientSpan startClientSpan(HttpRequest request) {
+        var span = tracer.spanBuilder("HTTP " + request.method())
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute("http.request.method", request.method())
+                .setAttribute("server.address", String.valueOf(request.uri().getHost()))
+                .setAttribute("url.path", String.valueOf(request.uri().getRawPath()))
+                .startSpan();
+        var builder = HttpRequest.newBuilder(request, (name, value) -> true);
+        openTelemetry.getPropagators().getTextMapPropagator().inject(Context.current().with(span), builder, REQUEST_SETTER);
+        return new ClientSpan(span, builder.build());
+    }
+
+    public <T> HttpResponse<T> send(HttpRequest request, HttpCall<T> call) throws IOException, InterruptedException {
+        var client = startClientSpan(request);
+        try {
+            var response = call.send(client.request());
+            client.end(response.statusCode());
+            return response;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            client.fail(e);
+            throw e;
+        }
+    }
+
+    @FunctionalInterface
+    public interface HttpCall<T> {
+        HttpResponse<T> send(HttpRequest request) throws IOException, InterruptedException;
+    }
+
+    public static class ClientSpan {
+        private final Span span;
+        private final HttpRequest request;
+
+        ClientSpan(Span span, HttpRequest request) {
+            this.span = span;
+            this.request = request;
+        }
+
+        public HttpRequest request() {
+            return request;
+        }
+
+        // Ends at response headers; a streamed body is not part of the span.
+        public void end(int status) {
+            span.setAttribute("http.response.status_code", status);
+            if (status >= 500) {
+                span.setStatus(StatusCode.ERROR);
+            }
+            span.end();
+        }
+
+        public void fail(Throwable error) {
+            span.recordException(error);
+            span.setStatus(StatusCode.ERROR);
+            span.end();
+        }
+
+        public void cancel() {
+            span.setAttribute("cancelled", true);
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.observability;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.exporter.otlp.http.trace.OtlpHttpSpanExporter;
+import io.opentelemetry.exporter.otlp.trace.OtlpGrpcSpanExporter;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.system.configuration.Config;
+
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.function.BiConsumer;
+
+/**
+ * Builds the OpenTelemetry SDK behind {@link Tracing} from the {@code asset.tracing.*} settings.
+ */
+final class TracingFactory {
+
+    private TracingFactory() {
+    }
+
+    static OpenTelemetrySdk create(Config config, SpanExporter exporter, String defaultServiceName) {
+        // The in-memory exporter is for tests, which expect spans to be visible as soon as they end.
+        var processor = exporter instanceof InMemorySpanExporter ? SimpleSpanProcessor.create(exporter) : BatchSpanProcessor.builder(exporter).build();
+        var serviceName = config.getString("asset.tracing.service.name", defaultServiceName);
+        var ratio = Double.parseDouble(config.getString("asset.tracing.sample.ratio", "1.0"));
+
+        var tracerProvider = SdkTracerProvider.builder()
+                .setResource(Resource.getDefault().merge(Resource.create(Attributes.of(AttributeKey.stringKey("service.name"), serviceName))))
+                .setSampler(Sampler.parentBased(Sampler.traceIdRatioBased(ratio)))
+                .addSpanProcessor(processor)
+                .build();
+        return OpenTelemetrySdk.builder()
+                .setTracerProvider(tracerProvider)
+                .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+                .build();
+    }
+
+    static SpanExporter exporter(Config config, ObjectMapper mapper, String exporterName) {
+        return switch (exporterName.toLowerCase(Locale.ROOT)) {
+            case "otlp" -> otlp(config);
+            case "file" -> new FileSpanExporter(mapper, Path.of(config.getString("asset.tracing.file.path", "./.state/traces.jsonl")));
+            case "memory" -> new InMemorySpanExporter(config.getInteger("asset.tracing.memory.max.spans", 10_000));
+            default -> throw new EdcException("Unknown asset.tracing.exporter '" + exporterName + "' (expected none, otlp, file or memory)");
+        };
+    }
+
+    private static SpanExporter otlp(Config config) {
+        var protocol = config.getString("asset.tracing.otlp.protocol", "http/protobuf");
+        var headers = config.getString("asset.tracing.otlp.headers", "");
+        if ("grpc".equalsIgnoreCase(protocol)) {
+            var builder = OtlpGrpcSpanExporter.builder().setEndpoint(config.getString("asset.tracing.otlp.endpoint", "http://localhost:4317"));
+            forEachHeader(headers, builder::addHeader);
+            return builder.build();
+        }
+        var builder = OtlpHttpSpanExporter.builder().setEndpoint(config.getString("asset.tracing.otlp.endpoint", "http://localhost:4318/v1/traces"));
+        forEachHeader(headers, builder::addHeader);
+        return builder.build();
+    }
+
+    // "key=value,key2=value2", the same format as OTEL_EXPORTER_OTLP_HEADERS.
+    private static void forEachHeader(String headers, BiConsumer<String, String> consumer) {
+        for (var pair : headers.split(",")) {
+            var separator = pair.indexOf('=');
+            if (separator > 0) {
+                consumer.accept(pair.substring(0, separator).trim(), pair.substring(separator + 1).trim());
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.proxy;
+
+import jakarta.ws.rs.core.StreamingOutput;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stream wrappers that add the bytes passing through to a counter, for the proxy's byte metrics.
+ */
+final class ByteCounting {
+
+    private ByteCounting() {
+    }
+
+    static InputStream counting(InputStream in, LongAdder counter) {
+        return new FilterInputStream(in) {
+            @Override
+            public int read() throws IOException {
+                var value = super.read();
+                if (value != -1) {
+                    counter.increment();
+                }
+                return value;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                var read = super.read(buffer, offset, length);
+                if (read > 0) {
+                    counter.add(read);
+                }
+                return read;
+            }
+        };
+    }
+
+    static StreamingOutput counting(StreamingOutput source, LongAdder counter) {
+        return output -> source.write(new FilterOutputStream(output) {
+            @Override
+            public void write(int value) throws IOException {
+                out.write(value);
+                counter.increment();
+            }
+
+            @Override
+            public void write(byte[] buffer, int offset, int length) throws IOException {
+                out.write(buffer, offset, length);
+                counter.add(length);
+            }
+        });
+    }
+}
@@ -14,21 +14,39 @@
 
 package com.pionera.assetfilter.proxy;
 
+import com.pionera.assetfilter.observability.HealthCheck;
+import com.pionera.assetfilter.observability.HealthCheckRegistry;
+import com.pionera.assetfilter.observability.MetricsRegistry;
+import com.pionera.assetfilter.observability.Tracing;
+import com.pionera.assetfilter.observability.TracingFilter;
+import com.pionera.assetfilter.resilience.UpstreamGuard;
+import com.pionera.assetfilter.routing.EndpointRegistry;
+import org.eclipse.edc.connector.controlplane.transfer.spi.event.TransferProcessCompleted;
+import org.eclipse.edc.connector.controlplane.transfer.spi.event.TransferProcessSuspended;
+import org.eclipse.edc.connector.controlplane.transfer.spi.event.TransferProcessTerminated;
 import org.eclipse.edc.connector.dataplane.spi.Endpoint;
 import org.eclipse.edc.connector.dataplane.spi.iam.DataPlaneAuthorizationService;
 import org.eclipse.edc.connector.dataplane.spi.iam.PublicEndpointGeneratorService;
 import org.eclipse.edc.runtime.metamodel.annotation.Configuration;
 import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Provides;
 import org.eclipse.edc.runtime.metamodel.annotation.Setting;
 import org.eclipse.edc.runtime.metamodel.annotation.Settings;
+import org.eclipse.edc.spi.event.EventRouter;
 import org.eclipse.edc.spi.system.ServiceExtension;
 import org.eclipse.edc.spi.system.ServiceExtensionContext;
 import org.eclipse.edc.web.spi.WebService;
 import org.eclipse.edc.web.spi.configuration.PortMapping;
 import org.eclipse.edc.web.spi.configuration.PortMappingRegistry;
 
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.EnumSet;
+
 import static org.eclipse.edc.web.spi.configuration.ApiContext.PUBLIC;
 
+@Provides(ProxyAuthorizationCache.class)
 public class CustomProxyDataPlaneExtension implements ServiceExtension {
 
     private static final int DEFAULT_PUBLIC_PORT = 19291;
@@ -41,6 +59,79 @@ public class CustomProxyDataPlaneExtension implements ServiceExtension {
             key = "edc.dataplane.proxy.public.endpoint")
     private String proxyPublicEndpoint;
 
+    @Setting(description = "Maximum seconds a successful token authorization is reused by the public proxy (bounded by the token expiry). " +
+            "Transfers ended in this runtime clear the cache at once; this bounds how long a revocation made elsewhere goes unnoticed. 0 disables caching.",
+            key = "edc.dataplane.proxy.auth.cache.ttl.seconds", defaultValue = "5")
+    private long authCacheTtlSeconds;
+
+    @Setting(description = "Seconds a rejected token is remembered by the public proxy, to shed repeated invalid-token load.",
+            key = "edc.dataplane.proxy.auth.cache.negative.ttl.seconds", defaultValue = "5")
+    private long authCacheNegativeTtlSeconds;
+
+    @Setting(description = "Maximum number of cached token authorizations in the public proxy; rejected tokens are bounded separately by the same number.",
+            key = "edc.dataplane.proxy.auth.cache.max.entries", defaultValue = "10000")
+    private int authCacheMaxEntries;
+
+    @Setting(description = "Enables the response cache for idempotent GET requests in the public proxy.",
+            key = "edc.dataplane.proxy.cache.enabled", defaultValue = "false")
+    private boolean responseCacheEnabled;
+
+    @Setting(description = "Maximum bytes held by the in-memory tier of the proxy response cache.",
+            key = "edc.dataplane.proxy.cache.memory.max.bytes", defaultValue = "67108864")
+    private long responseCacheMemoryBytes;
+
+    @Setting(description = "Largest response body (bytes) the proxy response cache will store.",
+            key = "edc.dataplane.proxy.cache.entry.max.bytes", defaultValue = "4194304")
+    private long responseCacheEntryBytes;
+
+    @Setting(description = "Freshness (seconds) applied when the backend sends neither Cache-Control max-age nor Expires. 0 only caches revalidatable responses.",
+            key = "edc.dataplane.proxy.cache.default.ttl.seconds", defaultValue = "0")
+    private long responseCacheDefaultTtlSeconds;
+
+    @Setting(description = "Directory for the memory-mapped disk tier of the proxy response cache. Empty disables the disk tier.",
+            key = "edc.dataplane.proxy.cache.disk.directory", defaultValue = "")
+    private String responseCacheDiskDirectory;
+
+    @Setting(description = "Maximum bytes held by the disk tier of the proxy response cache.",
+            key = "edc.dataplane.proxy.cache.disk.max.bytes", defaultValue = "1073741824")
+    private long responseCacheDiskBytes;
+
+    @Setting(description = "Gzips uncompressed, compressible backend responses for clients that send Accept-Encoding: gzip.",
+            key = "edc.dataplane.proxy.compression.enabled", defaultValue = "true")
+    private boolean compressionEnabled;
+
+    @Setting(description = "Smallest response (bytes, when Content-Length is known) the public proxy compresses on the fly.",
+            key = "edc.dataplane.proxy.compression.min.bytes", defaultValue = "1024")
+    private long compressionMinBytes;
+
+    @Setting(description = "Decodes gzip/deflate request bodies before forwarding them, for backends that do not accept compressed uploads.",
+            key = "edc.dataplane.proxy.compression.decode.uploads", defaultValue = "false")
+    private boolean decodeCompressedUploads;
+
+    @Setting(description = "Maximum concurrent in-flight requests per backend origin (scheme, host and port) in the public proxy.",
+            key = "edc.dataplane.proxy.backend.max.concurrent.requests", defaultValue = "64")
+    private int backendMaxConcurrentRequests;
+
+    @Setting(description = "Milliseconds a proxied request waits for a free slot on its backend before failing with 503.",
+            key = "edc.dataplane.proxy.backend.acquire.timeout.ms", defaultValue = "250")
+    private long backendAcquireTimeoutMillis;
+
+    @Setting(description = "Connect timeout in milliseconds for proxy backend connections.",
+            key = "edc.dataplane.proxy.backend.connect.timeout.ms", defaultValue = "5000")
+    private long backendConnectTimeoutMillis;
+
+    @Setting(description = "Seconds after which the client (and pooled connections) of an unused backend is discarded.",
+            key = "edc.dataplane.proxy.backend.idle.timeout.seconds", defaultValue = "300")
+    private long backendIdleTimeoutSeconds;
+
+    @Setting(description = "Negotiates HTTP/2 (ALPN) with https backends so concurrent requests are multiplexed on one connection.",
+            key = "edc.dataplane.proxy.backend.http2.enabled", defaultValue = "true")
+    private boolean backendHttp2;
+
+    @Setting(description = "Also attempts HTTP/2 cleartext upgrade (h2c) with plain http backends.",
+            key = "edc.dataplane.proxy.backend.h2c.enabled", defaultValue = "false")
+    private boolean backendCleartextHttp2;
+
     @Inject
     private PortMappingRegistry portMappingRegistry;
     @Inject
@@ -49,6 +140,20 @@ public class CustomProxyDataPlaneExtension implements ServiceExtension {
     private WebService webService;
     @Inject
     private DataPlaneAuthorizationService authorizationService;
+    @Inject
+    private Clock clock;
+    @Inject
+    private EventRouter eventRouter;
+    @Inject
+    private UpstreamGuard upstreamGuard;
+    @Inject
+    private EndpointRegistry endpointRegistry;
+    @Inject
+    private HealthCheckRegistry healthChecks;
+    @Inject
+    private MetricsRegistry metrics;
+    @Inject
+    private Tracing tracing;
 
     @Override
     public void initialize(ServiceExtensionContext context) {
@@ -56,7 +161,39 @@ public class CustomProxyDataPlaneExtension implements ServiceExtension {
 
         generatorService.addGeneratorFunction("HttpData", dataAddress -> Endpoint.url(proxyPublicEndpoint));
 
-        webService.registerResource(PUBLIC, new ProxyController(authorizationService));
+        var authorizationCache = new ProxyAuthorizationCache(authorizationService, clock,
+                Duration.ofSeconds(authCacheTtlSeconds), Duration.ofSeconds(authCacheNegativeTtlSeconds), authCacheMaxEntries);
+        context.registerService(ProxyAuthorizationCache.class, authorizationCache);
+        // Synchronous, so the cache is cleared before the transfer's state change is reported as done.
+        var invalidator = new ProxyAuthorizationInvalidator(authorizationCache);
+        eventRouter.registerSync(TransferProcessTerminated.class, invalidator);
+        eventRouter.registerSync(TransferProcessSuspended.class, invalidator);
+        eventRouter.registerSync(TransferProcessCompleted.class, invalidator);
+
+        ProxyResponseCache responseCache = null;
+        if (responseCacheEnabled) {
+            var diskDirectory = responseCacheDiskDirectory == null || responseCacheDiskDirectory.isBlank() ? null : Path.of(responseCacheDiskDirectory);
+            responseCache = new ProxyResponseCache(clock, context.getMonitor(), responseCacheMemoryBytes, responseCacheEntryBytes,
+                    Duration.ofSeconds(responseCacheDefaultTtlSeconds).toMillis(), diskDirectory, responseCacheDiskBytes);
+        }
+
+        var compression = new ProxyCompression(compressionEnabled, decodeCompressedUploads, compressionMinBytes);
+
+        var backendClients = new BackendClientPool(clock, backendMaxConcurrentRequests, Duration.ofMillis(backendAcquireTimeoutMillis),
+                Duration.ofMillis(backendConnectTimeoutMillis), Duration.ofSeconds(backendIdleTimeoutSeconds), backendHttp2, backendCleartextHttp2);
+
+        webService.registerResource(PUBLIC, new ProxyController(authorizationCache, responseCache, compression, backendClients, upstreamGuard,
+                endpointRegistry, metrics, tracing));
+        // Proxied paths are unbounded, so all proxy spans share one name and carry the path as an attribute.
+        webService.registerResource(PUBLIC, new TracingFilter(tracing, "proxy request", null));
+
+        // Readiness only fails once every known backend is saturated; one busy backend already sheds its own load with 503s.
+        healthChecks.register("proxy-backend-pool", EnumSet.of(HealthCheckRegistry.Probe.READINESS), () -> {
+            var saturated = backendClients.saturatedBackends(healthChecks.saturationThreshold());
+            var total = backendClients.backendCount();
+            var detail = saturated.size() + "/" + total + " backends saturated" + (saturated.isEmpty() ? "" : ": " + saturated);
+            return total > 0 && saturated.size() >= total ? HealthCheck.Result.unhealthy(detail) : HealthCheck.Result.healthy(detail);
+        });
     }
 
     @Settings
@@ -0,0 +1,158 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.proxy;
+
+import org.eclipse.edc.connector.dataplane.spi.iam.DataPlaneAuthorizationService;
+import org.eclipse.edc.spi.result.Result;
+import org.eclipse.edc.spi.types.domain.DataAddress;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import static java.util.Collections.emptyMap;
+
+/**
+ * Bounded cache of {@link DataPlaneAuthorizationService} results for the public proxy, keyed by token hash.
+ * Successful results live until the token expires or the configured TTL elapses, whichever comes first, and are
+ * dropped when a transfer process is completed, terminated or suspended in this runtime. The TTL is what bounds revocations
+ * this runtime does not see. Failed results are kept apart for a short negative TTL, so probing with random
+ * tokens cannot push out valid entries.
+ */
+public class ProxyAuthorizationCache {
+
+    private static final Pattern EXP_CLAIM = Pattern.compile("\"exp\"\\s*:\\s*(\\d+)");
+
+    private final DataPlaneAuthorizationService delegate;
+    private final Clock clock;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Entry> rejections = new ConcurrentHashMap<>();
+
+    public ProxyAuthorizationCache(DataPlaneAuthorizationService delegate, Clock clock, Duration ttl, Duration negativeTtl, int maxEntries) {
+        this.delegate = delegate;
+        this.clock = clock;
+        this.ttlMillis = ttl.toMillis();
+        this.negativeTtlMillis = negativeTtl.toMillis();
+        this.maxEntries = maxEntries;
+    }
+
+    public Result<DataAddress> authorize(String token) {
+        if (ttlMillis <= 0 && negativeTtlMillis <= 0) {
+            return delegate.authorize(token, emptyMap());
+        }
+
+        var key = hash(token);
+        var now = clock.millis();
+        var cached = cached(entries, key, now);
+        if (cached == null) {
+            cached = cached(rejections, key, now);
+        }
+        if (cached != null) {
+            return cached.result();
+        }
+
+        var result = delegate.authorize(token, emptyMap());
+        var target = result.succeeded() ? entries : rejections;
+        var expiresAt = result.succeeded() ? now + Math.min(ttlMillis, millisUntilExpiry(token, now)) : now + negativeTtlMillis;
+        if (expiresAt > now) {
+            if (target.size() >= maxEntries) {
+                evict(target, now);
+            }
+            target.put(key, new Entry(result, expiresAt));
+        }
+        return result;
+    }
+
+    public void invalidate(String token) {
+        var key = hash(token);
+        entries.remove(key);
+        rejections.remove(key);
+    }
+
+    public void invalidateIf(Predicate<DataAddress> predicate) {
+        entries.values().removeIf(entry -> entry.result().succeeded() && predicate.test(entry.result().getContent()));
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+        rejections.clear();
+    }
+
+    public int size() {
+        return entries.size() + rejections.size();
+    }
+
+    private Entry cached(Map<String, Entry> map, String key, long now) {
+        var cached = map.get(key);
+        if (cached != null && cached.expiresAt() <= now) {
+            map.remove(key, cached);
+            return null;
+        }
+        return cached;
+    }
+
+    private void evict(Map<String, Entry> map, long now) {
+        map.values().removeIf(entry -> entry.expiresAt() <= now);
+        // Still full: drop an arbitrary slice rather than tracking recency on the hot path.
+        var iterator = map.keySet().iterator();
+        var toRemove = map.size() - maxEntries + Math.max(1, maxEntries / 10);
+        while (toRemove-- > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    // The token was just validated by the delegate, so its exp claim is only read to bound the cache lifetime.
+    private long millisUntilExpiry(String token, long now) {
+        var raw = token.regionMatches(true, 0, "Bearer ", 0, 7) ? token.substring(7) : token;
+        var parts = raw.split("\\.");
+        if (parts.length < 2) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            var claims = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+            var matcher = EXP_CLAIM.matcher(claims);
+            if (matcher.find()) {
+                return Long.parseLong(matcher.group(1)) * 1000 - now;
+            }
+        } catch (IllegalArgumentException e) {
+            return Long.MAX_VALUE;
+        }
+        return Long.MAX_VALUE;
+    }
+
+    private String hash(String token) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Entry(Result<DataAddress> result, long expiresAt) {
+    }
+}
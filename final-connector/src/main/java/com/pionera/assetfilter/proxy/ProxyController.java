@@ -14,6 +14,12 @@
 
 package com.pionera.assetfilter.proxy;
 
+import com.pionera.assetfilter.observability.MetricsRegistry;
+import com.pionera.assetfilter.observability.Tracing;
+import com.pionera.assetfilter.resilience.UpstreamGuard;
+import com.pionera.assetfilter.resilience.UpstreamRejectedException;
+import com.pionera.assetfilter.routing.EndpointGroup;
+import com.pionera.assetfilter.routing.EndpointRegistry;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
@@ -26,22 +32,47 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.container.ContainerRequestContext;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.Response;
-import org.eclipse.edc.connector.dataplane.spi.iam.DataPlaneAuthorizationService;
+import jakarta.ws.rs.core.StreamingOutput;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
 
 import static jakarta.ws.rs.core.HttpHeaders.ACCEPT;
+import static jakarta.ws.rs.core.HttpHeaders.ACCEPT_ENCODING;
 import static jakarta.ws.rs.core.HttpHeaders.AUTHORIZATION;
+import static jakarta.ws.rs.core.HttpHeaders.CACHE_CONTROL;
+import static jakarta.ws.rs.core.HttpHeaders.CONTENT_DISPOSITION;
+import static jakarta.ws.rs.core.HttpHeaders.CONTENT_ENCODING;
+import static jakarta.ws.rs.core.HttpHeaders.CONTENT_LENGTH;
 import static jakarta.ws.rs.core.HttpHeaders.CONTENT_TYPE;
+import static jakarta.ws.rs.core.HttpHeaders.ETAG;
+import static jakarta.ws.rs.core.HttpHeaders.EXPIRES;
+import static jakarta.ws.rs.core.HttpHeaders.IF_MATCH;
+import static jakarta.ws.rs.core.HttpHeaders.IF_MODIFIED_SINCE;
+import static jakarta.ws.rs.core.HttpHeaders.IF_NONE_MATCH;
+import static jakarta.ws.rs.core.HttpHeaders.IF_UNMODIFIED_SINCE;
+import static jakarta.ws.rs.core.HttpHeaders.LAST_MODIFIED;
+import static jakarta.ws.rs.core.HttpHeaders.RETRY_AFTER;
+import static jakarta.ws.rs.core.HttpHeaders.VARY;
 import static jakarta.ws.rs.core.MediaType.APPLICATION_OCTET_STREAM;
 import static jakarta.ws.rs.core.MediaType.WILDCARD;
 import static jakarta.ws.rs.core.Response.Status.FORBIDDEN;
+import static jakarta.ws.rs.core.Response.Status.NOT_MODIFIED;
+import static jakarta.ws.rs.core.Response.Status.NO_CONTENT;
+import static jakarta.ws.rs.core.Response.Status.OK;
+import static jakarta.ws.rs.core.Response.Status.SERVICE_UNAVAILABLE;
 import static jakarta.ws.rs.core.Response.Status.UNAUTHORIZED;
-import static java.util.Collections.emptyMap;
 import static org.eclipse.edc.spi.constants.CoreConstants.EDC_NAMESPACE;
 
 @Path("{any:.*}")
@@ -49,11 +80,47 @@ import static org.eclipse.edc.spi.constants.CoreConstants.EDC_NAMESPACE;
 @Produces(WILDCARD)
 public class ProxyController {
 
-    private final DataPlaneAuthorizationService authorizationService;
-    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private static final int STREAM_BUFFER_SIZE = 8192;
+    private static final String CACHE_STATUS_HEADER = "X-Proxy-Cache";
+    private static final List<String> FORWARDED_REQUEST_HEADERS = List.of(
+            CONTENT_TYPE, ACCEPT, ACCEPT_ENCODING, "Range", "If-Range", IF_MATCH, IF_NONE_MATCH, IF_MODIFIED_SINCE, IF_UNMODIFIED_SINCE
+    );
+    private static final List<String> FORWARDED_RESPONSE_HEADERS = List.of(
+            CONTENT_LENGTH, CONTENT_ENCODING, VARY, "Content-Range", "Accept-Ranges", ETAG, LAST_MODIFIED, CACHE_CONTROL, EXPIRES,
+            CONTENT_DISPOSITION
+    );
+    private static final List<String> STREAMING_CONTENT_TYPES = List.of(
+            "text/event-stream", "application/x-ndjson", "application/jsonl", "application/stream+json"
+    );
 
-    public ProxyController(DataPlaneAuthorizationService authorizationService) {
-        this.authorizationService = authorizationService;
+    private final ProxyAuthorizationCache authorizationCache;
+    private final ProxyResponseCache responseCache;
+    private final ProxyCompression compression;
+    private final BackendClientPool backendClients;
+    private final UpstreamGuard upstreamGuard;
+    private final EndpointRegistry endpointRegistry;
+    private final MetricsRegistry.Counter requestCount;
+    private final MetricsRegistry.Histogram requestLatency;
+    private final LongAdder bytesIn;
+    private final LongAdder bytesOut;
+    private final Tracing tracing;
+
+    public ProxyController(ProxyAuthorizationCache authorizationCache, ProxyResponseCache responseCache, ProxyCompression compression,
+                           BackendClientPool backendClients, UpstreamGuard upstreamGuard, EndpointRegistry endpointRegistry,
+                           MetricsRegistry metrics, Tracing tracing) {
+        this.authorizationCache = authorizationCache;
+        this.responseCache = responseCache;
+        this.compression = compression;
+        this.backendClients = backendClients;
+        this.upstreamGuard = upstreamGuard;
+        this.endpointRegistry = endpointRegistry;
+        this.requestCount = metrics.counter("asset_proxy_requests", "Requests handled by the public proxy.", "method", "status");
+        this.requestLatency = metrics.histogram("asset_proxy_request_duration_seconds",
+                "Time to response headers of the public proxy, including authorization and the backend call.", "method");
+        var bytes = metrics.counter("asset_proxy_bytes", "Body bytes received from (in) and sent to (out) proxy clients.", "direction");
+        this.bytesIn = bytes.labels("in");
+        this.bytesOut = bytes.labels("out");
+        this.tracing = tracing;
     }
 
     @GET
@@ -86,13 +153,33 @@ public class ProxyController {
         return proxyRequest(requestContext);
     }
 
+    // Streamed bodies are still being written when this returns; their bytes are counted as they pass.
     private Response proxyRequest(ContainerRequestContext requestContext) {
+        var event = new ProxyRequestEvent();
+        event.begin();
+        var started = System.nanoTime();
+        var response = forward(requestContext);
+        requestLatency.observeSince(started, requestContext.getMethod());
+        requestCount.inc(requestContext.getMethod(), Integer.toString(response.getStatus()));
+        event.end();
+        if (event.shouldCommit()) {
+            event.method = requestContext.getMethod();
+            event.status = response.getStatus();
+            event.cacheOutcome = response.getHeaderString(CACHE_STATUS_HEADER);
+            event.requestBytes = parseContentLength(requestContext.getHeaderString(CONTENT_LENGTH));
+            event.responseBytes = response.getLength();
+            event.commit();
+        }
+        return response;
+    }
+
+    private Response forward(ContainerRequestContext requestContext) {
         var token = requestContext.getHeaderString(AUTHORIZATION);
         if (token == null) {
             return Response.status(UNAUTHORIZED).build();
         }
 
-        var authorization = authorizationService.authorize(token, emptyMap());
+        var authorization = authorizationCache.authorize(token);
         if (authorization.failed()) {
             return Response.status(FORBIDDEN).build();
         }
@@ -102,35 +189,29 @@ public class ProxyController {
         try {
             var path = requestContext.getUriInfo().getPath();
             var query = requestContext.getUriInfo().getRequestUri().getRawQuery();
-            var baseUrl = sourceDataAddress.getStringProperty(EDC_NAMESPACE + "baseUrl");
-            var targetUrl = joinUrl(baseUrl, path);
-            if (query != null && !query.isBlank()) {
-                targetUrl = targetUrl + "?" + query;
+            var baseUrls = EndpointRegistry.parseBaseUrls(sourceDataAddress.getProperty(EDC_NAMESPACE + "baseUrls"),
+                    sourceDataAddress.getStringProperty(EDC_NAMESPACE + "baseUrl"));
+            if (baseUrls.isEmpty()) {
+                return Response.status(Response.Status.BAD_GATEWAY)
+                        .entity("{\"error\": \"Data address has no baseUrl\"}")
+                        .build();
             }
+            var endpoints = endpointRegistry.group(baseUrls, sourceDataAddress.getStringProperty(EDC_NAMESPACE + "loadBalancing"));
+            var target = new BackendTarget(endpoints, String.join(",", baseUrls), path, query);
 
-            var bodyBytes = requestContext.getEntityStream().readAllBytes();
-            var bodyPublisher = bodyBytes.length > 0
-                    ? HttpRequest.BodyPublishers.ofByteArray(bodyBytes)
-                    : HttpRequest.BodyPublishers.noBody();
-
-            var builder = HttpRequest.newBuilder()
-                    .uri(URI.create(targetUrl))
-                    .method(requestContext.getMethod(), bodyPublisher);
-
-            var contentType = requestContext.getHeaderString(CONTENT_TYPE);
-            if (contentType != null) {
-                builder.header(CONTENT_TYPE, contentType);
-            }
-
-            var accept = requestContext.getHeaderString(ACCEPT);
-            if (accept != null) {
-                builder.header(ACCEPT, accept);
+            if (responseCache != null && isCacheableRequest(requestContext)) {
+                return proxyCached(requestContext, target);
             }
-
-            var response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
-            return Response.status(response.statusCode())
-                    .header(CONTENT_TYPE, response.headers().firstValue(CONTENT_TYPE).orElse(APPLICATION_OCTET_STREAM))
-                    .entity(response.body())
+            return toResponse(requestContext, send(requestContext, target, Map.of()));
+        } catch (UpstreamRejectedException e) {
+            return Response.status(SERVICE_UNAVAILABLE)
+                    .header(RETRY_AFTER, e.retryAfterSeconds())
+                    .entity("{\"error\": \"Backend service is unavailable\"}")
+                    .build();
+        } catch (BackendClientPool.BackendSaturatedException e) {
+            return Response.status(SERVICE_UNAVAILABLE)
+                    .header(RETRY_AFTER, "1")
+                    .entity("{\"error\": \"Backend service is saturated\"}")
                     .build();
         } catch (IOException | InterruptedException e) {
             return Response.status(Response.Status.BAD_GATEWAY)
@@ -139,7 +220,220 @@ public class ProxyController {
         }
     }
 
-    private String joinUrl(String base, String path) {
+    private HttpResponse<InputStream> send(ContainerRequestContext requestContext, BackendTarget target, Map<String, String> extraHeaders)
+            throws IOException, InterruptedException {
+        var builder = HttpRequest.newBuilder()
+                .method(requestContext.getMethod(), requestBodyPublisher(requestContext));
+
+        for (var header : FORWARDED_REQUEST_HEADERS) {
+            var value = requestContext.getHeaderString(header);
+            if (value != null) {
+                builder.header(header, value);
+            }
+        }
+        var contentEncoding = requestContext.getHeaderString(CONTENT_ENCODING);
+        if (contentEncoding != null && !compression.decodesUpload(contentEncoding)) {
+            builder.header(CONTENT_ENCODING, contentEncoding);
+        }
+        extraHeaders.forEach(builder::header);
+
+        var lease = target.endpoints().acquire(null);
+        UpstreamGuard.Permit permit = null;
+        try {
+            var request = builder.uri(URI.create(target.url(lease.baseUrl()))).build();
+            permit = upstreamGuard.acquire(request.uri());
+            var response = tracing.send(request, backendClients::send);
+            permit.onResponse(response.statusCode());
+            lease.onResponse(response.statusCode());
+            return response;
+        } catch (UpstreamRejectedException | BackendClientPool.BackendSaturatedException e) {
+            throw e;
+        } catch (IOException e) {
+            permit.onFailure();
+            lease.onFailure();
+            throw e;
+        } finally {
+            if (permit != null) {
+                permit.release();
+            }
+            lease.release();
+        }
+    }
+
+    private Response toResponse(ContainerRequestContext requestContext, HttpResponse<InputStream> response) throws IOException {
+        var responseContentType = response.headers().firstValue(CONTENT_TYPE).orElse(APPLICATION_OCTET_STREAM);
+        var headers = forwardedResponseHeaders(response);
+
+        // 304 and 204 carry no body; 206 bodies are relayed like any other so ranged pulls stay streamed.
+        if (response.statusCode() == NOT_MODIFIED.getStatusCode() || response.statusCode() == NO_CONTENT.getStatusCode()) {
+            response.body().close();
+            return buildResponse(response.statusCode(), responseContentType, headers, null);
+        }
+        if (isStreamingContentType(responseContentType)) {
+            return buildResponse(response.statusCode(), responseContentType, headers, relay(response.body()));
+        }
+        if (compression.shouldCompress(requestContext.getHeaderString(ACCEPT_ENCODING), response.statusCode(), responseContentType, headers)) {
+            compression.rewriteHeaders(headers);
+            return buildResponse(response.statusCode(), responseContentType, headers, compression.gzip(response.body()));
+        }
+        return buildResponse(response.statusCode(), responseContentType, headers, response.body());
+    }
+
+    private Response buildResponse(int status, String contentType, Map<String, String> headers, Object entity) {
+        var responseBuilder = Response.status(status).header(CONTENT_TYPE, contentType);
+        headers.forEach(responseBuilder::header);
+        if (entity instanceof InputStream stream) {
+            responseBuilder.entity(ByteCounting.counting(stream, bytesOut));
+        } else if (entity instanceof StreamingOutput output) {
+            responseBuilder.entity(ByteCounting.counting(output, bytesOut));
+        } else if (entity != null) {
+            responseBuilder.entity(entity);
+        }
+        return responseBuilder.build();
+    }
+
+    private Map<String, String> forwardedResponseHeaders(HttpResponse<?> response) {
+        var headers = new LinkedHashMap<String, String>();
+        for (var header : FORWARDED_RESPONSE_HEADERS) {
+            response.headers().firstValue(header).ifPresent(value -> headers.put(header, value));
+        }
+        return headers;
+    }
+
+    // Ranged and client-conditional requests are always forwarded; the cache only serves plain GETs.
+    private boolean isCacheableRequest(ContainerRequestContext requestContext) {
+        return "GET".equalsIgnoreCase(requestContext.getMethod()) &&
+                requestContext.getHeaderString("Range") == null &&
+                requestContext.getHeaderString(IF_MATCH) == null &&
+                requestContext.getHeaderString(IF_UNMODIFIED_SINCE) == null &&
+                requestContext.getHeaderString(IF_MODIFIED_SINCE) == null;
+    }
+
+    private Response proxyCached(ContainerRequestContext requestContext, BackendTarget target) throws IOException, InterruptedException {
+        // Accept-Encoding is forwarded, so the backend may answer with a different encoding per value.
+        var acceptEncoding = Optional.ofNullable(requestContext.getHeaderString(ACCEPT_ENCODING)).orElse("").trim().toLowerCase(Locale.ROOT);
+        var cacheKey = target.url(target.logicalBaseUrl()) + "\n" + acceptEncoding;
+        var cached = responseCache.lookup(cacheKey);
+        var clientNoCache = Optional.ofNullable(requestContext.getHeaderString(CACHE_CONTROL))
+                .map(value -> value.toLowerCase(Locale.ROOT).contains("no-cache"))
+                .orElse(false);
+        if (cached != null && !clientNoCache && responseCache.isFresh(cached)) {
+            return fromCache(requestContext, cached, "HIT");
+        }
+
+        var validators = new LinkedHashMap<String, String>();
+        if (cached != null && requestContext.getHeaderString(IF_NONE_MATCH) == null) {
+            Optional.ofNullable(cached.header(ETAG)).ifPresent(etag -> validators.put(IF_NONE_MATCH, etag));
+            Optional.ofNullable(cached.header(LAST_MODIFIED)).ifPresent(date -> validators.put(IF_MODIFIED_SINCE, date));
+        }
+
+        var response = send(requestContext, target, validators);
+        if (cached != null && !validators.isEmpty() && response.statusCode() == NOT_MODIFIED.getStatusCode()) {
+            response.body().close();
+            return fromCache(requestContext, responseCache.refresh(cacheKey, cached, response.headers()), "REVALIDATED");
+        }
+
+        var contentLength = response.headers().firstValueAsLong(CONTENT_LENGTH).orElse(-1L);
+        var responseContentType = response.headers().firstValue(CONTENT_TYPE).orElse(APPLICATION_OCTET_STREAM);
+        if (response.statusCode() != OK.getStatusCode() || !responseCache.fitsEntry(contentLength) ||
+                isStreamingContentType(responseContentType) || !responseCache.isCacheable(response.headers())) {
+            return toResponse(requestContext, response);
+        }
+
+        byte[] body;
+        try (var upstream = response.body()) {
+            body = upstream.readAllBytes();
+        }
+        var headers = forwardedResponseHeaders(response);
+        headers.put(CONTENT_TYPE, responseContentType);
+        var stored = responseCache.store(cacheKey, response.headers(), headers, body);
+        if (stored == null) {
+            stored = new ProxyResponseCache.CachedResponse(response.statusCode(), headers, ByteBuffer.wrap(body), 0, true);
+        }
+        return fromCache(requestContext, stored, "MISS");
+    }
+
+    private Response fromCache(ContainerRequestContext requestContext, ProxyResponseCache.CachedResponse cached, String outcome) {
+        var etag = cached.header(ETAG);
+        var ifNoneMatch = requestContext.getHeaderString(IF_NONE_MATCH);
+        if (etag != null && ifNoneMatch != null && (ifNoneMatch.contains(etag) || "*".equals(ifNoneMatch.trim()))) {
+            var notModified = Response.status(NOT_MODIFIED).header(ETAG, etag).header(CACHE_STATUS_HEADER, outcome);
+            Optional.ofNullable(cached.header(CACHE_CONTROL)).ifPresent(value -> notModified.header(CACHE_CONTROL, value));
+            return notModified.build();
+        }
+
+        var headers = new LinkedHashMap<>(cached.headers());
+        headers.put(CACHE_STATUS_HEADER, outcome);
+        var contentType = Optional.ofNullable(headers.remove(CONTENT_TYPE)).orElse(APPLICATION_OCTET_STREAM);
+        StreamingOutput body = cached::writeBody;
+        if (compression.shouldCompress(requestContext.getHeaderString(ACCEPT_ENCODING), cached.status(), contentType, headers)) {
+            compression.rewriteHeaders(headers);
+            body = compression.gzip(body);
+        }
+        return buildResponse(cached.status(), contentType, headers, body);
+    }
+
+    // Streams the inbound entity to the backend instead of materializing it: with a Content-Length the
+    // backend receives a fixed-length body, otherwise the client falls back to chunked transfer encoding.
+    private HttpRequest.BodyPublisher requestBodyPublisher(ContainerRequestContext requestContext) {
+        var contentLength = parseContentLength(requestContext.getHeaderString(CONTENT_LENGTH));
+        if (contentLength == 0) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        var entityStream = ByteCounting.counting(requestContext.getEntityStream(), bytesIn);
+        var contentEncoding = requestContext.getHeaderString(CONTENT_ENCODING);
+        if (compression.decodesUpload(contentEncoding)) {
+            // Decoded length is unknown up front, so the decoded body always goes out chunked.
+            return HttpRequest.BodyPublishers.ofInputStream(() -> {
+                try {
+                    return compression.decodeUpload(entityStream, contentEncoding);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        var streamPublisher = HttpRequest.BodyPublishers.ofInputStream(() -> entityStream);
+        if (contentLength > 0) {
+            return HttpRequest.BodyPublishers.fromPublisher(streamPublisher, contentLength);
+        }
+        var transferEncoding = requestContext.getHeaderString("Transfer-Encoding");
+        if (transferEncoding != null || requestContext.hasEntity()) {
+            return streamPublisher;
+        }
+        return HttpRequest.BodyPublishers.noBody();
+    }
+
+    private long parseContentLength(String rawContentLength) {
+        if (rawContentLength == null || rawContentLength.isBlank()) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(rawContentLength.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private boolean isStreamingContentType(String contentType) {
+        var normalized = contentType.toLowerCase(Locale.ROOT);
+        return STREAMING_CONTENT_TYPES.stream().anyMatch(normalized::startsWith);
+    }
+
+    // Event streams are flushed per chunk; a plain InputStream entity would sit in the container buffer.
+    private StreamingOutput relay(InputStream upstream) {
+        return output -> {
+            try (upstream) {
+                var buffer = new byte[STREAM_BUFFER_SIZE];
+                int read;
+                while ((read = upstream.read(buffer)) != -1) {
+                    output.write(buffer, 0, read);
+                    output.flush();
+                }
+            }
+        };
+    }
+
+    private static String joinUrl(String base, String path) {
         if (base == null) {
             return null;
         }
@@ -151,4 +445,12 @@ public class ProxyController {
         var normalizedPath = trimmedPath.startsWith("/") ? trimmedPath : "/" + trimmedPath;
         return trimmedBase + normalizedPath;
     }
+
+    // The replicas of one asset share a cache entry, keyed by the full base URL list rather than the chosen replica.
+    private record BackendTarget(EndpointGroup endpoints, String logicalBaseUrl, String path, String query) {
+        String url(String baseUrl) {
+            var url = joinUrl(baseUrl, path);
+            return query == null || query.isBlank() ? url : url + "?" + query;
+        }
+    }
 }
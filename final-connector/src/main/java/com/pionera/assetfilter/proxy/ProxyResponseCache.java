@@ -0,0 +1,390 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.proxy;
+
+import org.eclipse.edc.spi.monitor.Monitor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.http.HttpHeaders;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Opt-in cache for idempotent GET responses of the public proxy. Entries are kept in a size-bounded
+ * in-memory LRU tier; when a disk directory is configured, entries evicted from memory are demoted to
+ * memory-mapped files. Freshness follows the backend's Cache-Control/Expires headers and stale entries
+ * are revalidated with their ETag/Last-Modified validators.
+ */
+class ProxyResponseCache {
+
+    private static final String BODY_SUFFIX = ".body";
+    private static final String META_SUFFIX = ".meta";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String STATUS_KEY = ":status";
+    private static final String EXPIRES_AT_KEY = ":expiresAt";
+    private static final String REVALIDATE_KEY = ":revalidate";
+
+    private final Clock clock;
+    private final Monitor monitor;
+    private final long maxMemoryBytes;
+    private final long maxEntryBytes;
+    private final long defaultTtlMillis;
+    private final Path diskDirectory;
+    private final long maxDiskBytes;
+
+    private final LinkedHashMap<String, CachedResponse> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Long> disk = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoryBytes;
+    private long diskBytes;
+
+    ProxyResponseCache(Clock clock, Monitor monitor, long maxMemoryBytes, long maxEntryBytes, long defaultTtlMillis,
+                       Path diskDirectory, long maxDiskBytes) {
+        this.clock = clock;
+        this.monitor = monitor;
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.maxEntryBytes = maxEntryBytes;
+        this.defaultTtlMillis = defaultTtlMillis;
+        this.diskDirectory = diskDirectory;
+        this.maxDiskBytes = maxDiskBytes;
+        prepareDiskDirectory();
+    }
+
+    CachedResponse lookup(String key) {
+        synchronized (this) {
+            var cached = memory.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            if (!disk.containsKey(key)) {
+                return null;
+            }
+        }
+        return readFromDisk(key);
+    }
+
+    boolean isFresh(CachedResponse cached) {
+        return !cached.revalidate() && cached.expiresAt() > clock.millis();
+    }
+
+    boolean fitsEntry(long contentLength) {
+        return contentLength >= 0 && contentLength <= maxEntryBytes;
+    }
+
+    /**
+     * Builds and stores an entry for a 200 response whose body has already been read, or returns null when the
+     * backend headers forbid shared caching.
+     */
+    CachedResponse store(String key, HttpHeaders responseHeaders, Map<String, String> forwardedHeaders, byte[] body) {
+        var freshness = freshness(responseHeaders);
+        if (freshness == null) {
+            return null;
+        }
+        var cached = new CachedResponse(200, Map.copyOf(forwardedHeaders), ByteBuffer.wrap(body),
+                freshness.expiresAt(), freshness.revalidate());
+        put(key, cached);
+        return cached;
+    }
+
+    // A 304 from the backend confirms the stored body; only freshness and validators are updated. A body served
+    // from disk is copied back to the heap: the memory tier only holds heap buffers, and a mapping must not be
+    // written back into the file it maps.
+    CachedResponse refresh(String key, CachedResponse cached, HttpHeaders notModifiedHeaders) {
+        var freshness = freshness(notModifiedHeaders);
+        var headers = new LinkedHashMap<>(cached.headers());
+        for (var name : List.of("ETag", "Last-Modified", "Cache-Control", "Expires")) {
+            notModifiedHeaders.firstValue(name).ifPresent(value -> headers.put(name, value));
+        }
+        var refreshed = new CachedResponse(cached.status(), Map.copyOf(headers), onHeap(cached.body()),
+                freshness == null ? clock.millis() : freshness.expiresAt(), freshness == null || freshness.revalidate());
+        put(key, refreshed);
+        return refreshed;
+    }
+
+    boolean isCacheable(HttpHeaders responseHeaders) {
+        var vary = responseHeaders.firstValue("Vary").orElse("");
+        if (!vary.isBlank() && !"accept-encoding".equalsIgnoreCase(vary.trim())) {
+            return false;
+        }
+        return freshness(responseHeaders) != null;
+    }
+
+    private Freshness freshness(HttpHeaders headers) {
+        var now = clock.millis();
+        var directives = parseCacheControl(headers.allValues("Cache-Control"));
+        if (directives.containsKey("no-store") || directives.containsKey("private")) {
+            return null;
+        }
+        var hasValidator = headers.firstValue("ETag").isPresent() || headers.firstValue("Last-Modified").isPresent();
+        var revalidate = directives.containsKey("no-cache");
+
+        var maxAge = parseSeconds(directives.getOrDefault("s-maxage", directives.get("max-age")));
+        if (maxAge >= 0) {
+            return maxAge == 0 && !hasValidator ? null : new Freshness(now + maxAge * 1000, revalidate || maxAge == 0);
+        }
+        var expires = headers.firstValue("Expires").map(this::parseHttpDate).orElse(-1L);
+        if (expires > now) {
+            return new Freshness(expires, revalidate);
+        }
+        if (defaultTtlMillis > 0) {
+            return new Freshness(now + defaultTtlMillis, revalidate);
+        }
+        // No explicit freshness: keep the body only when it can be cheaply revalidated.
+        return hasValidator ? new Freshness(now, true) : null;
+    }
+
+    private Map<String, String> parseCacheControl(List<String> values) {
+        var directives = new LinkedHashMap<String, String>();
+        for (var value : values) {
+            for (var part : value.split(",")) {
+                var trimmed = part.trim().toLowerCase(Locale.ROOT);
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                var eq = trimmed.indexOf('=');
+                if (eq > 0) {
+                    directives.put(trimmed.substring(0, eq).trim(), trimmed.substring(eq + 1).trim().replace("\"", ""));
+                } else {
+                    directives.put(trimmed, "");
+                }
+            }
+        }
+        return directives;
+    }
+
+    private long parseSeconds(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(raw);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private long parseHttpDate(String raw) {
+        try {
+            return ZonedDateTime.parse(raw.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    private void put(String key, CachedResponse cached) {
+        var size = cached.body().remaining();
+        if (size > maxEntryBytes) {
+            return;
+        }
+        var demoted = new ArrayList<Map.Entry<String, CachedResponse>>();
+        synchronized (this) {
+            var previous = memory.put(key, cached);
+            if (previous != null) {
+                memoryBytes -= previous.body().remaining();
+            }
+            memoryBytes += size;
+            var iterator = memory.entrySet().iterator();
+            while (memoryBytes > maxMemoryBytes && iterator.hasNext()) {
+                var eldest = iterator.next();
+                iterator.remove();
+                memoryBytes -= eldest.getValue().body().remaining();
+                demoted.add(eldest);
+            }
+        }
+        if (diskDirectory != null) {
+            demoted.forEach(entry -> writeToDisk(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    // Files are written aside and moved into place, never truncated: a reader may still map the previous body.
+    private void writeToDisk(String key, CachedResponse cached) {
+        var size = (long) cached.body().remaining();
+        if (size > maxDiskBytes) {
+            return;
+        }
+        var fileName = fileName(key);
+        Path bodyTemp = null;
+        Path metaTemp = null;
+        try {
+            bodyTemp = Files.createTempFile(diskDirectory, fileName, TEMP_SUFFIX);
+            try (var channel = FileChannel.open(bodyTemp, StandardOpenOption.WRITE)) {
+                var body = cached.body().duplicate();
+                while (body.hasRemaining()) {
+                    channel.write(body);
+                }
+            }
+            var meta = new Properties();
+            cached.headers().forEach(meta::setProperty);
+            meta.setProperty(STATUS_KEY, String.valueOf(cached.status()));
+            meta.setProperty(EXPIRES_AT_KEY, String.valueOf(cached.expiresAt()));
+            meta.setProperty(REVALIDATE_KEY, String.valueOf(cached.revalidate()));
+            metaTemp = Files.createTempFile(diskDirectory, fileName, TEMP_SUFFIX);
+            try (Writer writer = Files.newBufferedWriter(metaTemp, StandardCharsets.UTF_8)) {
+                meta.store(writer, key);
+            }
+            Files.move(bodyTemp, diskDirectory.resolve(fileName + BODY_SUFFIX), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(metaTemp, diskDirectory.resolve(fileName + META_SUFFIX), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            deleteQuietly(bodyTemp);
+            deleteQuietly(metaTemp);
+            monitor.debug("Failed to write proxy cache entry to disk: " + e.getMessage());
+            return;
+        }
+
+        synchronized (this) {
+            var previous = disk.put(key, size);
+            diskBytes += size - (previous == null ? 0 : previous);
+            var iterator = disk.entrySet().iterator();
+            while (diskBytes > maxDiskBytes && iterator.hasNext()) {
+                var eldest = iterator.next();
+                iterator.remove();
+                diskBytes -= eldest.getValue();
+                deleteFiles(fileName(eldest.getKey()));
+            }
+        }
+    }
+
+    private CachedResponse readFromDisk(String key) {
+        var fileName = fileName(key);
+        try (Reader reader = Files.newBufferedReader(diskDirectory.resolve(fileName + META_SUFFIX), StandardCharsets.UTF_8);
+             var channel = FileChannel.open(diskDirectory.resolve(fileName + BODY_SUFFIX), StandardOpenOption.READ)) {
+            var meta = new Properties();
+            meta.load(reader);
+            var headers = new LinkedHashMap<String, String>();
+            for (var name : meta.stringPropertyNames()) {
+                if (!name.startsWith(":")) {
+                    headers.put(name, meta.getProperty(name));
+                }
+            }
+            // The mapping stays valid after the channel is closed.
+            var body = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new CachedResponse(Integer.parseInt(meta.getProperty(STATUS_KEY, "200")), Map.copyOf(headers), body,
+                    Long.parseLong(meta.getProperty(EXPIRES_AT_KEY, "0")), Boolean.parseBoolean(meta.getProperty(REVALIDATE_KEY, "true")));
+        } catch (IOException | NumberFormatException e) {
+            synchronized (this) {
+                var size = disk.remove(key);
+                if (size != null) {
+                    diskBytes -= size;
+                }
+            }
+            deleteFiles(fileName);
+            return null;
+        }
+    }
+
+    // Disk entries are not recovered across restarts; stale files from a previous run are removed.
+    private void prepareDiskDirectory() {
+        if (diskDirectory == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(diskDirectory);
+            try (var files = Files.list(diskDirectory)) {
+                files.filter(file -> file.toString().endsWith(BODY_SUFFIX) || file.toString().endsWith(META_SUFFIX) ||
+                                file.toString().endsWith(TEMP_SUFFIX))
+                        .forEach(this::deleteQuietly);
+            }
+        } catch (IOException e) {
+            monitor.warning("Failed to prepare proxy cache directory " + diskDirectory + ": " + e.getMessage());
+        }
+    }
+
+    private void deleteFiles(String fileName) {
+        try {
+            Files.deleteIfExists(diskDirectory.resolve(fileName + BODY_SUFFIX));
+            Files.deleteIfExists(diskDirectory.resolve(fileName + META_SUFFIX));
+        } catch (IOException e) {
+            monitor.debug("Failed to delete proxy cache entry: " + e.getMessage());
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // best effort cleanup
+        }
+    }
+
+    private static ByteBuffer onHeap(ByteBuffer body) {
+        if (body.hasArray()) {
+            return body;
+        }
+        var copy = new byte[body.remaining()];
+        body.duplicate().get(copy);
+        return ByteBuffer.wrap(copy);
+    }
+
+    private String fileName(String key) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    record CachedResponse(int status, Map<String, String> headers, ByteBuffer body, long expiresAt, boolean revalidate) {
+
+        String header(String name) {
+            for (var entry : headers.entrySet()) {
+                if (entry.getKey().equalsIgnoreCase(name)) {
+                    return entry.getValue();
+                }
+            }
+            return null;
+        }
+
+        void writeBody(OutputStream output) throws IOException {
+            var view = body.duplicate();
+            if (view.hasArray()) {
+                output.write(view.array(), view.arrayOffset() + view.position(), view.remaining());
+                return;
+            }
+            var chunk = new byte[8192];
+            while (view.hasRemaining()) {
+                var count = Math.min(chunk.length, view.remaining());
+                view.get(chunk, 0, count);
+                output.write(chunk, 0, count);
+            }
+        }
+    }
+
+    private record Freshness(long expiresAt, boolean revalidate) {
+    }
+}
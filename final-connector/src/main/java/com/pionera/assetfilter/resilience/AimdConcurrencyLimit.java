@@ -0,0 +1,69 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.resilience;
+
+/**
+ * Additive-increase/multiplicative-decrease concurrency limit, following the AIMD strategy of Netflix
+ * concurrency-limits: the limit grows by one while the upstream keeps up (and is actually being used), and
+ * is cut by the backoff ratio whenever a call fails or exceeds the latency threshold.
+ */
+public class AimdConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long timeoutNanos;
+
+    private double limit;
+    private int inFlight;
+
+    public AimdConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long timeoutMillis) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.backoffRatio = backoffRatio;
+        this.timeoutNanos = timeoutMillis * 1_000_000L;
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    public synchronized void onResult(boolean dropped, long durationNanos) {
+        var inFlightBeforeRelease = inFlight;
+        inFlight = Math.max(0, inFlight - 1);
+        if (dropped || durationNanos > timeoutNanos) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (inFlightBeforeRelease * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    public synchronized void release() {
+        inFlight = Math.max(0, inFlight - 1);
+    }
+
+    public synchronized int limit() {
+        return (int) limit;
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+}
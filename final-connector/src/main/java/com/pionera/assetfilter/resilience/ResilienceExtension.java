@@ -0,0 +1,75 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.resilience;
+
+import com.pionera.assetfilter.observability.HealthCheck;
+import com.pionera.assetfilter.observability.HealthCheckRegistry;
+import org.eclipse.edc.runtime.metamodel.annotation.Configuration;
+import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Provides;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+
+import java.time.Clock;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Provides(UpstreamGuard.class)
+public class ResilienceExtension implements ServiceExtension {
+
+    @Configuration
+    private UpstreamGuardSettings settings;
+    @Inject
+    private Clock clock;
+    @Inject
+    private HealthCheckRegistry healthChecks;
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        var guard = new UpstreamGuard(clock, settings);
+        context.registerService(UpstreamGuard.class, guard);
+
+        healthChecks.register("upstream-saturation", EnumSet.of(HealthCheckRegistry.Probe.READINESS), () -> saturation(guard));
+        healthChecks.register("upstream-circuits", Set.of(), () -> circuits(guard));
+    }
+
+    // Upstreams with an open circuit reject immediately and do not hold capacity, so they are left out of the ratio.
+    private HealthCheck.Result saturation(UpstreamGuard guard) {
+        long inFlight = 0;
+        long limit = 0;
+        for (var snapshot : guard.snapshot().values()) {
+            if (snapshot.state() != CircuitBreaker.State.OPEN) {
+                inFlight += snapshot.inFlight();
+                limit += snapshot.limit();
+            }
+        }
+        var detail = inFlight + "/" + limit + " upstream calls in flight";
+        if (limit > 0 && (double) inFlight / limit >= healthChecks.saturationThreshold()) {
+            return HealthCheck.Result.unhealthy(detail);
+        }
+        return HealthCheck.Result.healthy(detail);
+    }
+
+    private HealthCheck.Result circuits(UpstreamGuard guard) {
+        var open = new TreeSet<String>();
+        guard.snapshot().forEach((origin, snapshot) -> {
+            if (snapshot.state() == CircuitBreaker.State.OPEN) {
+                open.add(origin);
+            }
+        });
+        return open.isEmpty() ? HealthCheck.Result.healthy("all circuits closed") : HealthCheck.Result.unhealthy("open circuits: " + String.join(", ", open));
+    }
+}
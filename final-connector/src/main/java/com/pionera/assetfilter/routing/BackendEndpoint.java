@@ -0,0 +1,82 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.routing;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Health and load state of one backend base URL, shared by every asset that lists it.
+ */
+public class BackendEndpoint {
+
+    private final String baseUrl;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long ejectedUntil;
+    private volatile boolean probeHealthy = true;
+    private volatile long lastUsed;
+
+    BackendEndpoint(String baseUrl, long now) {
+        this.baseUrl = baseUrl;
+        this.lastUsed = now;
+    }
+
+    public String baseUrl() {
+        return baseUrl;
+    }
+
+    public int outstanding() {
+        return outstanding.get();
+    }
+
+    public boolean isAvailable(long now) {
+        return probeHealthy && ejectedUntil <= now;
+    }
+
+    // Idle once nothing is outstanding and it was neither used nor handed out in a group for the idle period.
+    boolean isIdle(long now, long idleMillis) {
+        return outstanding.get() == 0 && now - lastUsed > idleMillis;
+    }
+
+    void touch(long now) {
+        lastUsed = now;
+    }
+
+    void onStart(long now) {
+        outstanding.incrementAndGet();
+        lastUsed = now;
+    }
+
+    void onEnd() {
+        outstanding.decrementAndGet();
+    }
+
+    void onSuccess() {
+        consecutiveFailures.set(0);
+    }
+
+    // Passive ejection: after enough consecutive failures the endpoint sits out for the ejection period.
+    void onFailure(long now, int ejectAfter, long ejectionMillis) {
+        if (consecutiveFailures.incrementAndGet() >= ejectAfter) {
+            consecutiveFailures.set(0);
+            ejectedUntil = now + ejectionMillis;
+        }
+    }
+
+    // A healthy probe only says the endpoint answers; a passive ejection still runs its full period.
+    void onProbe(boolean healthy) {
+        probeHealthy = healthy;
+    }
+}
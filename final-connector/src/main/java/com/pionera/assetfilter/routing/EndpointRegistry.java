@@ -0,0 +1,196 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+package com.pionera.assetfilter.routing;
+
+import org.eclipse.edc.spi.monitor.Monitor;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Endpoint groups for multi-replica HttpData assets. Endpoint state (outstanding requests, ejection, probe
+ * result) is kept per base URL, so assets sharing a replica also share what is known about it.
+ */
+public class EndpointRegistry {
+
+    private final Clock clock;
+    private final Monitor monitor;
+    private final String defaultStrategy;
+    private final int ejectAfter;
+    private final long ejectionMillis;
+    private final String probePath;
+    private final Duration probeTimeout;
+    private final long idleMillis;
+    private final Map<String, BackendEndpoint> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, EndpointGroup> groups = new ConcurrentHashMap<>();
+    private final HttpClient probeClient;
+    private final AtomicLong lastSweep = new AtomicLong();
+    private final Set<String> rejectedStrategies = ConcurrentHashMap.newKeySet();
+
+    public EndpointRegistry(Clock clock, Monitor monitor, String defaultStrategy, int ejectAfter, Duration ejection,
+                            String probePath, Duration probeTimeout, Duration idleTimeout) {
+        this.clock = clock;
+        this.monitor = monitor;
+        // Fails startup on a misspelled asset.routing.strategy.
+        LoadBalancer.named(defaultStrategy);
+        this.defaultStrategy = defaultStrategy;
+        this.ejectAfter = Math.max(1, ejectAfter);
+        this.ejectionMillis = ejection.toMillis();
+        this.probePath = probePath;
+        this.probeTimeout = probeTimeout;
+        this.idleMillis = idleTimeout.toMillis();
+        this.probeClient = HttpClient.newBuilder().connectTimeout(probeTimeout).build();
+    }
+
+    // Handing out a group counts as use of its endpoints. Both happen under the map's lock for the key, the same lock
+    // the sweep removes under, so a group (or endpoint) being handed out is never swept at the same time.
+    public EndpointGroup group(List<String> baseUrls, String strategy) {
+        var now = clock.millis();
+        sweepIdle(now);
+        var effectiveStrategy = effectiveStrategy(strategy);
+        var key = effectiveStrategy + "|" + String.join(",", baseUrls);
+        return groups.compute(key, (ignored, existing) -> {
+            if (existing != null) {
+                existing.touch(now);
+                return existing;
+            }
+            var members = new ArrayList<BackendEndpoint>(baseUrls.size());
+            for (var baseUrl : baseUrls) {
+                members.add(endpoints.compute(baseUrl, (url, endpoint) -> {
+                    if (endpoint == null) {
+                        return new BackendEndpoint(url, now);
+                    }
+                    endpoint.touch(now);
+                    return endpoint;
+                }));
+            }
+            return new EndpointGroup(List.copyOf(members), LoadBalancer.named(effectiveStrategy), clock, ejectAfter, ejectionMillis);
+        });
+    }
+
+    // An asset naming an unknown strategy keeps working on the default one; the warning is logged once per name.
+    private String effectiveStrategy(String strategy) {
+        if (strategy == null || strategy.isBlank()) {
+            return defaultStrategy;
+        }
+        try {
+            LoadBalancer.named(strategy);
+            return strategy;
+        } catch (IllegalArgumentException e) {
+            if (rejectedStrategies.add(strategy)) {
+                monitor.warning(e.getMessage() + "; using " + defaultStrategy + " instead");
+            }
+            return defaultStrategy;
+        }
+    }
+
+    public boolean isProbingEnabled() {
+        return probePath != null && !probePath.isBlank();
+    }
+
+    /**
+     * Active health check: every known endpoint gets a GET on the probe path; a 5xx or no answer within the
+     * probe timeout takes it out of rotation until a later probe succeeds.
+     */
+    public void probe() {
+        sweepIdle(clock.millis());
+        var probes = new ArrayList<CompletableFuture<?>>();
+        for (var endpoint : endpoints.values()) {
+            var request = HttpRequest.newBuilder()
+                    .uri(URI.create(stripTrailingSlash(endpoint.baseUrl()) + (probePath.startsWith("/") ? probePath : "/" + probePath)))
+                    .timeout(probeTimeout)
+                    .GET()
+                    .build();
+            probes.add(probeClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        var healthy = error == null && response.statusCode() < 500;
+                        if (!healthy) {
+                            monitor.debug("Health probe failed for " + endpoint.baseUrl());
+                        }
+                        endpoint.onProbe(healthy);
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(probes.toArray(new CompletableFuture[0])).join();
+    }
+
+    public Map<String, Boolean> availability() {
+        var now = clock.millis();
+        var result = new TreeMap<String, Boolean>();
+        endpoints.forEach((baseUrl, endpoint) -> result.put(baseUrl, endpoint.isAvailable(now)));
+        return result;
+    }
+
+    // Groups whose endpoints all stayed idle past the idle timeout are dropped, then endpoints no remaining group
+    // lists, so assets that are gone stop being tracked and probed.
+    private void sweepIdle(long now) {
+        var previous = lastSweep.get();
+        if (idleMillis <= 0 || now - previous < idleMillis || !lastSweep.compareAndSet(previous, now)) {
+            return;
+        }
+        for (var key : groups.keySet()) {
+            groups.computeIfPresent(key, (ignored, group) -> group.isIdle(now, idleMillis) ? null : group);
+        }
+        var listed = new HashSet<BackendEndpoint>();
+        groups.values().forEach(group -> listed.addAll(group.endpoints()));
+        for (var baseUrl : endpoints.keySet()) {
+            endpoints.computeIfPresent(baseUrl, (ignored, endpoint) -> !listed.contains(endpoint) && endpoint.isIdle(now, idleMillis) ? null : endpoint);
+        }
+    }
+
+    /**
+     * Base URLs of an HttpData address: a {@code baseUrls} list (JSON array or comma/whitespace separated
+     * string) when present, otherwise the single {@code baseUrl}.
+     */
+    public static List<String> parseBaseUrls(Object baseUrls, String baseUrl) {
+        var result = new ArrayList<String>();
+        if (baseUrls instanceof Collection<?> collection) {
+            for (var value : collection) {
+                addBaseUrls(result, String.valueOf(value));
+            }
+        } else if (baseUrls != null) {
+            addBaseUrls(result, baseUrls.toString());
+        }
+        if (result.isEmpty() && baseUrl != null && !baseUrl.isBlank()) {
+            result.add(baseUrl.trim());
+        }
+        return result;
+    }
+
+    private static void addBaseUrls(List<String> target, String raw) {
+        for (var part : raw.split("[,\\s]+")) {
+            if (!part.isBlank() && !target.contains(part)) {
+                target.add(part);
+            }
+        }
+    }
+
+    private static String stripTrailingSlash(String value) {
+        return value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+    }
+}
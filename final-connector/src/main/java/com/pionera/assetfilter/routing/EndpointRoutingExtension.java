@@ -0,0 +1,100 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+package com.pionera.assetfilter.routing;
+
+import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Provides;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Provides(EndpointRegistry.class)
+public class EndpointRoutingExtension implements ServiceExtension {
+
+    @Setting(description = "Balancing strategy for assets with several base URLs: round-robin, least-outstanding or power-of-two.",
+            key = "asset.routing.strategy", defaultValue = "power-of-two")
+    private String strategy;
+
+    @Setting(description = "Consecutive failed calls (5xx or I/O error) after which an endpoint is ejected from rotation.",
+            key = "asset.routing.ejection.consecutive.failures", defaultValue = "3")
+    private int ejectAfter;
+
+    @Setting(description = "Seconds an ejected endpoint stays out of rotation.",
+            key = "asset.routing.ejection.seconds", defaultValue = "30")
+    private long ejectionSeconds;
+
+    @Setting(description = "Path probed with GET on every known endpoint. Empty disables active health probes.",
+            key = "asset.routing.probe.path", defaultValue = "")
+    private String probePath;
+
+    @Setting(description = "Seconds between active health probes.",
+            key = "asset.routing.probe.interval.seconds", defaultValue = "10")
+    private long probeIntervalSeconds;
+
+    @Setting(description = "Timeout in milliseconds of a single health probe.",
+            key = "asset.routing.probe.timeout.ms", defaultValue = "2000")
+    private long probeTimeoutMillis;
+
+    @Setting(description = "Seconds after which endpoints and endpoint groups nobody used are forgotten and no longer probed. 0 keeps them forever.",
+            key = "asset.routing.idle.timeout.seconds", defaultValue = "600")
+    private long idleTimeoutSeconds;
+
+    @Inject
+    private Clock clock;
+    @Inject
+    private Monitor monitor;
+
+    private EndpointRegistry registry;
+    private ScheduledExecutorService prober;
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        registry = new EndpointRegistry(clock, monitor, strategy, ejectAfter, Duration.ofSeconds(ejectionSeconds),
+                probePath, Duration.ofMillis(probeTimeoutMillis), Duration.ofSeconds(idleTimeoutSeconds));
+        context.registerService(EndpointRegistry.class, registry);
+    }
+
+    @Override
+    public void start() {
+        if (!registry.isProbingEnabled()) {
+            return;
+        }
+        prober = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "endpoint-health-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        prober.scheduleWithFixedDelay(() -> {
+            try {
+                registry.probe();
+            } catch (RuntimeException e) {
+                monitor.warning("Endpoint health probe failed: " + e.getMessage());
+            }
+        }, probeIntervalSeconds, probeIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void shutdown() {
+        if (prober != null) {
+            prober.shutdownNow();
+        }
+    }
+}
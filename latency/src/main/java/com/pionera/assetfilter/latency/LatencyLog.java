@@ -0,0 +1,67 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.latency;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes interval histograms to an HdrHistogram log ({@code .hlog}), one tagged line per interval. These logs can be
+ * replayed with HdrHistogram's {@code HistogramLogProcessor} or plotted with HdrHistogram's log analyzers, so runs
+ * from different builds can be compared interval by interval.
+ */
+public class LatencyLog implements Closeable {
+
+    private final HistogramLogWriter writer;
+
+    public LatencyLog(Path file, String comment) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        writer = new HistogramLogWriter(file.toFile());
+        var now = System.currentTimeMillis();
+        writer.outputComment(comment);
+        writer.outputLogFormatVersion();
+        writer.outputStartTime(now);
+        writer.setBaseTime(now);
+        writer.outputLegend();
+    }
+
+    /**
+     * Appends an interval taken from {@link LatencyRecorder#interval()}. Empty intervals are skipped.
+     */
+    public synchronized void append(String tag, Histogram interval) {
+        if (interval.getTotalCount() == 0) {
+            return;
+        }
+        interval.setTag(sanitize(tag));
+        writer.outputIntervalHistogram(interval);
+    }
+
+    @Override
+    public synchronized void close() {
+        writer.close();
+    }
+
+    // Tags end at the first comma or whitespace in the log format.
+    private static String sanitize(String tag) {
+        return tag.replaceAll("[,\\s]", ";");
+    }
+}
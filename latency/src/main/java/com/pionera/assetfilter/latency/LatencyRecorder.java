@@ -0,0 +1,90 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.latency;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.PackedHistogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thread-safe latency recording into HdrHistograms at 3 significant digits, with samples capped at 1 hour.
+ * Recording is wait-free. Interval histograms can be taken for logging, and everything recorded also goes into a
+ * running total for reports.
+ *
+ * <p>Open-loop callers measure from each request's scheduled start, and their samples need no correction.
+ * Closed-loop callers, which wait for each response before sending the next request, should pass their expected
+ * interval. The histogram then back-fills the samples a stall kept them from taking (coordinated omission).
+ */
+public class LatencyRecorder {
+
+    public static final long HIGHEST_NANOS = TimeUnit.HOURS.toNanos(1);
+    public static final int SIGNIFICANT_DIGITS = 3;
+
+    // Packed, auto-resizing storage keeps sparsely populated histograms small, so one recorder per metric series is affordable.
+    private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS, true);
+    private final Histogram total = new PackedHistogram(SIGNIFICANT_DIGITS);
+    // Samples drained from the recorder but not yet handed out by interval(). Reports drain into it as well, so
+    // reading percentiles never takes samples away from the interval log.
+    private Histogram pending = pending(System.currentTimeMillis());
+
+    public void recordNanos(long nanos) {
+        recorder.recordValue(clamp(nanos));
+    }
+
+    /**
+     * Records a closed-loop sample. When it exceeds {@code expectedIntervalNanos}, the samples that would have
+     * been taken during the stall are added as well.
+     */
+    public void recordNanos(long nanos, long expectedIntervalNanos) {
+        recorder.recordValueWithExpectedInterval(clamp(nanos), expectedIntervalNanos);
+    }
+
+    /**
+     * Samples recorded since the previous call, with start and end timestamps set for a {@link LatencyLog}.
+     */
+    public synchronized Histogram interval() {
+        drain();
+        var interval = pending;
+        pending = pending(interval.getEndTimeStamp());
+        return interval;
+    }
+
+    /**
+     * Percentiles over everything recorded so far.
+     */
+    public synchronized LatencyReport report() {
+        drain();
+        return LatencyReport.of(total);
+    }
+
+    private void drain() {
+        var sample = recorder.getIntervalHistogram();
+        total.add(sample);
+        pending.add(sample);
+        pending.setEndTimeStamp(sample.getEndTimeStamp());
+    }
+
+    private static Histogram pending(long startMillis) {
+        var histogram = new PackedHistogram(SIGNIFICANT_DIGITS);
+        histogram.setStartTimeStamp(startMillis);
+        return histogram;
+    }
+
+    private static long clamp(long nanos) {
+        return Math.max(0, Math.min(nanos, HIGHEST_NANOS));
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.latency;
+
+import org.HdrHistogram.AbstractHistogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Percentile summary of a latency histogram in milliseconds. The load test and the runtime's {@code /check/latency}
+ * both render it through {@link #toMap()}, so their reports can be compared key for key.
+ */
+public record LatencyReport(long count, double meanMillis, double p50Millis, double p90Millis, double p99Millis, double p999Millis,
+                            double maxMillis) {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    public static LatencyReport of(AbstractHistogram histogram) {
+        if (histogram.getTotalCount() == 0) {
+            return new LatencyReport(0, 0, 0, 0, 0, 0, 0);
+        }
+        return new LatencyReport(histogram.getTotalCount(),
+                histogram.getMean() / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(90) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                histogram.getMaxValue() / NANOS_PER_MILLI);
+    }
+
+    public Map<String, Object> toMap() {
+        var map = new LinkedHashMap<String, Object>();
+        map.put("count", count);
+        map.put("mean", round(meanMillis));
+        map.put("p50", round(p50Millis));
+        map.put("p90", round(p90Millis));
+        map.put("p99", round(p99Millis));
+        map.put("p99.9", round(p999Millis));
+        map.put("max", round(maxMillis));
+        return map;
+    }
+
+    // Microsecond resolution; the histogram's own precision is 3 significant digits anyway.
+    private static double round(double millis) {
+        return Math.round(millis * 1000) / 1000.0;
+    }
+}
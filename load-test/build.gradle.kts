@@ -0,0 +1,19 @@
+plugins {
+    java
+    application
+}
+
+dependencies {
+    implementation(project(":latency"))
+    implementation(libs.jackson.databind)
+}
+
+application {
+    mainClass.set("com.pionera.assetfilter.loadtest.LoadTest")
+    applicationDefaultJvmArgs = listOf("-Xms1g", "-Xmx1g")
+}
+
+// ./gradlew :load-test:run --args="scenarios=filter,infer rate=200 duration=60"
+tasks.named<JavaExec>("run") {
+    workingDir = projectDir
+}
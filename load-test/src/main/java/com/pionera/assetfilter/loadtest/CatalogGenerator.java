@@ -0,0 +1,120 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic DAIMO model catalogs for the stand-ins. Facet values come from pools of {@code cardinality}
+ * distinct values, so the share of datasets a facet filter keeps can be tuned from the command line.
+ */
+class CatalogGenerator {
+
+    static final String DAIMO = "https://pionera.ai/edc/daimo#";
+    static final String[] TASKS = {
+        "text-classification", "token-classification", "text-generation", "translation", "summarization",
+        "image-classification", "object-detection", "tabular-regression", "tabular-classification", "feature-extraction"
+    };
+    private static final String[] LICENSES = { "Apache-2.0", "MIT", "CC-BY-4.0", "GPL-3.0", "proprietary" };
+
+    private final ObjectMapper mapper;
+    private final int datasets;
+    private final int cardinality;
+
+    CatalogGenerator(ObjectMapper mapper, int datasets, int cardinality) {
+        this.mapper = mapper;
+        this.datasets = datasets;
+        this.cardinality = Math.max(1, cardinality);
+    }
+
+    static String assetId(int index) {
+        return String.format(Locale.ROOT, "asset-%06d", index);
+    }
+
+    static String agreementId(int index) {
+        return String.format(Locale.ROOT, "agreement-%06d", index);
+    }
+
+    int datasets() {
+        return datasets;
+    }
+
+    /**
+     * The catalog as the provider's DSP endpoint returns it, which the management API relays to the caller.
+     */
+    ObjectNode catalog(String participantId, String contextKey, String contextValue) {
+        var random = new SplittableRandom(42);
+        var catalog = mapper.createObjectNode();
+        catalog.put("@id", participantId + "-catalog");
+        catalog.put("@type", "dcat:Catalog");
+        catalog.put("dspace:participantId", participantId);
+        var array = catalog.putArray("dcat:dataset");
+        for (int i = 0; i < datasets; i++) {
+            array.add(dataset(i, random));
+        }
+        var service = catalog.putArray("dcat:service").addObject();
+        service.put("@id", "data-service");
+        service.put("@type", "dcat:DataService");
+        var context = catalog.putObject("@context");
+        context.put(contextKey, contextValue);
+        context.put("dcat", "http://www.w3.org/ns/dcat#");
+        context.put("dct", "http://purl.org/dc/terms/");
+        context.put("odrl", "http://www.w3.org/ns/odrl/2/");
+        context.put("dspace", "https://w3id.org/dspace/v0.8/");
+        return catalog;
+    }
+
+    private ObjectNode dataset(int index, SplittableRandom random) {
+        var id = assetId(index);
+        var dataset = mapper.createObjectNode();
+        dataset.put("@id", id);
+        dataset.put("@type", "dcat:Dataset");
+
+        var policy = dataset.putObject("odrl:hasPolicy");
+        policy.put("@id", "offer-" + id);
+        policy.put("@type", "odrl:Offer");
+        policy.putArray("odrl:permission");
+        policy.putArray("odrl:prohibition");
+        policy.putArray("odrl:obligation");
+
+        var distribution = dataset.putArray("dcat:distribution").addObject();
+        distribution.put("@type", "dcat:Distribution");
+        distribution.putObject("dct:format").put("@id", "HttpData-PULL");
+        distribution.put("dcat:accessService", "data-service");
+
+        var task = TASKS[random.nextInt(TASKS.length)];
+        dataset.put("id", id);
+        dataset.put("name", "Model " + index + " " + task);
+        dataset.put("contenttype", "application/json");
+        dataset.put(DAIMO + "pipeline_tag", task);
+        dataset.put(DAIMO + "license", LICENSES[random.nextInt(LICENSES.length)]);
+        dataset.put(DAIMO + "library_name", "library-" + random.nextInt(Math.min(cardinality, 32)));
+        dataset.put(DAIMO + "base_model", "org-" + random.nextInt(cardinality) + "/base");
+        var tags = dataset.putArray(DAIMO + "tags");
+        for (int t = 0; t < 3; t++) {
+            tags.add("tag-" + random.nextInt(cardinality));
+        }
+        dataset.putArray(DAIMO + "datasets").add("dataset-" + random.nextInt(cardinality));
+        dataset.putArray(DAIMO + "language").add(random.nextBoolean() ? "en" : "es");
+        var metrics = dataset.putObject(DAIMO + "metrics");
+        metrics.put("accuracy", Math.round(random.nextDouble(0.5, 1.0) * 1000) / 1000.0);
+        metrics.put("downloads", random.nextInt(1_000_000));
+        return dataset;
+    }
+}
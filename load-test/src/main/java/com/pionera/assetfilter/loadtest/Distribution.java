@@ -0,0 +1,83 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.loadtest;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A distribution of non-negative values (milliseconds, bytes) parsed from {@code fixed:20}, {@code uniform:5:50},
+ * {@code exponential:20} (mean), {@code lognormal:20:0.6} (median, sigma) or a bare number.
+ */
+abstract class Distribution {
+
+    abstract double sample();
+
+    long sampleLong() {
+        return Math.max(0, Math.round(sample()));
+    }
+
+    static Distribution parse(String spec) {
+        var parts = spec.trim().toLowerCase(Locale.ROOT).split(":");
+        try {
+            return switch (parts[0]) {
+                case "fixed" -> fixed(Double.parseDouble(parts[1]));
+                case "uniform" -> uniform(Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+                case "exponential", "exp" -> exponential(Double.parseDouble(parts[1]));
+                case "lognormal" -> lognormal(Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+                default -> fixed(Double.parseDouble(parts[0]));
+            };
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid distribution '" + spec + "'", e);
+        }
+    }
+
+    static Distribution fixed(double value) {
+        return new Distribution() {
+            @Override
+            double sample() {
+                return value;
+            }
+        };
+    }
+
+    static Distribution uniform(double min, double max) {
+        return new Distribution() {
+            @Override
+            double sample() {
+                return max <= min ? min : ThreadLocalRandom.current().nextDouble(min, max);
+            }
+        };
+    }
+
+    static Distribution exponential(double mean) {
+        return new Distribution() {
+            @Override
+            double sample() {
+                return -mean * Math.log(1 - ThreadLocalRandom.current().nextDouble());
+            }
+        };
+    }
+
+    // Long right tail with the given median: a reasonable shape for service latencies.
+    static Distribution lognormal(double median, double sigma) {
+        return new Distribution() {
+            @Override
+            double sample() {
+                return median * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian());
+            }
+        };
+    }
+}
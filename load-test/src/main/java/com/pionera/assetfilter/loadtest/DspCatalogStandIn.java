@@ -0,0 +1,46 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A provider's DSP catalog endpoint, for runs where the consumer's real management API fetches the catalog.
+ * Only catalog requests and version discovery are served; the identity token is not checked, as with the mock
+ * IAM the connectors use locally.
+ */
+class DspCatalogStandIn implements StandInServer.Route {
+
+    private static final String VERSIONS = "{\"protocolVersions\":[{\"version\":\"v0.8\",\"path\":\"/\"}]}";
+
+    private final String basePath;
+    private final byte[] catalog;
+
+    DspCatalogStandIn(ObjectMapper mapper, CatalogGenerator catalogs, String basePath) throws Exception {
+        this.basePath = basePath;
+        this.catalog = mapper.writeValueAsBytes(catalogs.catalog("provider", "@vocab", "https://w3id.org/edc/v0.0.1/ns/"));
+    }
+
+    @Override
+    public StandInServer.Reply handle(String method, String path, byte[] body) {
+        if ("GET".equals(method) && path.equals(basePath + "/.well-known/dspace-version")) {
+            return StandInServer.Reply.json(VERSIONS);
+        }
+        if ("POST".equals(method) && path.startsWith(basePath) && path.endsWith("/catalog/request")) {
+            return new StandInServer.Reply(200, catalog);
+        }
+        return StandInServer.Reply.notFound();
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.pionera.assetfilter.latency.LatencyLog;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Open-loop load against {@code /filter/catalog}, {@code /infer} and the public proxy, with in-process stand-ins
+ * for the management API, a provider's DSP catalog endpoint and the model backends. Runs fully offline: start the
+ * connector with {@code asset.management.url} pointing at the management stand-in (see the load-test docs).
+ *
+ * <p>{@code mode=standins} only starts the stand-ins and keeps them running.
+ */
+public class LoadTest {
+
+    private static final String EDC_VOCAB = "https://w3id.org/edc/v0.0.1/ns/";
+
+    public static void main(String[] args) throws Exception {
+        var config = new LoadTestConfig(args);
+        var mapper = new ObjectMapper();
+        var standIns = config.bool("standins", true) ? startStandIns(config, mapper) : List.<StandInServer>of();
+        try {
+            if ("standins".equals(config.string("mode", "run"))) {
+                System.out.println("Stand-ins running; stop with Ctrl+C");
+                Thread.currentThread().join();
+            }
+            List<ScenarioResult> results;
+            var logFile = Path.of(config.string("histogram.log", "build/load-test/latency.hlog"));
+            try (var log = new LatencyLog(logFile, "load test " + describe(args))) {
+                results = run(config, mapper, log);
+            }
+            print(results);
+            writeReport(mapper, Path.of(config.string("report", "build/load-test/report.json")), results);
+            System.out.println("Latency intervals written to " + logFile.toAbsolutePath());
+        } finally {
+            standIns.forEach(StandInServer::stop);
+        }
+    }
+
+    // The log header records how the run was started, without the proxy token.
+    private static String describe(String[] args) {
+        return Arrays.stream(args)
+                .map(arg -> arg.startsWith("proxy.token=") ? "proxy.token=***" : arg)
+                .collect(Collectors.joining(" "));
+    }
+
+    private static List<StandInServer> startStandIns(LoadTestConfig config, ObjectMapper mapper) throws Exception {
+        var host = config.string("standin.host", "localhost");
+        var threads = config.integer("standin.threads", 16);
+        var catalogs = new CatalogGenerator(mapper, config.integer("catalog.datasets", 1000), config.integer("catalog.cardinality", 64));
+
+        var model = new StandInServer("model", host, config.integer("model.port", 18195), threads,
+                config.distribution("model.latency.ms", "lognormal:20:0.6"),
+                config.decimal("model.error.rate", 0.01), config.integer("model.error.status", 503),
+                new ModelBackendStandIn(config.distribution("model.payload.bytes", "uniform:256:4096")));
+        var dsp = new StandInServer("dsp", host, config.integer("dsp.port", 18194), threads,
+                config.distribution("dsp.latency.ms", "lognormal:15:0.4"),
+                config.decimal("dsp.error.rate", 0), config.integer("dsp.error.status", 500),
+                new DspCatalogStandIn(mapper, catalogs, "/protocol"));
+        var management = new StandInServer("management", host, config.integer("management.port", 18193), threads,
+                config.distribution("management.latency.ms", "lognormal:5:0.5"),
+                config.decimal("management.error.rate", 0), config.integer("management.error.status", 500),
+                new ManagementApiStandIn(mapper, catalogs, "/management", model.baseUrl(), dsp.baseUrl() + "/protocol",
+                        !"transfer".equals(config.string("infer.flow", "local"))));
+
+        var servers = List.of(model, dsp, management);
+        servers.forEach(StandInServer::start);
+        servers.forEach(server -> System.out.println("Stand-in " + server.name() + " listening on " + server.baseUrl()));
+        System.out.println("Start the connector with asset.management.url=" + management.baseUrl() + "/management");
+        return servers;
+    }
+
+    private static List<ScenarioResult> run(LoadTestConfig config, ObjectMapper mapper, LatencyLog log) throws Exception {
+        var client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        var driver = new OpenLoopDriver(client, config.integer("max.outstanding", 1000),
+                Duration.ofMillis(config.integer("timeout.ms", 30_000)), log);
+        var warmup = config.seconds("warmup", 10);
+        var duration = config.seconds("duration", 60);
+
+        var runs = new ArrayList<Callable<ScenarioResult>>();
+        for (var scenario : config.list("scenarios", "filter,infer")) {
+            var requests = requests(scenario, config, mapper);
+            var rate = config.decimal(scenario, "rate", 50);
+            runs.add(() -> {
+                System.out.printf(Locale.ROOT, "Running %s at %.1f req/s for %ds after %ds warm-up%n", scenario, rate,
+                        duration.toSeconds(), warmup.toSeconds());
+                return driver.run(scenario, requests, rate, warmup, duration);
+            });
+        }
+
+        var results = new ArrayList<ScenarioResult>();
+        if (!config.bool("parallel", false)) {
+            for (var run : runs) {
+                results.add(run.call());
+            }
+            return results;
+        }
+        // Mixed load: every scenario runs at its own rate at the same time.
+        var executor = Executors.newFixedThreadPool(runs.size());
+        try {
+            var futures = new ArrayList<Future<ScenarioResult>>();
+            runs.forEach(run -> futures.add(executor.submit(run)));
+            for (var future : futures) {
+                results.add(future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return results;
+    }
+
+    private static Supplier<HttpRequest.Builder> requests(String scenario, LoadTestConfig config, ObjectMapper mapper) throws Exception {
+        var api = config.string("target.api", "http://localhost:29191/api");
+        var dspUrl = config.string("counterparty.address",
+                "http://" + config.string("standin.host", "localhost") + ":" + config.integer("dsp.port", 18194) + "/protocol");
+        var assets = Math.max(1, config.integer("infer.assets", Math.min(100, config.integer("catalog.datasets", 1000))));
+        var sequence = new AtomicLong();
+        return switch (scenario) {
+            case "filter" -> {
+                var body = mapper.createObjectNode();
+                body.putObject("@context").put("@vocab", EDC_VOCAB);
+                body.put("counterPartyAddress", dspUrl);
+                body.put("protocol", "dataspace-protocol-http");
+                var payload = mapper.writeValueAsString(body);
+                var uri = URI.create(api + "/filter/catalog?" + config.string("filter.query", "profile=daimo&task=text-classification&sort=name"));
+                yield () -> post(uri, payload);
+            }
+            case "infer" -> {
+                var uri = URI.create(api + "/infer");
+                var transfer = "transfer".equals(config.string("infer.flow", "local"));
+                yield () -> {
+                    var index = (int) (sequence.getAndIncrement() % assets);
+                    var body = inferenceBody(mapper, config);
+                    if (transfer) {
+                        body.put("contractId", CatalogGenerator.agreementId(index));
+                        body.put("connectorId", "provider");
+                        body.put("counterPartyAddress", dspUrl);
+                        body.put("protocol", "dataspace-protocol-http");
+                    } else {
+                        body.put("assetId", CatalogGenerator.assetId(index));
+                    }
+                    return post(uri, body.toString());
+                };
+            }
+            case "proxy" -> {
+                var token = config.string("proxy.token", null);
+                if (token == null) {
+                    throw new IllegalArgumentException("The proxy scenario needs proxy.token (the authorization of an EDR)");
+                }
+                var uri = URI.create(config.string("target.proxy", "http://localhost:19291/public") + config.string("proxy.path", "/predict"));
+                var payload = inferenceBody(mapper, config).get("payload").toString();
+                yield () -> post(uri, payload).header("Authorization", token);
+            }
+            default -> throw new IllegalArgumentException("Unknown scenario '" + scenario + "' (expected filter, infer or proxy)");
+        };
+    }
+
+    private static ObjectNode inferenceBody(ObjectMapper mapper, LoadTestConfig config) {
+        var body = mapper.createObjectNode();
+        body.put("method", "POST");
+        body.put("path", config.string("infer.path", "/predict"));
+        var inputs = body.putObject("payload").putArray("inputs");
+        for (int i = 0; i < config.integer("infer.inputs", 4); i++) {
+            inputs.add(i * 0.25);
+        }
+        return body;
+    }
+
+    private static HttpRequest.Builder post(URI uri, String json) {
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    private static void print(List<ScenarioResult> results) {
+        System.out.printf(Locale.ROOT, "%n%-8s %9s %9s %9s %8s %8s %8s %9s %9s %9s %9s %9s%n",
+                "scenario", "target/s", "actual/s", "ok", "non-2xx", "errors", "dropped", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (var result : results) {
+            var latency = result.latency();
+            System.out.printf(Locale.ROOT, "%-8s %9.1f %9.1f %9d %8d %8d %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    result.name(), result.targetRate(), result.achievedRate(), result.succeeded(), result.failed(), result.errors(),
+                    result.dropped(), latency.p50Millis(), latency.p90Millis(), latency.p99Millis(), latency.p999Millis(), latency.maxMillis());
+        }
+    }
+
+    private static void writeReport(ObjectMapper mapper, Path file, List<ScenarioResult> results) throws Exception {
+        var report = mapper.createObjectNode();
+        var scenarios = report.putArray("scenarios");
+        for (var result : results) {
+            var node = scenarios.addObject();
+            node.put("name", result.name());
+            node.put("targetRate", result.targetRate());
+            node.put("achievedRate", result.achievedRate());
+            node.put("durationSeconds", result.duration().toMillis() / 1000.0);
+            node.put("succeeded", result.succeeded());
+            node.put("failed", result.failed());
+            node.put("errors", result.errors());
+            node.put("dropped", result.dropped());
+            node.put("bytes", result.bytes());
+            node.set("latencyMs", mapper.valueToTree(result.latency().toMap()));
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        mapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        System.out.println("\nReport written to " + file.toAbsolutePath());
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * {@code key=value} settings from the command line, optionally on top of a properties file given as
+ * {@code config=path}. Scenario-specific keys ({@code rate.filter}) override the shared ones ({@code rate}).
+ */
+class LoadTestConfig {
+
+    private final Properties properties = new Properties();
+
+    LoadTestConfig(String[] args) throws IOException {
+        var overrides = new Properties();
+        for (var arg : args) {
+            var separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got '" + arg + "'");
+            }
+            overrides.setProperty(arg.substring(0, separator).trim(), arg.substring(separator + 1).trim());
+        }
+        var file = overrides.getProperty("config");
+        if (file != null) {
+            try (Reader reader = Files.newBufferedReader(Path.of(file))) {
+                properties.load(reader);
+            }
+        }
+        properties.putAll(overrides);
+    }
+
+    String string(String key, String defaultValue) {
+        return properties.getProperty(key, defaultValue);
+    }
+
+    String string(String scenario, String key, String defaultValue) {
+        return properties.getProperty(key + "." + scenario, string(key, defaultValue));
+    }
+
+    int integer(String key, int defaultValue) {
+        return Integer.parseInt(string(key, Integer.toString(defaultValue)));
+    }
+
+    double decimal(String key, double defaultValue) {
+        return Double.parseDouble(string(key, Double.toString(defaultValue)));
+    }
+
+    double decimal(String scenario, String key, double defaultValue) {
+        return Double.parseDouble(string(scenario, key, Double.toString(defaultValue)));
+    }
+
+    boolean bool(String key, boolean defaultValue) {
+        return Boolean.parseBoolean(string(key, Boolean.toString(defaultValue)));
+    }
+
+    Duration seconds(String key, long defaultValue) {
+        return Duration.ofMillis(Math.round(decimal(key, defaultValue) * 1000));
+    }
+
+    Distribution distribution(String key, String defaultValue) {
+        return Distribution.parse(string(key, defaultValue));
+    }
+
+    List<String> list(String key, String defaultValue) {
+        return Arrays.stream(string(key, defaultValue).split(",")).map(String::trim).filter(value -> !value.isEmpty()).toList();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Answers the management API calls made by {@code /filter/catalog} and {@code /infer}: catalog requests, asset
+ * lookups, agreement and negotiation queries, transfer starts and EDR lookups. Responses that do not depend on
+ * the request are serialized once up front, so the stand-in stays cheap next to the connector under test.
+ */
+class ManagementApiStandIn implements StandInServer.Route {
+
+    private static final String EDC_VOCAB = "https://w3id.org/edc/v0.0.1/ns/";
+
+    private final ObjectMapper mapper;
+    private final String basePath;
+    private final String modelBaseUrl;
+    private final boolean localAssets;
+    private final byte[] catalog;
+    private final byte[] agreements;
+    private final byte[] negotiations;
+
+    ManagementApiStandIn(ObjectMapper mapper, CatalogGenerator catalogs, String basePath, String modelBaseUrl, String dspUrl,
+                         boolean localAssets) throws Exception {
+        this.mapper = mapper;
+        this.basePath = basePath;
+        this.modelBaseUrl = modelBaseUrl;
+        this.localAssets = localAssets;
+        this.catalog = mapper.writeValueAsBytes(catalogs.catalog("provider", "@vocab", EDC_VOCAB));
+
+        var agreementList = mapper.createArrayNode();
+        var negotiationList = mapper.createArrayNode();
+        for (int i = 0; i < catalogs.datasets(); i++) {
+            var agreement = agreementList.addObject();
+            agreement.put("@type", "ContractAgreement");
+            agreement.put("@id", CatalogGenerator.agreementId(i));
+            agreement.put("assetId", CatalogGenerator.assetId(i));
+            agreement.put("providerId", "provider");
+            agreement.put("consumerId", "consumer");
+            agreement.put("contractSigningDate", 1_700_000_000L + i);
+
+            var negotiation = negotiationList.addObject();
+            negotiation.put("@type", "ContractNegotiation");
+            negotiation.put("@id", "negotiation-" + i);
+            negotiation.put("state", "FINALIZED");
+            negotiation.put("counterPartyId", "provider");
+            negotiation.put("counterPartyAddress", dspUrl);
+            negotiation.put("protocol", "dataspace-protocol-http");
+            negotiation.put("contractAgreementId", CatalogGenerator.agreementId(i));
+            negotiation.put("createdAt", 1_700_000_000_000L + i);
+        }
+        this.agreements = mapper.writeValueAsBytes(agreementList);
+        this.negotiations = mapper.writeValueAsBytes(negotiationList);
+    }
+
+    @Override
+    public StandInServer.Reply handle(String method, String rawPath, byte[] body) throws Exception {
+        if (!rawPath.startsWith(basePath)) {
+            return StandInServer.Reply.notFound();
+        }
+        var path = rawPath.substring(basePath.length());
+        if ("POST".equals(method)) {
+            return switch (path) {
+                case "/v3/catalog/request" -> new StandInServer.Reply(200, catalog);
+                case "/v3/contractagreements/request" -> new StandInServer.Reply(200, agreements);
+                case "/v3/contractnegotiations/request" -> new StandInServer.Reply(200, negotiations);
+                case "/v3/assets/request", "/v3/edrs/request" -> StandInServer.Reply.json("[]");
+                case "/v3/transferprocesses" -> StandInServer.Reply.json("{\"@id\":\"tp-" + UUID.randomUUID() + "\"}");
+                default -> StandInServer.Reply.notFound();
+            };
+        }
+        if ("GET".equals(method) && path.startsWith("/v3/assets/")) {
+            return localAssets ? asset(URLDecoder.decode(path.substring("/v3/assets/".length()), StandardCharsets.UTF_8)) : StandInServer.Reply.notFound();
+        }
+        if ("GET".equals(method) && path.startsWith("/v3/edrs/") && path.endsWith("/dataaddress")) {
+            var transferId = path.substring("/v3/edrs/".length(), path.length() - "/dataaddress".length());
+            var edr = mapper.createObjectNode();
+            edr.put("@type", "DataAddress");
+            edr.put("type", "https://w3id.org/idsa/v4.1/HTTP");
+            edr.put("endpoint", modelBaseUrl + "/models/" + transferId);
+            edr.put("authType", "bearer");
+            edr.put("authorization", "token-" + transferId);
+            return new StandInServer.Reply(200, mapper.writeValueAsBytes(edr));
+        }
+        return StandInServer.Reply.notFound();
+    }
+
+    private StandInServer.Reply asset(String assetId) throws Exception {
+        var asset = mapper.createObjectNode();
+        asset.put("@id", assetId);
+        asset.put("@type", "Asset");
+        var dataAddress = asset.putObject("dataAddress");
+        dataAddress.put("@type", "DataAddress");
+        dataAddress.put("type", "HttpData");
+        dataAddress.put("baseUrl", modelBaseUrl + "/models/" + assetId);
+        dataAddress.put("proxyPath", "true");
+        return new StandInServer.Reply(200, mapper.writeValueAsBytes(asset));
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.loadtest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A model server answering any request under {@code /models/} with a JSON prediction whose size follows the
+ * configured payload distribution. The request body is read and discarded.
+ */
+class ModelBackendStandIn implements StandInServer.Route {
+
+    private static final int MAX_PAYLOAD_BYTES = 16 * 1024 * 1024;
+    private static final byte[] PREFIX = "{\"prediction\":[0.12,0.88],\"padding\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SUFFIX = "\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final Distribution payloadBytes;
+
+    ModelBackendStandIn(Distribution payloadBytes) {
+        this.payloadBytes = payloadBytes;
+    }
+
+    @Override
+    public StandInServer.Reply handle(String method, String path, byte[] body) {
+        if (!path.startsWith("/models/")) {
+            return StandInServer.Reply.notFound();
+        }
+        var size = (int) Math.min(MAX_PAYLOAD_BYTES, Math.max(PREFIX.length + SUFFIX.length, payloadBytes.sampleLong()));
+        var response = new byte[size];
+        System.arraycopy(PREFIX, 0, response, 0, PREFIX.length);
+        Arrays.fill(response, PREFIX.length, size - SUFFIX.length, (byte) 'x');
+        System.arraycopy(SUFFIX, 0, response, size - SUFFIX.length, SUFFIX.length);
+        return new StandInServer.Reply(200, response);
+    }
+}
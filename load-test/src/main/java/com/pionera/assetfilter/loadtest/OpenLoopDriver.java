@@ -0,0 +1,163 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.loadtest;
+
+import com.pionera.assetfilter.latency.LatencyLog;
+import com.pionera.assetfilter.latency.LatencyRecorder;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Sends requests at a constant arrival rate regardless of how fast responses come back, and measures each
+ * latency from the request's scheduled start rather than from when it was actually sent. A target that stalls
+ * therefore shows up as high latency instead of as a lower request rate (coordinated omission). Samples need
+ * no further correction, and go to a {@link LatencyLog} once per second when one is given.
+ */
+class OpenLoopDriver {
+
+    private static final long SPIN_THRESHOLD_NANOS = 100_000;
+    private static final HttpResponse.BodyHandler<Long> COUNTING_BODY = info -> HttpResponse.BodySubscribers.fromSubscriber(
+            new ByteCounter(), ByteCounter::bytes);
+
+    private final HttpClient client;
+    private final int maxOutstanding;
+    private final Duration requestTimeout;
+    private final LatencyLog log;
+
+    OpenLoopDriver(HttpClient client, int maxOutstanding, Duration requestTimeout, LatencyLog log) {
+        this.client = client;
+        this.maxOutstanding = maxOutstanding;
+        this.requestTimeout = requestTimeout;
+        this.log = log;
+    }
+
+    /**
+     * Runs one scenario for the warm-up followed by the measured duration. Only requests scheduled after the
+     * warm-up are recorded. Requests that would exceed the outstanding limit are not sent and counted as dropped.
+     */
+    ScenarioResult run(String name, Supplier<HttpRequest.Builder> requests, double rate, Duration warmup, Duration duration)
+            throws InterruptedException {
+        var intervalNanos = (long) (1_000_000_000L / rate);
+        var recorder = new LatencyRecorder();
+        var outstanding = new AtomicInteger();
+        var succeeded = new LongAdder();
+        var failed = new LongAdder();
+        var errors = new LongAdder();
+        var dropped = new LongAdder();
+        var bytes = new LongAdder();
+
+        var start = System.nanoTime() + 10_000_000;
+        var measureFrom = start + warmup.toNanos();
+        var end = measureFrom + duration.toNanos();
+        var logger = Executors.newSingleThreadScheduledExecutor();
+        if (log != null) {
+            logger.scheduleAtFixedRate(() -> log.append(name, recorder.interval()), 1, 1, TimeUnit.SECONDS);
+        }
+        for (long i = 0; ; i++) {
+            var intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            waitUntil(intended);
+            var measured = intended >= measureFrom;
+            if (outstanding.get() >= maxOutstanding) {
+                if (measured) {
+                    dropped.increment();
+                }
+                continue;
+            }
+            outstanding.incrementAndGet();
+            client.sendAsync(requests.get().timeout(requestTimeout).build(), COUNTING_BODY).whenComplete((response, failure) -> {
+                var latency = System.nanoTime() - intended;
+                outstanding.decrementAndGet();
+                if (!measured) {
+                    return;
+                }
+                recorder.recordNanos(latency);
+                if (failure != null) {
+                    errors.increment();
+                } else {
+                    bytes.add(response.body());
+                    (response.statusCode() / 100 == 2 ? succeeded : failed).increment();
+                }
+            });
+        }
+
+        // Every request times out eventually, so waiting one timeout past the last send drains them all.
+        var drainDeadline = System.nanoTime() + requestTimeout.toNanos() + 1_000_000_000L;
+        while (outstanding.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        logger.shutdownNow();
+        logger.awaitTermination(1, TimeUnit.SECONDS);
+        if (log != null) {
+            log.append(name, recorder.interval());
+        }
+        return new ScenarioResult(name, rate, duration, succeeded.sum(), failed.sum(), errors.sum(), dropped.sum(), bytes.sum(),
+                recorder.report());
+    }
+
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            if (remaining > SPIN_THRESHOLD_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS / 2);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    // Counts response bytes without keeping them, so large catalogs do not turn into load-generator garbage.
+    private static class ByteCounter implements Flow.Subscriber<List<ByteBuffer>> {
+        private long bytes;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            for (var buffer : buffers) {
+                bytes += buffer.remaining();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        long bytes() {
+            return bytes;
+        }
+    }
+}
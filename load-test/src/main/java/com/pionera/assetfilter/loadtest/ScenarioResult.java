@@ -0,0 +1,34 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.loadtest;
+
+import com.pionera.assetfilter.latency.LatencyReport;
+
+import java.time.Duration;
+
+/**
+ * Outcome of one measured scenario run. Failed responses are non-2xx; errors are timeouts and I/O failures.
+ */
+record ScenarioResult(String name, double targetRate, Duration duration, long succeeded, long failed, long errors, long dropped,
+                      long bytes, LatencyReport latency) {
+
+    long completed() {
+        return succeeded + failed + errors;
+    }
+
+    double achievedRate() {
+        return completed() / (duration.toMillis() / 1000.0);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An in-process HTTP server standing in for a dependency of the connector, with injected latency and errors.
+ * Replies are delayed on a scheduler rather than by sleeping, so the injected latency does not cap the number
+ * of requests the stand-in serves concurrently.
+ */
+class StandInServer {
+
+    private static final byte[] INJECTED_ERROR = "{\"error\":\"injected\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final String name;
+    private final HttpServer server;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService delays;
+    private final Distribution latencyMillis;
+    private final double errorRate;
+    private final int errorStatus;
+
+    StandInServer(String name, String host, int port, int threads, Distribution latencyMillis, double errorRate, int errorStatus,
+                  Route route) throws IOException {
+        this.name = name;
+        this.latencyMillis = latencyMillis;
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+        this.server = HttpServer.create(new InetSocketAddress(host, port), 1024);
+        this.workers = Executors.newFixedThreadPool(threads, daemon(name + "-worker"));
+        this.delays = Executors.newScheduledThreadPool(2, daemon(name + "-delay"));
+        server.setExecutor(workers);
+        server.createContext("/", exchange -> handle(exchange, route));
+    }
+
+    void start() {
+        server.start();
+    }
+
+    void stop() {
+        server.stop(0);
+        workers.shutdownNow();
+        delays.shutdownNow();
+    }
+
+    String baseUrl() {
+        var address = server.getAddress();
+        return "http://" + address.getHostString() + ":" + address.getPort();
+    }
+
+    String name() {
+        return name;
+    }
+
+    private void handle(HttpExchange exchange, Route route) {
+        Reply reply;
+        try (var body = exchange.getRequestBody()) {
+            var bytes = body.readAllBytes();
+            reply = ThreadLocalRandom.current().nextDouble() < errorRate ?
+                    new Reply(errorStatus, INJECTED_ERROR) :
+                    route.handle(exchange.getRequestMethod(), exchange.getRequestURI().getRawPath(), bytes);
+        } catch (Exception e) {
+            reply = new Reply(500, ("{\"error\":\"" + e.getClass().getSimpleName() + "\"}").getBytes(StandardCharsets.UTF_8));
+        }
+        var delay = latencyMillis.sampleLong();
+        var response = reply;
+        if (delay == 0) {
+            send(exchange, response);
+        } else {
+            delays.schedule(() -> send(exchange, response), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void send(HttpExchange exchange, Reply reply) {
+        try (exchange) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            if (reply.body().length == 0) {
+                exchange.sendResponseHeaders(reply.status(), -1);
+                return;
+            }
+            exchange.sendResponseHeaders(reply.status(), reply.body().length);
+            exchange.getResponseBody().write(reply.body());
+        } catch (IOException e) {
+            // Client went away; nothing to report to it.
+        }
+    }
+
+    private static ThreadFactory daemon(String prefix) {
+        var counter = new AtomicInteger();
+        return runnable -> {
+            var thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @FunctionalInterface
+    interface Route {
+        Reply handle(String method, String path, byte[] body) throws Exception;
+    }
+
+    record Reply(int status, byte[] body) {
+        static Reply json(String json) {
+            return new Reply(200, json.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Reply notFound() {
+            return new Reply(404, "{\"error\":\"not found\"}".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
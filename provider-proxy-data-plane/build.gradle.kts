@@ -6,9 +6,11 @@ plugins {
 
 dependencies {
     implementation(libs.edc.data.plane.spi)
+    // Transfer process events, which clear the proxy's authorization cache.
+    implementation(libs.edc.control.plane.spi)
     implementation(libs.edc.web.spi)
 
-    runtimeOnly(project(":connector"))
+    implementation(project(":connector"))
 }
 
 application {
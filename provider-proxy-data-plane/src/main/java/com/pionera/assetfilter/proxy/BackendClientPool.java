@@ -0,0 +1,215 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.proxy;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One {@link HttpClient} per backend origin (scheme, host and port), each with its own connection pool and a
+ * concurrency bulkhead, so a slow or degraded backend cannot exhaust connections or threads used by others.
+ */
+class BackendClientPool {
+
+    private final Clock clock;
+    private final int maxConcurrentRequests;
+    private final long acquireTimeoutMillis;
+    private final Duration connectTimeout;
+    private final long idleTimeoutMillis;
+    private final boolean preferHttp2;
+    private final boolean allowCleartextHttp2;
+    private final Map<String, Backend> backends = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong();
+
+    BackendClientPool(Clock clock, int maxConcurrentRequests, Duration acquireTimeout, Duration connectTimeout,
+                      Duration idleTimeout, boolean preferHttp2, boolean allowCleartextHttp2) {
+        this.clock = clock;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.acquireTimeoutMillis = acquireTimeout.toMillis();
+        this.connectTimeout = connectTimeout;
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+        this.preferHttp2 = preferHttp2;
+        this.allowCleartextHttp2 = allowCleartextHttp2;
+    }
+
+    /**
+     * Sends the request through the backend's own client once a bulkhead permit is available. The permit is
+     * held until the returned body stream is closed. Throws {@link BackendSaturatedException} when no permit
+     * frees up within the acquire timeout.
+     */
+    HttpResponse<InputStream> send(HttpRequest request) throws IOException, InterruptedException {
+        var backend = acquire(request.uri());
+        var permit = new Permit(backend);
+        try {
+            return backend.client.send(request, responseInfo -> HttpResponse.BodySubscribers.mapping(
+                    HttpResponse.BodySubscribers.ofInputStream(), body -> new PermitReleasingInputStream(body, permit)));
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            permit.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Origins whose bulkhead is at or above the given utilisation (0-1), with their in-flight request counts.
+     */
+    Map<String, Integer> saturatedBackends(double threshold) {
+        var saturated = new TreeMap<String, Integer>();
+        backends.values().forEach(backend -> {
+            var inFlight = backend.inFlight();
+            if (inFlight >= maxConcurrentRequests * threshold) {
+                saturated.put(backend.origin, inFlight);
+            }
+        });
+        return saturated;
+    }
+
+    int backendCount() {
+        return backends.size();
+    }
+
+    // A permit taken on a backend the sweeper removed meanwhile would bypass the bulkhead of its replacement, so the
+    // permit only counts once the backend is still mapped. The check runs under the map's lock for the origin, the
+    // same lock the sweeper's removal takes, so from then on the held permit keeps the backend from being swept.
+    private Backend acquire(URI uri) throws InterruptedException, BackendSaturatedException {
+        while (true) {
+            var backend = backendFor(uri);
+            if (!backend.permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new BackendSaturatedException(backend.origin);
+            }
+            if (backends.computeIfPresent(backend.origin, (origin, current) -> current) == backend) {
+                return backend;
+            }
+            backend.permits.release();
+        }
+    }
+
+    private Backend backendFor(URI uri) {
+        var now = clock.millis();
+        sweepIdle(now);
+        var origin = origin(uri);
+        var backend = backends.computeIfAbsent(origin, key -> new Backend(key, newClient(uri), new Semaphore(maxConcurrentRequests)));
+        backend.lastUsed = now;
+        return backend;
+    }
+
+    // Clients of backends that stayed idle past the idle timeout are dropped; their pooled connections go with them.
+    private void sweepIdle(long now) {
+        var previous = lastSweep.get();
+        if (idleTimeoutMillis <= 0 || now - previous < idleTimeoutMillis || !lastSweep.compareAndSet(previous, now)) {
+            return;
+        }
+        for (var origin : backends.keySet()) {
+            backends.computeIfPresent(origin, (key, backend) -> backend.inFlight() == 0 && now - backend.lastUsed > idleTimeoutMillis ? null : backend);
+        }
+    }
+
+    private HttpClient newClient(URI uri) {
+        var secure = "https".equalsIgnoreCase(uri.getScheme());
+        var useHttp2 = preferHttp2 && (secure || allowCleartextHttp2);
+        return HttpClient.newBuilder()
+                .version(useHttp2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .build();
+    }
+
+    private String origin(URI uri) {
+        var scheme = uri.getScheme() == null ? "http" : uri.getScheme().toLowerCase(Locale.ROOT);
+        var host = uri.getHost() == null ? "" : uri.getHost().toLowerCase(Locale.ROOT);
+        var port = uri.getPort() != -1 ? uri.getPort() : "https".equals(scheme) ? 443 : 80;
+        return scheme + "://" + host + ":" + port;
+    }
+
+    static class BackendSaturatedException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        BackendSaturatedException(String origin) {
+            super("Backend " + origin + " has no free request slots");
+        }
+    }
+
+    private class Backend {
+        private final String origin;
+        private final HttpClient client;
+        private final Semaphore permits;
+        private volatile long lastUsed;
+
+        Backend(String origin, HttpClient client, Semaphore permits) {
+            this.origin = origin;
+            this.client = client;
+            this.permits = permits;
+        }
+
+        int inFlight() {
+            return maxConcurrentRequests - permits.availablePermits();
+        }
+    }
+
+    private static class Permit {
+        private final Backend backend;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(Backend backend) {
+            this.backend = backend;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                backend.permits.release();
+            }
+        }
+    }
+
+    private static class PermitReleasingInputStream extends FilterInputStream {
+        private final Permit permit;
+
+        PermitReleasingInputStream(InputStream in, Permit permit) {
+            super(in);
+            this.permit = permit;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            var read = super.read(buffer, offset, length);
+            if (read == -1) {
+                permit.release();
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                permit.release();
+            }
+        }
+    }
+}
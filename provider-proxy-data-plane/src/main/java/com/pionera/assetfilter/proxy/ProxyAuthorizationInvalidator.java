@@ -0,0 +1,38 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.proxy;
+
+import org.eclipse.edc.spi.event.Event;
+import org.eclipse.edc.spi.event.EventEnvelope;
+import org.eclipse.edc.spi.event.EventSubscriber;
+
+/**
+ * Drops cached proxy authorizations when a transfer process is completed, terminated or suspended. A cached result only holds the
+ * source data address, not the transfer it was issued for, so the whole cache is cleared; the next call per token
+ * re-authorizes against the data plane, which has revoked the ended transfer's token by then.
+ */
+class ProxyAuthorizationInvalidator implements EventSubscriber {
+
+    private final ProxyAuthorizationCache cache;
+
+    ProxyAuthorizationInvalidator(ProxyAuthorizationCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public <E extends Event> void on(EventEnvelope<E> event) {
+        cache.invalidateAll();
+    }
+}
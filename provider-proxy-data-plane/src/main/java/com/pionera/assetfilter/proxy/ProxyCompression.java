@@ -0,0 +1,189 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.proxy;
+
+import jakarta.ws.rs.core.StreamingOutput;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import static jakarta.ws.rs.core.HttpHeaders.CONTENT_ENCODING;
+import static jakarta.ws.rs.core.HttpHeaders.CONTENT_LENGTH;
+import static jakarta.ws.rs.core.HttpHeaders.ETAG;
+import static jakarta.ws.rs.core.HttpHeaders.VARY;
+
+/**
+ * Content-encoding negotiation for the public proxy: decodes compressed uploads and gzips uncompressed,
+ * compressible backend responses for clients that accept it. Already-encoded responses are never touched.
+ */
+class ProxyCompression {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final List<String> COMPRESSIBLE_TYPES = List.of(
+            "text/", "application/json", "application/ld+json", "application/xml", "application/javascript",
+            "application/x-ndjson", "application/jsonl", "application/csv", "application/yaml", "image/svg+xml"
+    );
+
+    private final boolean compressResponses;
+    private final boolean decodeUploads;
+    private final long minimumSize;
+
+    ProxyCompression(boolean compressResponses, boolean decodeUploads, long minimumSize) {
+        this.compressResponses = compressResponses;
+        this.decodeUploads = decodeUploads;
+        this.minimumSize = minimumSize;
+    }
+
+    boolean decodesUpload(String contentEncoding) {
+        return decodeUploads && isDecodable(contentEncoding);
+    }
+
+    InputStream decodeUpload(InputStream entity, String contentEncoding) throws IOException {
+        return switch (contentEncoding.trim().toLowerCase(Locale.ROOT)) {
+            case "gzip", "x-gzip" -> new GZIPInputStream(entity, BUFFER_SIZE);
+            case "deflate" -> new InflaterInputStream(entity);
+            default -> entity;
+        };
+    }
+
+    /**
+     * Whether a response with the given status and headers should be gzipped on the way out. Partial content,
+     * empty bodies and anything the backend already encoded are passed through unchanged.
+     */
+    boolean shouldCompress(String acceptEncoding, int status, String contentType, Map<String, String> headers) {
+        if (!compressResponses || status != 200 || !acceptsGzip(acceptEncoding) || !isCompressible(contentType)) {
+            return false;
+        }
+        if (headers.containsKey(CONTENT_ENCODING) || headers.containsKey("Content-Range")) {
+            return false;
+        }
+        var contentLength = headers.get(CONTENT_LENGTH);
+        if (contentLength != null) {
+            try {
+                return Long.parseLong(contentLength.trim()) >= minimumSize;
+            } catch (NumberFormatException e) {
+                return true;
+            }
+        }
+        return true;
+    }
+
+    // The representation changes, so the length is dropped and a strong ETag is downgraded to a weak one.
+    void rewriteHeaders(Map<String, String> headers) {
+        headers.remove(CONTENT_LENGTH);
+        headers.put(CONTENT_ENCODING, "gzip");
+        var vary = headers.get(VARY);
+        headers.put(VARY, vary == null || vary.isBlank() ? "Accept-Encoding" : vary + ", Accept-Encoding");
+        var etag = headers.get(ETAG);
+        if (etag != null && !etag.startsWith("W/")) {
+            headers.put(ETAG, "W/" + etag);
+        }
+    }
+
+    // Closing the gzip stream writes the trailer and ends its Deflater, whose native memory is otherwise only freed
+    // by the GC; the servlet stream itself stays open for the container to close.
+    StreamingOutput gzip(StreamingOutput source) {
+        return output -> {
+            try (var gzip = new GZIPOutputStream(new NonClosingOutputStream(output), BUFFER_SIZE)) {
+                source.write(gzip);
+            }
+        };
+    }
+
+    StreamingOutput gzip(InputStream source) {
+        return gzip(output -> {
+            try (source) {
+                source.transferTo(output);
+            }
+        });
+    }
+
+    private boolean isDecodable(String contentEncoding) {
+        if (contentEncoding == null) {
+            return false;
+        }
+        var normalized = contentEncoding.trim().toLowerCase(Locale.ROOT);
+        return normalized.equals("gzip") || normalized.equals("x-gzip") || normalized.equals("deflate");
+    }
+
+    private boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        var normalized = contentType.toLowerCase(Locale.ROOT);
+        if (normalized.startsWith("text/event-stream")) {
+            return false;
+        }
+        for (var type : COMPRESSIBLE_TYPES) {
+            if (normalized.startsWith(type)) {
+                return true;
+            }
+        }
+        return normalized.contains("+json") || normalized.contains("+xml");
+    }
+
+    private boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+        for (var part : acceptEncoding.split(",")) {
+            var tokens = part.trim().split(";");
+            var coding = tokens[0].trim().toLowerCase(Locale.ROOT);
+            if (!coding.equals("gzip") && !coding.equals("x-gzip") && !coding.equals("*")) {
+                continue;
+            }
+            var quality = 1.0;
+            for (int i = 1; i < tokens.length; i++) {
+                var parameter = tokens[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (quality > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.proxy;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one public proxy request, up to the response headers.
+ */
+@Name("com.pionera.assetfilter.ProxyRequest")
+@Label("Proxy Request")
+@Category({ "Asset Filter", "Proxy" })
+@Description("Authorization, cache lookup and backend call of one public proxy request")
+@StackTrace(false)
+class ProxyRequestEvent extends jdk.jfr.Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Status")
+    int status;
+
+    @Label("Cache")
+    @Description("HIT, MISS, REVALIDATED, or empty when the cache was not used")
+    String cacheOutcome;
+
+    @Label("Request Bytes")
+    @Description("Declared request body length, -1 when unknown")
+    @DataAmount
+    long requestBytes;
+
+    @Label("Response Bytes")
+    @Description("Declared response body length, -1 when unknown or streamed")
+    @DataAmount
+    long responseBytes;
+}
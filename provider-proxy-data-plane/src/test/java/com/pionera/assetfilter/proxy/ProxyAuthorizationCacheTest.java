@@ -0,0 +1,209 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.proxy;
+
+import org.eclipse.edc.connector.dataplane.spi.iam.DataPlaneAuthorizationService;
+import org.eclipse.edc.spi.event.Event;
+import org.eclipse.edc.spi.event.EventEnvelope;
+import org.eclipse.edc.spi.result.Result;
+import org.eclipse.edc.spi.types.domain.DataAddress;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProxyAuthorizationCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+    private static final Duration NEGATIVE_TTL = Duration.ofSeconds(10);
+
+    private final AtomicLong now = new AtomicLong(1_700_000_000_000L);
+    private final Clock clock = mock();
+    private final DataPlaneAuthorizationService delegate = mock();
+    private final DataAddress address = DataAddress.Builder.newInstance().type("HttpData").build();
+
+    @BeforeEach
+    void setUp() {
+        when(clock.millis()).thenAnswer(invocation -> now.get());
+        when(delegate.authorize(anyString(), anyMap())).thenReturn(Result.failure("unauthorized"));
+    }
+
+    @Test
+    void authorize_cachesSuccessForTtl() {
+        var cache = cache(100);
+        var token = valid(jwt(Long.MAX_VALUE / 1000));
+
+        assertThat(cache.authorize(token).getContent()).isSameAs(address);
+        assertThat(cache.authorize(token).getContent()).isSameAs(address);
+        verify(delegate, times(1)).authorize(eq(token), anyMap());
+
+        now.addAndGet(TTL.toMillis());
+        cache.authorize(token);
+        verify(delegate, times(2)).authorize(eq(token), anyMap());
+    }
+
+    @Test
+    void authorize_expiresEntryWithTokenExpClaim() {
+        var cache = cache(100);
+        var token = valid("Bearer " + jwt(now.get() / 1000 + 30));
+
+        cache.authorize(token);
+        now.addAndGet(29_000);
+        cache.authorize(token);
+        verify(delegate, times(1)).authorize(eq(token), anyMap());
+
+        now.addAndGet(1_000);
+        cache.authorize(token);
+        verify(delegate, times(2)).authorize(eq(token), anyMap());
+    }
+
+    @Test
+    void authorize_doesNotCacheAlreadyExpiredToken() {
+        var cache = cache(100);
+        var token = valid(jwt(now.get() / 1000 - 1));
+
+        cache.authorize(token);
+        cache.authorize(token);
+
+        verify(delegate, times(2)).authorize(eq(token), anyMap());
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void authorize_keepsRejectionsForNegativeTtl() {
+        var cache = cache(100);
+
+        assertThat(cache.authorize("forged").failed()).isTrue();
+        assertThat(cache.authorize("forged").failed()).isTrue();
+        verify(delegate, times(1)).authorize(eq("forged"), anyMap());
+
+        now.addAndGet(NEGATIVE_TTL.toMillis());
+        cache.authorize("forged");
+        verify(delegate, times(2)).authorize(eq("forged"), anyMap());
+    }
+
+    @Test
+    void authorize_randomTokensDoNotEvictValidEntries() {
+        var cache = cache(2);
+        var token = valid(jwt(Long.MAX_VALUE / 1000));
+        cache.authorize(token);
+
+        for (var i = 0; i < 50; i++) {
+            assertThat(cache.authorize("random-" + i).failed()).isTrue();
+        }
+
+        assertThat(cache.authorize(token).succeeded()).isTrue();
+        verify(delegate, times(1)).authorize(eq(token), anyMap());
+    }
+
+    @Test
+    void authorize_evictsExpiredEntriesFirstWhenFull() {
+        var cache = cache(3);
+        var shortLived = valid(jwt(now.get() / 1000 + 10));
+        var first = valid("first");
+        var second = valid("second");
+        cache.authorize(shortLived);
+        cache.authorize(first);
+        cache.authorize(second);
+
+        now.addAndGet(10_000);
+        var third = valid("third");
+        cache.authorize(third);
+
+        assertThat(cache.size()).isEqualTo(3);
+        cache.authorize(first);
+        cache.authorize(second);
+        cache.authorize(third);
+        verify(delegate, times(1)).authorize(eq(first), anyMap());
+        verify(delegate, times(1)).authorize(eq(second), anyMap());
+        verify(delegate, times(1)).authorize(eq(third), anyMap());
+    }
+
+    @Test
+    void authorize_staysBoundedWhenFullOfLiveEntries() {
+        var cache = cache(10);
+
+        for (var i = 0; i < 100; i++) {
+            cache.authorize(valid("token-" + i));
+            assertThat(cache.size()).isLessThanOrEqualTo(10);
+        }
+
+        var latest = valid("token-99");
+        cache.authorize(latest);
+        verify(delegate, times(1)).authorize(eq(latest), anyMap());
+    }
+
+    @Test
+    void invalidator_dropsAllEntriesOnTransferProcessEvent() {
+        var cache = cache(100);
+        var token = valid("a");
+        cache.authorize(token);
+        cache.authorize("forged");
+        EventEnvelope<Event> envelope = mock();
+
+        new ProxyAuthorizationInvalidator(cache).on(envelope);
+
+        assertThat(cache.size()).isZero();
+        cache.authorize(token);
+        cache.authorize("forged");
+        verify(delegate, times(2)).authorize(eq(token), anyMap());
+        verify(delegate, times(2)).authorize(eq("forged"), anyMap());
+    }
+
+    @Test
+    void invalidate_dropsOnlyThatToken() {
+        var cache = cache(100);
+        var kept = valid("kept");
+        var dropped = valid("dropped");
+        cache.authorize(kept);
+        cache.authorize(dropped);
+
+        cache.invalidate(dropped);
+
+        cache.authorize(kept);
+        cache.authorize(dropped);
+        verify(delegate, times(1)).authorize(eq(kept), anyMap());
+        verify(delegate, times(2)).authorize(eq(dropped), anyMap());
+    }
+
+    private ProxyAuthorizationCache cache(int maxEntries) {
+        return new ProxyAuthorizationCache(delegate, clock, TTL, NEGATIVE_TTL, maxEntries);
+    }
+
+    private String valid(String token) {
+        when(delegate.authorize(eq(token), anyMap())).thenReturn(Result.success(address));
+        return token;
+    }
+
+    private static String jwt(long exp) {
+        var encoder = Base64.getUrlEncoder().withoutPadding();
+        var header = encoder.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8));
+        var claims = encoder.encodeToString(("{\"sub\":\"consumer\",\"exp\":" + exp + "}").getBytes(StandardCharsets.UTF_8));
+        return header + "." + claims + ".signature";
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ *  Copyright (c) 2026 Pionera
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Pionera - initial API and implementation
+ *
+ */
+
+package com.pionera.assetfilter.proxy;
+
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProxyResponseCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final Clock clock = mock();
+    private final Monitor monitor = mock();
+
+    @TempDir
+    private Path directory;
+
+    @BeforeEach
+    void setUp() {
+        when(clock.millis()).thenAnswer(invocation -> now.get());
+    }
+
+    @Test
+    void store_keepsResponseFreshForMaxAge() throws IOException {
+        var cache = memoryOnly(1024);
+
+        var stored = cache.store("a", headers("Cache-Control", "public, max-age=60"), Map.of("Content-Type", "text/plain"), body("hello"));
+
+        var cached = cache.lookup("a");
+        assertThat(cached).isSameAs(stored);
+        assertThat(cached.header("content-type")).isEqualTo("text/plain");
+        assertThat(text(cached)).isEqualTo("hello");
+        assertThat(cache.isFresh(cached)).isTrue();
+        now.addAndGet(60_000);
+        assertThat(cache.isFresh(cached)).isFalse();
+    }
+
+    @Test
+    void store_refusesResponsesThatForbidSharedCaching() {
+        var cache = memoryOnly(1024);
+
+        assertThat(cache.store("a", headers("Cache-Control", "no-store"), Map.of(), body("x"))).isNull();
+        assertThat(cache.store("b", headers("Cache-Control", "private, max-age=60"), Map.of(), body("x"))).isNull();
+        assertThat(cache.store("c", headers("Cache-Control", "max-age=0"), Map.of(), body("x"))).isNull();
+        assertThat(cache.lookup("a")).isNull();
+        assertThat(cache.lookup("b")).isNull();
+        assertThat(cache.lookup("c")).isNull();
+    }
+
+    @Test
+    void store_keepsValidatedResponseForRevalidation() {
+        var cache = memoryOnly(1024);
+
+        var stored = cache.store("a", headers("Cache-Control", "no-cache", "ETag", "\"v1\""), Map.of("ETag", "\"v1\""), body("x"));
+
+        assertThat(stored).isNotNull();
+        assertThat(stored.revalidate()).isTrue();
+        assertThat(cache.isFresh(stored)).isFalse();
+    }
+
+    @Test
+    void isCacheable_rejectsVaryOtherThanAcceptEncoding() {
+        var cache = memoryOnly(1024);
+
+        assertThat(cache.isCacheable(headers("Cache-Control", "max-age=60", "Vary", "Accept-Encoding"))).isTrue();
+        assertThat(cache.isCacheable(headers("Cache-Control", "max-age=60", "Vary", "Authorization"))).isFalse();
+    }
+
+    @Test
+    void evictedEntriesAreDroppedWithoutDiskTier() {
+        var cache = memoryOnly(100);
+
+        cache.store("a", headers("Cache-Control", "max-age=60"), Map.of(), new byte[60]);
+        cache.store("b", headers("Cache-Control", "max-age=60"), Map.of(), new byte[60]);
+
+        assertThat(cache.lookup("a")).isNull();
+        assertThat(cache.lookup("b")).isNotNull();
+    }
+
+    @Test
+    void evictedEntriesAreDemotedToDiskAndMappedBack() throws IOException {
+        var cache = withDisk(100, 1024);
+
+        cache.store("a", headers("Cache-Control", "max-age=60"), Map.of("Content-Type", "text/plain"), body("a".repeat(60)));
+        cache.store("b", headers("Cache-Control", "max-age=60"), Map.of(), new byte[60]);
+
+        var demoted = cache.lookup("a");
+        assertThat(demoted).isNotNull();
+        assertThat(demoted.body().hasArray()).isFalse();
+        assertThat(demoted.status()).isEqualTo(200);
+        assertThat(demoted.header("Content-Type")).isEqualTo("text/plain");
+        assertThat(cache.isFresh(demoted)).isTrue();
+        assertThat(text(demoted)).isEqualTo("a".repeat(60));
+        try (var files = Files.list(directory)) {
+            assertThat(files.map(Path::toString)).noneMatch(name -> name.endsWith(".tmp"));
+        }
+    }
+
+    @Test
+    void refreshOfDiskEntryMovesHeapCopyIntoMemory() throws IOException {
+        var cache = withDisk(100, 1024);
+        cache.store("a", headers("Cache-Control", "no-cache", "ETag", "\"v1\""), Map.of("ETag", "\"v1\""), body("a".repeat(60)));
+        cache.store("b", headers("Cache-Control", "max-age=60"), Map.of(), new byte[60]);
+        var demoted = cache.lookup("a");
+
+        var refreshed = cache.refresh("a", demoted, headers("Cache-Control", "max-age=60", "ETag", "\"v2\""));
+
+        assertThat(refreshed.body().hasArray()).isTrue();
+        assertThat(refreshed.header("ETag")).isEqualTo("\"v2\"");
+        assertThat(cache.isFresh(refreshed)).isTrue();
+        assertThat(cache.lookup("a")).isSameAs(refreshed);
+        // "a" pushed "b" out of memory; writing "b" to disk must leave the still-mapped body of "a" intact.
+        assertThat(text(demoted)).isEqualTo("a".repeat(60));
+        assertThat(text(cache.lookup("b"))).hasSize(60);
+    }
+
+    @Test
+    void diskTierEvictsLeastRecentlyUsedBeyondItsBound() {
+        var cache = withDisk(50, 100);
+
+        cache.store("a", headers("Cache-Control", "max-age=60"), Map.of(), new byte[40]);
+        cache.store("b", headers("Cache-Control", "max-age=60"), Map.of(), new byte[40]);
+        cache.store("c", headers("Cache-Control", "max-age=60"), Map.of(), new byte[40]);
+        cache.store("d", headers("Cache-Control", "max-age=60"), Map.of(), new byte[40]);
+
+        assertThat(cache.lookup("a")).isNull();
+        assertThat(cache.lookup("b")).isNotNull();
+        assertThat(cache.lookup("c")).isNotNull();
+        assertThat(cache.lookup("d")).isNotNull();
+    }
+
+    @Test
+    void entriesLargerThanTheEntryLimitAreNotStored() {
+        var cache = memoryOnly(1024);
+
+        assertThat(cache.fitsEntry(512)).isTrue();
+        assertThat(cache.fitsEntry(513)).isFalse();
+        assertThat(cache.fitsEntry(-1)).isFalse();
+        cache.store("a", headers("Cache-Control", "max-age=60"), Map.of(), new byte[513]);
+        assertThat(cache.lookup("a")).isNull();
+    }
+
+    @Test
+    void startupRemovesFilesOfPreviousRun() throws IOException {
+        Files.writeString(directory.resolve("stale.body"), "x");
+        Files.writeString(directory.resolve("stale.meta"), "x");
+        Files.writeString(directory.resolve("stale1234.tmp"), "x");
+        Files.writeString(directory.resolve("unrelated.txt"), "x");
+
+        withDisk(100, 1024);
+
+        try (var files = Files.list(directory)) {
+            assertThat(files.map(file -> file.getFileName().toString())).containsExactly("unrelated.txt");
+        }
+    }
+
+    private ProxyResponseCache memoryOnly(long maxMemoryBytes) {
+        return new ProxyResponseCache(clock, monitor, maxMemoryBytes, 512, 0, null, 0);
+    }
+
+    private ProxyResponseCache withDisk(long maxMemoryBytes, long maxDiskBytes) {
+        return new ProxyResponseCache(clock, monitor, maxMemoryBytes, 512, 0, directory, maxDiskBytes);
+    }
+
+    private static HttpHeaders headers(String... namesAndValues) {
+        var map = new LinkedHashMap<String, List<String>>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            map.put(namesAndValues[i], List.of(namesAndValues[i + 1]));
+        }
+        return HttpHeaders.of(map, (name, value) -> true);
+    }
+
+    private static byte[] body(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(ProxyResponseCache.CachedResponse cached) throws IOException {
+        var output = new ByteArrayOutputStream();
+        cached.writeBody(output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
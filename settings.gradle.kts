@@ -14,6 +14,9 @@ dependencyResolutionManagement {
     }
 }
 
+include(":latency")
 include(":connector")
 include(":provider-proxy-data-plane")
 include(":final-connector")
+include(":benchmarks")
+include(":load-test")